@@ -0,0 +1,117 @@
+/*
+ * ArgFileBenchmark.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j.benchmarks;
+
+import com.github.fracpete.simpleargparse4j.ArgumentParser;
+import com.github.fracpete.simpleargparse4j.ArgumentParserException;
+import com.github.fracpete.simpleargparse4j.CompiledParser;
+import com.github.fracpete.simpleargparse4j.Namespace;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing a large number of paths supplied via an argument file,
+ * compared to supplying them in an array.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArgFileBenchmark {
+
+  /** the number of paths. */
+  @Param({"1000", "100000"})
+  public int numPaths;
+
+  /** the compiled parser. */
+  protected CompiledParser m_Compiled;
+
+  /** the argument file. */
+  protected File m_File;
+
+  /** the commandline referring to the argument file. */
+  protected String[] m_FileArgs;
+
+  /** the commandline with all paths. */
+  protected String[] m_Args;
+
+  /**
+   * Sets up the parser, the argument file and the commandline.
+   *
+   * @throws IOException	if writing the argument file fails
+   */
+  @Setup
+  public void setUp() throws IOException {
+    ArgumentParser	parser;
+    int			i;
+
+    parser = new ArgumentParser("benchmark").argFiles(true);
+    parser.addOption("--input").dest("input").multiple(true);
+    m_Compiled = parser.compile();
+
+    m_File = File.createTempFile("benchmark", ".args");
+    m_Args = new String[numPaths * 2];
+    try (BufferedWriter writer = new BufferedWriter(new FileWriter(m_File))) {
+      for (i = 0; i < numPaths; i++) {
+        m_Args[i * 2]     = "--input";
+        m_Args[i * 2 + 1] = "/data/set" + (i % 100) + "/file " + i + ".csv";
+        writer.write("--input \"" + m_Args[i * 2 + 1] + "\"");
+        writer.newLine();
+      }
+    }
+    m_FileArgs = new String[]{"@" + m_File.getAbsolutePath()};
+  }
+
+  /**
+   * Removes the argument file.
+   */
+  @TearDown
+  public void tearDown() {
+    m_File.delete();
+  }
+
+  /**
+   * Parses the argument file.
+   *
+   * @return		the namespace
+   * @throws ArgumentParserException	if parsing fails
+   */
+  @Benchmark
+  public Namespace argFile() throws ArgumentParserException {
+    return m_Compiled.parseArgs(m_FileArgs);
+  }
+
+  /**
+   * Parses the array.
+   *
+   * @return		the namespace
+   * @throws ArgumentParserException	if parsing fails
+   */
+  @Benchmark
+  public Namespace array() throws ArgumentParserException {
+    return m_Compiled.parseArgs(m_Args);
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * BatchParseBenchmark.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j.benchmarks;
+
+import com.github.fracpete.simpleargparse4j.ArgumentParser;
+import com.github.fracpete.simpleargparse4j.CompiledParser;
+import com.github.fracpete.simpleargparse4j.Option.Type;
+import com.github.fracpete.simpleargparse4j.ParseResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how {@link CompiledParser#parseAll(List, java.util.concurrent.Executor)}
+ * scales with the number of cores, compared to validating the commandlines
+ * one after the other.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchParseBenchmark {
+
+  /** the number of commandlines. */
+  @Param({"10000"})
+  public int numCommandlines;
+
+  /** the parallelism of the pool. */
+  @Param({"1", "2", "4", "8"})
+  public int parallelism;
+
+  /** the shared compiled parser. */
+  protected CompiledParser m_Compiled;
+
+  /** the commandlines to parse. */
+  protected List<String[]> m_Args;
+
+  /** the pool to use. */
+  protected ForkJoinPool m_Pool;
+
+  /**
+   * Sets up the parser, the commandlines and the pool.
+   */
+  @Setup
+  public void setUp() {
+    ArgumentParser	parser;
+    int			i;
+
+    parser = new ArgumentParser("benchmark");
+    parser.addOption("--input").dest("input").required(true);
+    parser.addOption("--num").dest("num").type(Type.INTEGER).setDefault(1);
+    parser.addOption("--factor").dest("factor").type(Type.DOUBLE).setDefault(1.0);
+    parser.addOption("--tag").dest("tag").multiple(true);
+    parser.addOption("--verbose").dest("verbose").argument(false);
+    m_Compiled = parser.compile();
+
+    m_Args = new ArrayList<>();
+    for (i = 0; i < numCommandlines; i++)
+      m_Args.add(new String[]{"--input", "in" + i + ".txt", "--num", "" + i, "--factor", "0." + i, "--tag", "a", "--tag", "b", "--verbose"});
+
+    m_Pool = new ForkJoinPool(parallelism);
+  }
+
+  /**
+   * Shuts down the pool.
+   */
+  @TearDown
+  public void tearDown() {
+    m_Pool.shutdown();
+  }
+
+  /**
+   * Validates the commandlines one after the other.
+   *
+   * @return		the results
+   */
+  @Benchmark
+  public List<ParseResult> sequential() {
+    List<ParseResult>	result;
+
+    result = new ArrayList<>(m_Args.size());
+    for (String[] args: m_Args)
+      result.add(m_Compiled.validate(args));
+    return result;
+  }
+
+  /**
+   * Validates the commandlines in parallel.
+   *
+   * @return		the results
+   */
+  @Benchmark
+  public List<ParseResult> parallel() {
+    return m_Compiled.parseAll(m_Args, m_Pool);
+  }
+}
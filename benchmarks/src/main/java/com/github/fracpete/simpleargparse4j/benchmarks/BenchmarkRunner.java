@@ -0,0 +1,52 @@
+/*
+ * BenchmarkRunner.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.ProfilerConfig;
+
+/**
+ * Runs the benchmarks with the usual JMH commandline options, always adding
+ * the gc profiler so that allocation rates get reported next to the
+ * throughput.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+public class BenchmarkRunner {
+
+  /**
+   * Runs the benchmarks.
+   *
+   * @param args	the JMH options, eg a regular expression for selecting benchmarks
+   * @throws Exception	if running fails
+   */
+  public static void main(String[] args) throws Exception {
+    CommandLineOptions	cmdOptions;
+    Options		options;
+
+    cmdOptions = new CommandLineOptions(args);
+    if (cmdOptions.shouldHelp() || cmdOptions.shouldList() || cmdOptions.shouldListProfilers()
+      || cmdOptions.shouldListResultFormats() || cmdOptions.shouldListWithParams()) {
+      org.openjdk.jmh.Main.main(args);
+      return;
+    }
+    for (ProfilerConfig profiler: cmdOptions.getProfilers()) {
+      if (profiler.getKlass().equals(GCProfiler.class.getName()) || profiler.getKlass().equals("gc")) {
+        new Runner(cmdOptions).run();
+        return;
+      }
+    }
+    options = new OptionsBuilder()
+      .parent(cmdOptions)
+      .addProfiler(GCProfiler.class)
+      .build();
+    new Runner(options).run();
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * CompactSyntaxBenchmark.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j.benchmarks;
+
+import com.github.fracpete.simpleargparse4j.ArgumentParser;
+import com.github.fracpete.simpleargparse4j.ArgumentParserException;
+import com.github.fracpete.simpleargparse4j.CompiledParser;
+import com.github.fracpete.simpleargparse4j.Namespace;
+import com.github.fracpete.simpleargparse4j.Option.Type;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares parsing separate tokens with the compact syntax (combined short
+ * flags, "-Xvalue", "--name=value") for the same options.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompactSyntaxBenchmark {
+
+  /** how often to repeat the options on the commandline. */
+  @Param({"1", "100"})
+  public int repeat;
+
+  /** the parser to use. */
+  protected CompiledParser m_Parser;
+
+  /** the commandline with separate tokens. */
+  protected String[] m_Separate;
+
+  /** the commandline in compact syntax. */
+  protected String[] m_Compact;
+
+  /**
+   * Sets up the parser and the commandlines.
+   */
+  @Setup
+  public void setUp() {
+    ArgumentParser	parser;
+    int			i;
+
+    parser = new ArgumentParser("benchmark").compactSyntax(true);
+    parser.addOption("-a").dest("a").argument(false).multiple(true);
+    parser.addOption("-b").dest("b").argument(false).multiple(true);
+    parser.addOption("-c").dest("c").argument(false).multiple(true);
+    parser.addOption("-n").dest("num").type(Type.INTEGER).multiple(true);
+    parser.addOption("--name").dest("name").multiple(true);
+    m_Parser = parser.compile();
+
+    m_Separate = new String[repeat * 7];
+    m_Compact  = new String[repeat * 3];
+    for (i = 0; i < repeat; i++) {
+      m_Separate[i * 7]     = "-a";
+      m_Separate[i * 7 + 1] = "-b";
+      m_Separate[i * 7 + 2] = "-c";
+      m_Separate[i * 7 + 3] = "-n";
+      m_Separate[i * 7 + 4] = "" + i;
+      m_Separate[i * 7 + 5] = "--name";
+      m_Separate[i * 7 + 6] = "value" + i;
+      m_Compact[i * 3]      = "-abc";
+      m_Compact[i * 3 + 1]  = "-n" + i;
+      m_Compact[i * 3 + 2]  = "--name=value" + i;
+    }
+  }
+
+  /**
+   * Parses the commandline with separate tokens.
+   *
+   * @return		the parsed options
+   * @throws ArgumentParserException	if parsing fails
+   */
+  @Benchmark
+  public Namespace separate() throws ArgumentParserException {
+    return m_Parser.parseArgs(m_Separate);
+  }
+
+  /**
+   * Parses the commandline in compact syntax.
+   *
+   * @return		the parsed options
+   * @throws ArgumentParserException	if parsing fails
+   */
+  @Benchmark
+  public Namespace compact() throws ArgumentParserException {
+    return m_Parser.parseArgs(m_Compact);
+  }
+}
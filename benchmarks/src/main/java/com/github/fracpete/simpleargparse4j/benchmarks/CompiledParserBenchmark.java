@@ -0,0 +1,115 @@
+/*
+ * CompiledParserBenchmark.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j.benchmarks;
+
+import com.github.fracpete.simpleargparse4j.ArgumentParser;
+import com.github.fracpete.simpleargparse4j.ArgumentParserException;
+import com.github.fracpete.simpleargparse4j.CompiledParser;
+import com.github.fracpete.simpleargparse4j.Namespace;
+import com.github.fracpete.simpleargparse4j.ParseResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares parsing via {@link ArgumentParser#parseArgs(String[])}, which
+ * sets up the lookup structures on every call, with parsing via a
+ * {@link CompiledParser}.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompiledParserBenchmark {
+
+  /** the number of options to define. */
+  @Param({"10", "100", "1000"})
+  public int numOptions;
+
+  /** whether every other option is multi-valued. */
+  @Param({"false", "true"})
+  public boolean multiple;
+
+  /** the parser. */
+  protected ArgumentParser m_Parser;
+
+  /** the compiled parser. */
+  protected CompiledParser m_Compiled;
+
+  /** the commandline to parse. */
+  protected String[] m_Args;
+
+  /**
+   * Sets up the parsers and the commandline (supplies every tenth option).
+   */
+  @Setup
+  public void setUp() {
+    int		i;
+    int		n;
+
+    m_Parser = new ArgumentParser("benchmark");
+    for (i = 0; i < numOptions; i++) {
+      if (multiple && (i % 2 == 1))
+        m_Parser.addOption("--opt" + i).dest("opt" + i).multiple(true);
+      else
+        m_Parser.addOption("--opt" + i).dest("opt" + i).setDefault("" + i);
+    }
+    m_Compiled = m_Parser.compile();
+
+    m_Args = new String[(numOptions / 10) * 2];
+    n = 0;
+    for (i = 0; i < numOptions; i += 10) {
+      m_Args[n++] = "--opt" + i;
+      m_Args[n++] = "value" + i;
+    }
+  }
+
+  /**
+   * Parses with the parser itself.
+   *
+   * @return		the namespace
+   * @throws ArgumentParserException	if parsing fails
+   */
+  @Benchmark
+  public Namespace parser() throws ArgumentParserException {
+    return m_Parser.parseArgs(m_Args);
+  }
+
+  /**
+   * Parses with the compiled parser.
+   *
+   * @return		the namespace
+   * @throws ArgumentParserException	if parsing fails
+   */
+  @Benchmark
+  public Namespace compiled() throws ArgumentParserException {
+    return m_Compiled.parseArgs(m_Args);
+  }
+
+  /**
+   * Parses with the compiled parser, collecting all problems.
+   *
+   * @return		the result
+   */
+  @Benchmark
+  public ParseResult validate() {
+    return m_Compiled.validate(m_Args);
+  }
+}
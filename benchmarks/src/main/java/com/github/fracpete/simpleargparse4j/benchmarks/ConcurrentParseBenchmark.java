@@ -0,0 +1,121 @@
+/*
+ * ConcurrentParseBenchmark.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j.benchmarks;
+
+import com.github.fracpete.simpleargparse4j.ArgumentParser;
+import com.github.fracpete.simpleargparse4j.ArgumentParserException;
+import com.github.fracpete.simpleargparse4j.CompiledParser;
+import com.github.fracpete.simpleargparse4j.Namespace;
+import com.github.fracpete.simpleargparse4j.Option.Type;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how parsing with a single shared {@link CompiledParser} scales
+ * with the number of threads.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentParseBenchmark {
+
+  /** the shared compiled parser. */
+  protected CompiledParser m_Compiled;
+
+  /** the commandline to parse. */
+  protected String[] m_Args;
+
+  /**
+   * Sets up the parser and the commandline.
+   */
+  @Setup
+  public void setUp() {
+    ArgumentParser	parser;
+
+    parser = new ArgumentParser("benchmark");
+    parser.addOption("--input").dest("input").required(true);
+    parser.addOption("--num").dest("num").type(Type.INTEGER).setDefault(1);
+    parser.addOption("--factor").dest("factor").type(Type.DOUBLE).setDefault(1.0);
+    parser.addOption("--tag").dest("tag").multiple(true);
+    parser.addOption("--verbose").dest("verbose").argument(false);
+    m_Compiled = parser.compile();
+    m_Args     = new String[]{"--input", "in.txt", "--num", "42", "--factor", "0.5", "--tag", "a", "--tag", "b", "--verbose"};
+  }
+
+  /**
+   * Parses the commandline.
+   *
+   * @return		the namespace
+   * @throws ArgumentParserException	if parsing fails
+   */
+  protected Namespace parse() throws ArgumentParserException {
+    return m_Compiled.parseArgs(m_Args);
+  }
+
+  /**
+   * Parses with a single thread.
+   *
+   * @return		the namespace
+   * @throws ArgumentParserException	if parsing fails
+   */
+  @Benchmark
+  @Threads(1)
+  public Namespace threads1() throws ArgumentParserException {
+    return parse();
+  }
+
+  /**
+   * Parses with two threads.
+   *
+   * @return		the namespace
+   * @throws ArgumentParserException	if parsing fails
+   */
+  @Benchmark
+  @Threads(2)
+  public Namespace threads2() throws ArgumentParserException {
+    return parse();
+  }
+
+  /**
+   * Parses with four threads.
+   *
+   * @return		the namespace
+   * @throws ArgumentParserException	if parsing fails
+   */
+  @Benchmark
+  @Threads(4)
+  public Namespace threads4() throws ArgumentParserException {
+    return parse();
+  }
+
+  /**
+   * Parses with as many threads as there are processors.
+   *
+   * @return		the namespace
+   * @throws ArgumentParserException	if parsing fails
+   */
+  @Benchmark
+  @Threads(Threads.MAX)
+  public Namespace threadsMax() throws ArgumentParserException {
+    return parse();
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * ConversionBenchmark.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j.benchmarks;
+
+import com.github.fracpete.simpleargparse4j.Conversion;
+import com.github.fracpete.simpleargparse4j.Option;
+import com.github.fracpete.simpleargparse4j.Option.Type;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares validating and converting a value in two steps
+ * ({@link Option#isValid(String)} followed by {@link Option#parse(String)})
+ * with the single step of {@link Option#convert(String, Conversion)}.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversionBenchmark {
+
+  /** the type of the option. */
+  @Param({"INTEGER", "DOUBLE", "EXISTING_FILE"})
+  public Type type;
+
+  /** the option. */
+  protected Option m_Option;
+
+  /** the value to convert. */
+  protected String m_Value;
+
+  /** the existing file for the file type. */
+  protected File m_File;
+
+  /** the reusable conversion. */
+  protected Conversion m_Conversion;
+
+  /**
+   * Sets up option and value.
+   *
+   * @throws IOException	if temp file cannot be created
+   */
+  @Setup
+  public void setUp() throws IOException {
+    m_Option     = new Option("--opt").type(type);
+    m_Conversion = new Conversion();
+    switch (type) {
+      case INTEGER:
+        m_Value = "123456789";
+        break;
+      case DOUBLE:
+        m_Value = "12345.6789e-3";
+        break;
+      default:
+        m_File = File.createTempFile("conversion", ".txt");
+        m_Value = m_File.getAbsolutePath();
+    }
+  }
+
+  /**
+   * Removes the temp file again.
+   */
+  @TearDown
+  public void tearDown() {
+    if (m_File != null)
+      m_File.delete();
+  }
+
+  /**
+   * Validates, then parses.
+   *
+   * @return		the parsed value
+   */
+  @Benchmark
+  public Object validateThenParse() {
+    if (m_Option.isValid(m_Value))
+      return m_Option.parse(m_Value);
+    return null;
+  }
+
+  /**
+   * Validates and converts in one step.
+   *
+   * @return		the conversion
+   */
+  @Benchmark
+  public Conversion convert() {
+    m_Option.convert(m_Value, m_Conversion);
+    return m_Conversion;
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * EventParseBenchmark.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j.benchmarks;
+
+import com.github.fracpete.simpleargparse4j.ArgumentParser;
+import com.github.fracpete.simpleargparse4j.ArgumentParserException;
+import com.github.fracpete.simpleargparse4j.CompiledParser;
+import com.github.fracpete.simpleargparse4j.Namespace;
+import com.github.fracpete.simpleargparse4j.Option;
+import com.github.fracpete.simpleargparse4j.ParseHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares building a {@link Namespace} with event-driven parsing that
+ * merely counts the options.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventParseBenchmark {
+
+  /**
+   * Counts the options.
+   */
+  public static class CountingHandler
+    implements ParseHandler {
+
+    /** the number of options encountered. */
+    public int count;
+
+    /**
+     * Counts the option.
+     *
+     * @param option	the option
+     * @param rawValue	the value
+     */
+    @Override
+    public void onOption(Option option, String rawValue) {
+      count++;
+    }
+
+    /**
+     * Counts the flag.
+     *
+     * @param option	the option
+     */
+    @Override
+    public void onFlag(Option option) {
+      count++;
+    }
+  }
+
+  /** the number of options to define. */
+  @Param({"10", "100"})
+  public int numOptions;
+
+  /** the compiled parser. */
+  protected CompiledParser m_Compiled;
+
+  /** the commandline to parse. */
+  protected String[] m_Args;
+
+  /** the handler. */
+  protected CountingHandler m_Handler;
+
+  /**
+   * Sets up the parser and the commandline (supplies every other option).
+   */
+  @Setup
+  public void setUp() {
+    ArgumentParser	parser;
+    int			i;
+    int			n;
+
+    parser = new ArgumentParser("benchmark");
+    for (i = 0; i < numOptions; i++)
+      parser.addOption("--opt" + i).dest("opt" + i).setDefault("" + i);
+    m_Compiled = parser.compile();
+    m_Handler  = new CountingHandler();
+
+    m_Args = new String[(numOptions / 2) * 2];
+    n = 0;
+    for (i = 0; i < numOptions; i += 2) {
+      m_Args[n++] = "--opt" + i;
+      m_Args[n++] = "value" + i;
+    }
+  }
+
+  /**
+   * Parses into a namespace.
+   *
+   * @return		the namespace
+   * @throws ArgumentParserException	if parsing fails
+   */
+  @Benchmark
+  public Namespace namespace() throws ArgumentParserException {
+    return m_Compiled.parseArgs(m_Args);
+  }
+
+  /**
+   * Counts the options via events.
+   *
+   * @return		the count
+   * @throws ArgumentParserException	if parsing fails
+   */
+  @Benchmark
+  public int events() throws ArgumentParserException {
+    m_Handler.count = 0;
+    m_Compiled.parse(m_Args, m_Handler);
+    return m_Handler.count;
+  }
+}
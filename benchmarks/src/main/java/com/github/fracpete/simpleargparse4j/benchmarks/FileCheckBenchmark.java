@@ -0,0 +1,147 @@
+/*
+ * FileCheckBenchmark.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j.benchmarks;
+
+import com.github.fracpete.simpleargparse4j.ArgumentParser;
+import com.github.fracpete.simpleargparse4j.ArgumentParserException;
+import com.github.fracpete.simpleargparse4j.CompiledParser;
+import com.github.fracpete.simpleargparse4j.Namespace;
+import com.github.fracpete.simpleargparse4j.Option.Type;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures checking the paths of a multi-valued {@link Type#EXISTING_FILE}
+ * option, sequentially, in parallel and asynchronously. Every path is supplied twice,
+ * with the second check answered from the cache.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileCheckBenchmark {
+
+  /** the number of files. */
+  @Param({"1000"})
+  public int numFiles;
+
+  /** the directory with the files. */
+  protected File m_Dir;
+
+  /** the parser checking sequentially. */
+  protected CompiledParser m_Sequential;
+
+  /** the parser checking in parallel. */
+  protected CompiledParser m_Parallel;
+
+  /** the commandline to parse. */
+  protected String[] m_Args;
+
+  /**
+   * Creates a parser.
+   *
+   * @param parallel	whether to check in parallel
+   * @return		the compiled parser
+   */
+  protected CompiledParser newParser(boolean parallel) {
+    ArgumentParser	parser;
+
+    parser = new ArgumentParser("benchmark").parallelFileChecks(parallel);
+    parser.addOption("--input").dest("input").type(Type.EXISTING_FILE).multiple(true);
+    return parser.compile();
+  }
+
+  /**
+   * Sets up the files, the parsers and the commandline.
+   *
+   * @throws IOException	if creating the files fails
+   */
+  @Setup
+  public void setUp() throws IOException {
+    File	file;
+    int		i;
+
+    m_Dir        = Files.createTempDirectory("argparse").toFile();
+    m_Sequential = newParser(false);
+    m_Parallel   = newParser(true);
+    m_Args       = new String[numFiles * 4];
+    for (i = 0; i < numFiles; i++) {
+      file = new File(m_Dir, "file" + i + ".txt");
+      file.createNewFile();
+      m_Args[i * 2]                    = "--input";
+      m_Args[i * 2 + 1]                = file.getPath();
+      m_Args[numFiles * 2 + i * 2]     = "--input";
+      m_Args[numFiles * 2 + i * 2 + 1] = file.getPath();
+    }
+  }
+
+  /**
+   * Removes the files.
+   */
+  @TearDown
+  public void tearDown() {
+    File[]	files;
+
+    files = m_Dir.listFiles();
+    if (files != null) {
+      for (File file: files)
+        file.delete();
+    }
+    m_Dir.delete();
+  }
+
+  /**
+   * Checks the paths sequentially.
+   *
+   * @return		the namespace
+   * @throws ArgumentParserException	if parsing fails
+   */
+  @Benchmark
+  public Namespace sequential() throws ArgumentParserException {
+    return m_Sequential.parseArgs(m_Args);
+  }
+
+  /**
+   * Checks the paths in parallel.
+   *
+   * @return		the namespace
+   * @throws ArgumentParserException	if parsing fails
+   */
+  @Benchmark
+  public Namespace parallel() throws ArgumentParserException {
+    return m_Parallel.parseArgs(m_Args);
+  }
+
+  /**
+   * Checks the paths asynchronously, waiting for the outcome.
+   *
+   * @return		the namespace
+   * @throws Exception	if parsing fails
+   */
+  @Benchmark
+  public Namespace async() throws Exception {
+    return m_Sequential.parseArgsAsync(m_Args).get();
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * GlobBenchmark.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j.benchmarks;
+
+import com.github.fracpete.simpleargparse4j.Glob;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Compares expanding a "**" glob lazily via a stream with the parallel
+ * directory walk.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GlobBenchmark {
+
+  /** the number of directories. */
+  @Param({"20"})
+  public int numDirs;
+
+  /** the number of files per directory (half of them matching). */
+  @Param({"500"})
+  public int numFiles;
+
+  /** the root directory. */
+  protected File m_Root;
+
+  /** the glob. */
+  protected Glob m_Glob;
+
+  /**
+   * Creates the directory tree.
+   *
+   * @throws IOException	if creating the files fails
+   */
+  @Setup
+  public void setUp() throws IOException {
+    File	dir;
+    int		i;
+    int		n;
+
+    m_Root = Files.createTempDirectory("argparse").toFile();
+    for (i = 0; i < numDirs; i++) {
+      dir = new File(m_Root, "dir" + i + "/sub");
+      dir.mkdirs();
+      for (n = 0; n < numFiles; n++)
+        new File(dir, "file" + n + ((n % 2 == 0) ? ".parquet" : ".csv")).createNewFile();
+    }
+    m_Glob = new Glob(m_Root + "/**/*.parquet");
+  }
+
+  /**
+   * Removes the file or directory tree.
+   *
+   * @param file	the file or directory to remove
+   */
+  protected void delete(File file) {
+    File[]	files;
+
+    files = file.listFiles();
+    if (files != null) {
+      for (File f: files)
+        delete(f);
+    }
+    file.delete();
+  }
+
+  /**
+   * Removes the directory tree.
+   */
+  @TearDown
+  public void tearDown() {
+    delete(m_Root);
+  }
+
+  /**
+   * Counts the matches via the lazily populated stream.
+   *
+   * @return		the number of matches
+   */
+  @Benchmark
+  public long stream() {
+    try (Stream<Path> paths = m_Glob.stream()) {
+      return paths.count();
+    }
+  }
+
+  /**
+   * Counts the matches via the parallel walk.
+   *
+   * @return		the number of matches
+   */
+  @Benchmark
+  public int walk() {
+    final AtomicInteger	count;
+
+    count = new AtomicInteger();
+    m_Glob.walk(new Consumer<Path>() {
+      @Override
+      public void accept(Path path) {
+        count.incrementAndGet();
+      }
+    });
+    return count.get();
+  }
+}
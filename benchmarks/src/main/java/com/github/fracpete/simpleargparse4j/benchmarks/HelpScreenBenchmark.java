@@ -0,0 +1,202 @@
+/*
+ * HelpScreenBenchmark.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j.benchmarks;
+
+import com.github.fracpete.simpleargparse4j.ArgumentParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ArgumentParser#generateHelpScreen(boolean)} for varying
+ * screen widths, with and without cached sections, and streaming the help
+ * screen via {@link ArgumentParser#generateHelpScreen(Appendable, boolean)}.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HelpScreenBenchmark {
+
+  /**
+   * Writer that only counts the characters.
+   */
+  public static class CountingWriter
+    extends Writer {
+
+    /** the number of characters written. */
+    protected long m_Count;
+
+    /**
+     * Counts the characters.
+     *
+     * @param cbuf	the characters
+     * @param off	the offset
+     * @param len	the number of characters
+     */
+    @Override
+    public void write(char[] cbuf, int off, int len) {
+      m_Count += len;
+    }
+
+    /**
+     * Counts the characters.
+     *
+     * @param str	the string
+     * @param off	the offset
+     * @param len	the number of characters
+     */
+    @Override
+    public void write(String str, int off, int len) {
+      m_Count += len;
+    }
+
+    /**
+     * Counts the characters.
+     *
+     * @param csq	the characters
+     * @param start	the start (incl)
+     * @param end	the end (excl)
+     * @return		the writer
+     */
+    @Override
+    public Writer append(CharSequence csq, int start, int end) {
+      m_Count += end - start;
+      return this;
+    }
+
+    /**
+     * Does nothing.
+     */
+    @Override
+    public void flush() {
+    }
+
+    /**
+     * Does nothing.
+     */
+    @Override
+    public void close() {
+    }
+
+    /**
+     * Returns the number of characters written.
+     *
+     * @return		the count
+     */
+    public long getCount() {
+      return m_Count;
+    }
+  }
+
+  /** the screen width. */
+  @Param({"40", "80", "160"})
+  public int screenWidth;
+
+  /** the number of options to define. */
+  @Param({"10", "100", "1000"})
+  public int numOptions;
+
+  /** the parser. */
+  protected ArgumentParser m_Parser;
+
+  /**
+   * Sets up the parser with options that have lengthy help strings.
+   */
+  @Setup
+  public void setUp() {
+    StringBuilder	help;
+    int			i;
+    int			n;
+
+    m_Parser = new ArgumentParser(
+      "Benchmark for generating the help screen. The description is long enough "
+	+ "to require breaking up into multiple lines, even on wide screens.\n"
+	+ "It also spans multiple paragraphs; just like real-world tools do.");
+    m_Parser.screenWidth(screenWidth);
+    for (i = 0; i < numOptions; i++) {
+      help = new StringBuilder();
+      for (n = 0; n <= i % 5; n++)
+        help.append("Sentence number ").append(n).append(" of the help for option ").append(i).append(", which is rather verbose. ");
+      m_Parser.addOption("-o" + i, "--option" + i)
+	.dest("option" + i)
+	.metaVar("VALUE" + i)
+	.required(i % 3 == 0)
+	.multiple(i % 4 == 0)
+	.help(help.toString().trim());
+    }
+    m_Parser.generateHelpScreen(true);  // fills the cache
+  }
+
+  /**
+   * Generates the help screen, using the cached sections.
+   *
+   * @return		the help screen
+   */
+  @Benchmark
+  public String generate() {
+    return m_Parser.generateHelpScreen(true);
+  }
+
+  /**
+   * Generates the help screen from scratch, by modifying an option first.
+   *
+   * @return		the help screen
+   */
+  @Benchmark
+  public String generateUncached() {
+    m_Parser.getOptions().get(0).required(true);
+    return m_Parser.generateHelpScreen(true);
+  }
+
+  /**
+   * Streams the help screen, using the cached sections.
+   *
+   * @return		the number of characters written
+   * @throws IOException	if writing fails
+   */
+  @Benchmark
+  public long stream() throws IOException {
+    CountingWriter	writer;
+
+    writer = new CountingWriter();
+    m_Parser.generateHelpScreen(writer, true);
+    return writer.getCount();
+  }
+
+  /**
+   * Streams the help screen generated from scratch, by modifying an option
+   * first.
+   *
+   * @return		the number of characters written
+   * @throws IOException	if writing fails
+   */
+  @Benchmark
+  public long streamUncached() throws IOException {
+    CountingWriter	writer;
+
+    m_Parser.getOptions().get(0).required(true);
+    writer = new CountingWriter();
+    m_Parser.generateHelpScreen(writer, true);
+    return writer.getCount();
+  }
+}
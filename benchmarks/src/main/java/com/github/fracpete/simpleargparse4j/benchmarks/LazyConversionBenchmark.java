@@ -0,0 +1,117 @@
+/*
+ * LazyConversionBenchmark.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j.benchmarks;
+
+import com.github.fracpete.simpleargparse4j.ArgumentParser;
+import com.github.fracpete.simpleargparse4j.ArgumentParserException;
+import com.github.fracpete.simpleargparse4j.CompiledParser;
+import com.github.fracpete.simpleargparse4j.Namespace;
+import com.github.fracpete.simpleargparse4j.Option.Type;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares eager with lazy conversion of values, when supplying all
+ * options but only accessing a single one.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LazyConversionBenchmark {
+
+  /** the number of options to define. */
+  @Param({"10", "100"})
+  public int numOptions;
+
+  /** the type of the options. */
+  @Param({"INTEGER", "DOUBLE"})
+  public Type type;
+
+  /** the parser converting eagerly. */
+  protected CompiledParser m_Eager;
+
+  /** the parser converting lazily. */
+  protected CompiledParser m_Lazy;
+
+  /** the commandline to parse. */
+  protected String[] m_Args;
+
+  /**
+   * Creates a parser.
+   *
+   * @param lazy	whether to convert lazily
+   * @return		the compiled parser
+   */
+  protected CompiledParser newParser(boolean lazy) {
+    ArgumentParser	parser;
+    int			i;
+
+    parser = new ArgumentParser("benchmark").lazy(lazy);
+    for (i = 0; i < numOptions; i++)
+      parser.addOption("--opt" + i).dest("opt" + i).type(type);
+    return parser.compile();
+  }
+
+  /**
+   * Sets up the parsers and the commandline (supplies all options).
+   */
+  @Setup
+  public void setUp() {
+    int		i;
+
+    m_Eager = newParser(false);
+    m_Lazy  = newParser(true);
+    m_Args  = new String[numOptions * 2];
+    for (i = 0; i < numOptions; i++) {
+      m_Args[i * 2]     = "--opt" + i;
+      m_Args[i * 2 + 1] = "" + (i * 1234567);
+    }
+  }
+
+  /**
+   * Parses eagerly and accesses the first value.
+   *
+   * @return		the value
+   * @throws ArgumentParserException	if parsing fails
+   */
+  @Benchmark
+  public double eager() throws ArgumentParserException {
+    Namespace	ns;
+
+    ns = m_Eager.parseArgs(m_Args);
+    return ns.getDouble("opt0");
+  }
+
+  /**
+   * Parses lazily and accesses the first value.
+   *
+   * @return		the value
+   * @throws ArgumentParserException	if parsing fails
+   */
+  @Benchmark
+  public double lazy() throws ArgumentParserException {
+    Namespace	ns;
+
+    ns = m_Lazy.parseArgs(m_Args);
+    return ns.getDouble("opt0");
+  }
+}
@@ -0,0 +1,170 @@
+/*
+ * LineWrapBenchmark.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j.benchmarks;
+
+import com.github.fracpete.simpleargparse4j.ArgumentParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures breaking up large help texts into lines, comparing the
+ * single-pass wrapper with the previous approach of searching for each
+ * break character and copying the remainder for every line.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LineWrapBenchmark {
+
+  /**
+   * Exposes the line wrapping of the parser.
+   */
+  public static class WrappingParser
+    extends ArgumentParser {
+
+    /**
+     * Initializes the parser.
+     */
+    public WrappingParser() {
+      super("benchmark");
+    }
+
+    /**
+     * Breaks up the text using the single-pass wrapper.
+     *
+     * @param text	the text to break up
+     * @param max	the maximum line length
+     * @return		the wrapped text
+     * @throws IOException	if appending fails
+     */
+    public String wrap(String text, int max) throws IOException {
+      StringBuilder	result;
+
+      result = new StringBuilder();
+      breakUp(text, max, breakTable(), "\t", result);
+      return result.toString();
+    }
+
+    /**
+     * Breaks up the text like before the single-pass wrapper.
+     *
+     * @param text	the text to break up
+     * @param max	the maximum line length
+     * @return		the wrapped text
+     */
+    public String wrapLegacy(String text, int max) {
+      StringBuilder	result;
+      List<String>	lines;
+      int[]		pos;
+      int		i;
+      int		index;
+
+      result = new StringBuilder();
+      pos    = new int[m_BreakChars.length];
+      for (String line: text.split("\n")) {
+	lines = new ArrayList<>();
+	do {
+	  if (line.length() > max) {
+	    for (i = 0; i < m_BreakChars.length; i++)
+	      pos[i] = leftIndex(line, m_BreakChars[i], max);
+	    index = 0;
+	    for (i = 0; i < m_BreakChars.length; i++) {
+	      if ((pos[i] > -1) && (pos[i] > index))
+		index = pos[i];
+	    }
+	    if (index > 0) {
+	      lines.add(line.substring(0, index + 1).trim());
+	      line = line.substring(index + 1).trim();
+	    }
+	    else {
+	      lines.add(line.substring(0, max).trim());
+	      line = line.substring(max).trim();
+	    }
+	  }
+	  else {
+	    lines.add(line);
+	    line = "";
+	  }
+	} while (line.length() > 0);
+	for (String fitted: lines)
+	  result.append("\t").append(fitted).append("\n");
+      }
+      return result.toString();
+    }
+  }
+
+  /** the size of the text in characters. */
+  @Param({"1000", "10000", "100000"})
+  public int textSize;
+
+  /** the parser. */
+  protected WrappingParser m_Parser;
+
+  /** the text to wrap. */
+  protected String m_Text;
+
+  /**
+   * Sets up the text, a table-like help text with long lines.
+   */
+  @Setup
+  public void setUp() {
+    StringBuilder	text;
+    int			row;
+
+    m_Parser = new WrappingParser();
+    text     = new StringBuilder();
+    row      = 0;
+    while (text.length() < textSize) {
+      text.append("row ").append(row).append(": name=value").append(row).append(", type=plugin;");
+      if (row % 50 == 49)
+        text.append("\n");
+      else
+        text.append(" ");
+      row++;
+    }
+    m_Text = text.substring(0, textSize);
+  }
+
+  /**
+   * Wraps the text with the single-pass wrapper.
+   *
+   * @return		the wrapped text
+   * @throws IOException	if appending fails
+   */
+  @Benchmark
+  public String wrap() throws IOException {
+    return m_Parser.wrap(m_Text, ArgumentParser.SCREEN_WIDTH - ArgumentParser.TAB_WIDTH);
+  }
+
+  /**
+   * Wraps the text like before the single-pass wrapper.
+   *
+   * @return		the wrapped text
+   */
+  @Benchmark
+  public String wrapLegacy() {
+    return m_Parser.wrapLegacy(m_Text, ArgumentParser.SCREEN_WIDTH - ArgumentParser.TAB_WIDTH);
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * MultipleValuesBenchmark.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j.benchmarks;
+
+import com.github.fracpete.simpleargparse4j.ArgumentParser;
+import com.github.fracpete.simpleargparse4j.ArgumentParserException;
+import com.github.fracpete.simpleargparse4j.CompiledParser;
+import com.github.fracpete.simpleargparse4j.Namespace;
+import com.github.fracpete.simpleargparse4j.Option.Type;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures accumulating the values of options that can be supplied
+ * multiple times.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MultipleValuesBenchmark {
+
+  /** the type of the option. */
+  @Param({"STRING", "INTEGER", "DOUBLE"})
+  public Type type;
+
+  /** the number of values to supply. */
+  @Param({"10", "1000", "100000"})
+  public int numValues;
+
+  /** the compiled parser. */
+  protected CompiledParser m_Compiled;
+
+  /** the commandline to parse. */
+  protected String[] m_Args;
+
+  /**
+   * Sets up the parser and the commandline.
+   */
+  @Setup
+  public void setUp() {
+    ArgumentParser	parser;
+    int			i;
+
+    parser = new ArgumentParser("benchmark");
+    parser.addOption("--value").dest("value").type(type).multiple(true);
+    m_Compiled = parser.compile();
+
+    m_Args = new String[numValues * 2];
+    for (i = 0; i < numValues; i++) {
+      m_Args[i * 2]     = "--value";
+      m_Args[i * 2 + 1] = (type == Type.DOUBLE) ? (i + ".5") : ("" + i);
+    }
+  }
+
+  /**
+   * Parses the commandline.
+   *
+   * @return		the namespace
+   * @throws ArgumentParserException	if parsing fails
+   */
+  @Benchmark
+  public Namespace accumulate() throws ArgumentParserException {
+    return m_Compiled.parseArgs(m_Args);
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * NamespaceBenchmark.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j.benchmarks;
+
+import com.github.fracpete.simpleargparse4j.ArgumentParser;
+import com.github.fracpete.simpleargparse4j.ArgumentParserException;
+import com.github.fracpete.simpleargparse4j.BooleanOption;
+import com.github.fracpete.simpleargparse4j.DoubleOption;
+import com.github.fracpete.simpleargparse4j.IntOption;
+import com.github.fracpete.simpleargparse4j.Namespace;
+import com.github.fracpete.simpleargparse4j.StringOption;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures retrieving values from a {@link Namespace}, via name and via
+ * typed option handles.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NamespaceBenchmark {
+
+  /** the string option. */
+  protected StringOption m_Input;
+
+  /** the integer option. */
+  protected IntOption m_Num;
+
+  /** the double option. */
+  protected DoubleOption m_Factor;
+
+  /** the flag. */
+  protected BooleanOption m_Verbose;
+
+  /** the parsed namespace. */
+  protected Namespace m_Namespace;
+
+  /**
+   * Sets up the parser and parses a commandline.
+   *
+   * @throws ArgumentParserException	if parsing fails
+   */
+  @Setup
+  public void setUp() throws ArgumentParserException {
+    ArgumentParser	parser;
+    int			i;
+
+    parser    = new ArgumentParser("benchmark");
+    m_Input   = parser.addOption(new StringOption("--input"));
+    m_Num     = parser.addOption(new IntOption("--num"));
+    m_Factor  = parser.addOption(new DoubleOption("--factor"));
+    m_Verbose = parser.addOption(new BooleanOption("--verbose"));
+    m_Input.dest("input");
+    m_Num.dest("num");
+    m_Factor.dest("factor");
+    m_Verbose.dest("verbose");
+    for (i = 0; i < 20; i++)
+      parser.addOption("--other" + i).dest("other" + i);
+    m_Namespace = parser.parseArgs(new String[]{"--input", "in.txt", "--num", "42", "--factor", "0.5", "--verbose"});
+  }
+
+  /**
+   * Retrieves the values via their names.
+   *
+   * @param bh		for consuming the values
+   */
+  @Benchmark
+  public void byName(Blackhole bh) {
+    bh.consume(m_Namespace.getString("input"));
+    bh.consume(m_Namespace.getInt("num"));
+    bh.consume(m_Namespace.getDouble("factor"));
+    bh.consume(m_Namespace.getBoolean("verbose"));
+  }
+
+  /**
+   * Retrieves the values via the typed options.
+   *
+   * @param bh		for consuming the values
+   */
+  @Benchmark
+  public void byOption(Blackhole bh) {
+    bh.consume(m_Namespace.get(m_Input));
+    bh.consume(m_Namespace.get(m_Num));
+    bh.consume(m_Namespace.get(m_Factor));
+    bh.consume(m_Namespace.get(m_Verbose));
+  }
+}
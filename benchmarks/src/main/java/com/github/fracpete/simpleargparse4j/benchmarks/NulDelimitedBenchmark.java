@@ -0,0 +1,119 @@
+/*
+ * NulDelimitedBenchmark.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j.benchmarks;
+
+import com.github.fracpete.simpleargparse4j.ArgumentParser;
+import com.github.fracpete.simpleargparse4j.ArgumentParserException;
+import com.github.fracpete.simpleargparse4j.CompiledParser;
+import com.github.fracpete.simpleargparse4j.Namespace;
+import com.github.fracpete.simpleargparse4j.Option.Type;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares parsing a NUL-separated buffer directly with decoding and
+ * splitting it into strings first. Most tokens are unknown (as with a
+ * full process commandline), only few options are of interest.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NulDelimitedBenchmark {
+
+  /** the number of tokens in the buffer. */
+  @Param({"100", "10000"})
+  public int numTokens;
+
+  /** the parser to use. */
+  protected CompiledParser m_Parser;
+
+  /** the NUL-separated tokens. */
+  protected ByteBuffer m_Buffer;
+
+  /**
+   * Sets up the parser and the buffer.
+   */
+  @Setup
+  public void setUp() {
+    ArgumentParser		parser;
+    ByteArrayOutputStream	out;
+    byte[]			token;
+    int				i;
+
+    parser = new ArgumentParser("benchmark");
+    parser.addOption("--name").dest("name");
+    parser.addOption("--num").dest("num").type(Type.INTEGER);
+    m_Parser = parser.compile();
+
+    out = new ByteArrayOutputStream();
+    for (i = 0; i < numTokens + 4; i++) {
+      if (i < numTokens)
+        token = ("-Dproperty" + i + "=some/value/" + i).getBytes(StandardCharsets.UTF_8);
+      else
+        token = new String[]{"--name", "benchmark", "--num", "42"}[i - numTokens].getBytes(StandardCharsets.UTF_8);
+      out.write(token, 0, token.length);
+      out.write(0);
+    }
+    m_Buffer = ByteBuffer.wrap(out.toByteArray());
+  }
+
+  /**
+   * Decodes and splits the buffer, then parses the strings.
+   *
+   * @return		the parsed options
+   * @throws ArgumentParserException	if parsing fails
+   */
+  @Benchmark
+  public Namespace decodeThenParse() throws ArgumentParserException {
+    List<String>	tokens;
+    byte[]		bytes;
+    int			start;
+    int			i;
+
+    tokens = new ArrayList<>();
+    bytes  = m_Buffer.array();
+    start  = 0;
+    for (i = 0; i < bytes.length; i++) {
+      if (bytes[i] == 0) {
+        tokens.add(new String(bytes, start, i - start, StandardCharsets.UTF_8));
+        start = i + 1;
+      }
+    }
+    return m_Parser.parseArgs(tokens.toArray(new String[0]));
+  }
+
+  /**
+   * Parses the buffer directly.
+   *
+   * @return		the parsed options
+   * @throws ArgumentParserException	if parsing fails
+   */
+  @Benchmark
+  public Namespace parseBuffer() throws ArgumentParserException {
+    return m_Parser.parseArgs(m_Buffer, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * NumberScannerBenchmark.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j.benchmarks;
+
+import com.github.fracpete.simpleargparse4j.Conversion;
+import com.github.fracpete.simpleargparse4j.NumberScanner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares validating numbers by catching the NumberFormatException of the
+ * JDK parse methods with the non-throwing {@link NumberScanner}, for valid
+ * and invalid input.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NumberScannerBenchmark {
+
+  /** the kind of input. */
+  @Param({"good", "bad"})
+  public String input;
+
+  /** the integer value to validate. */
+  protected String m_Int;
+
+  /** the double value to validate. */
+  protected String m_Double;
+
+  /** the reusable conversion. */
+  protected Conversion m_Conversion;
+
+  /**
+   * Sets up the values.
+   */
+  @Setup
+  public void setUp() {
+    m_Conversion = new Conversion();
+    if (input.equals("good")) {
+      m_Int    = "123456789";
+      m_Double = "12345.678";
+    }
+    else {
+      m_Int    = "1234x6789";
+      m_Double = "12345.6x8";
+    }
+  }
+
+  /**
+   * Validates an int via exception.
+   *
+   * @return		true if valid
+   */
+  @Benchmark
+  public boolean intException() {
+    try {
+      Integer.parseInt(m_Int);
+      return true;
+    }
+    catch (NumberFormatException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Validates an int via the scanner.
+   *
+   * @return		true if valid
+   */
+  @Benchmark
+  public boolean intScanner() {
+    return NumberScanner.scanLong(m_Int, Integer.MIN_VALUE, Integer.MAX_VALUE, m_Conversion);
+  }
+
+  /**
+   * Validates a double via exception.
+   *
+   * @return		true if valid
+   */
+  @Benchmark
+  public boolean doubleException() {
+    try {
+      Double.parseDouble(m_Double);
+      return true;
+    }
+    catch (NumberFormatException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Validates a double via the scanner.
+   *
+   * @return		true if valid
+   */
+  @Benchmark
+  public boolean doubleScanner() {
+    return NumberScanner.scanDouble(m_Double, false, m_Conversion);
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * ParseBenchmark.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j.benchmarks;
+
+import com.github.fracpete.simpleargparse4j.ArgumentParser;
+import com.github.fracpete.simpleargparse4j.ArgumentParserException;
+import com.github.fracpete.simpleargparse4j.Namespace;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ArgumentParser#parseArgs(String[])} and
+ * {@link ArgumentParser#parseArgs(java.util.Iterator)} for varying numbers
+ * of defined options and lengths of the commandline.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseBenchmark {
+
+  /** the number of options to define. */
+  @Param({"10", "100", "1000", "10000"})
+  public int numOptions;
+
+  /** the number of tokens on the commandline. */
+  @Param({"100", "10000", "1000000"})
+  public int numTokens;
+
+  /** the parser. */
+  protected ArgumentParser m_Parser;
+
+  /** the commandline to parse. */
+  protected String[] m_Args;
+
+  /**
+   * Sets up the parser and the commandline, which cycles through the
+   * options (every fourth one unknown to the parser).
+   */
+  @Setup
+  public void setUp() {
+    int		i;
+    int		n;
+
+    m_Parser = new ArgumentParser("benchmark");
+    for (i = 0; i < numOptions; i++)
+      m_Parser.addOption("--opt" + i).dest("opt" + i).setDefault("" + i);
+
+    m_Args = new String[numTokens];
+    for (i = 0; i < numTokens; i += 2) {
+      n = (i / 2) % numOptions;
+      m_Args[i] = ((i / 2) % 4 == 3) ? "--unknown" + n : "--opt" + n;
+      if (i + 1 < numTokens)
+        m_Args[i + 1] = "value" + i;
+    }
+    if (numTokens % 2 == 1)
+      m_Args[numTokens - 1] = "extra";
+  }
+
+  /**
+   * Parses the commandline.
+   *
+   * @return		the namespace
+   * @throws ArgumentParserException	if parsing fails
+   */
+  @Benchmark
+  public Namespace parse() throws ArgumentParserException {
+    return m_Parser.parseArgs(m_Args);
+  }
+
+  /**
+   * Parses the commandline via an iterator.
+   *
+   * @return		the namespace
+   * @throws ArgumentParserException	if parsing fails
+   */
+  @Benchmark
+  public Namespace parseIterator() throws ArgumentParserException {
+    return m_Parser.parseArgs(Arrays.asList(m_Args).iterator());
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * SeparatorBenchmark.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j.benchmarks;
+
+import com.github.fracpete.simpleargparse4j.ArgumentParser;
+import com.github.fracpete.simpleargparse4j.ArgumentParserException;
+import com.github.fracpete.simpleargparse4j.CompiledParser;
+import com.github.fracpete.simpleargparse4j.Namespace;
+import com.github.fracpete.simpleargparse4j.Option.Type;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares supplying the values of a multi-valued option by repeating the
+ * option with supplying them in a single, separated argument.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeparatorBenchmark {
+
+  /** the number of values. */
+  @Param({"1000", "100000"})
+  public int numValues;
+
+  /** the type of the values. */
+  @Param({"INTEGER", "DOUBLE"})
+  public Type type;
+
+  /** the parser to use. */
+  protected CompiledParser m_Parser;
+
+  /** the commandline repeating the option. */
+  protected String[] m_Repeated;
+
+  /** the commandline with a single separated argument. */
+  protected String[] m_Separated;
+
+  /**
+   * Sets up the parser and the commandlines.
+   */
+  @Setup
+  public void setUp() {
+    ArgumentParser	parser;
+    StringBuilder	values;
+    int			i;
+
+    parser = new ArgumentParser("benchmark");
+    parser.addOption("--value").dest("value").type(type).multiple(true).separator(',');
+    m_Parser = parser.compile();
+
+    m_Repeated = new String[numValues * 2];
+    values     = new StringBuilder();
+    for (i = 0; i < numValues; i++) {
+      m_Repeated[i * 2]     = "--value";
+      m_Repeated[i * 2 + 1] = "" + (i * 37);
+      if (i > 0)
+        values.append(',');
+      values.append(i * 37);
+    }
+    m_Separated = new String[]{"--value", values.toString()};
+  }
+
+  /**
+   * Parses the commandline repeating the option.
+   *
+   * @return		the parsed options
+   * @throws ArgumentParserException	if parsing fails
+   */
+  @Benchmark
+  public Namespace repeated() throws ArgumentParserException {
+    return m_Parser.parseArgs(m_Repeated);
+  }
+
+  /**
+   * Parses the commandline with a single separated argument.
+   *
+   * @return		the parsed options
+   * @throws ArgumentParserException	if parsing fails
+   */
+  @Benchmark
+  public Namespace separated() throws ArgumentParserException {
+    return m_Parser.parseArgs(m_Separated);
+  }
+}
@@ -0,0 +1,213 @@
+/*
+ * ArgumentCursor.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.util.Iterator;
+
+/**
+ * Steps through the arguments of a commandline (from an array or an
+ * iterator, one token at a time), optionally expanding
+ * argument files ("@file") on the fly: the tokens of an argument file get
+ * read one at a time when they are needed, rather than all at once. Just
+ * like with the java launcher, argument files cannot be nested and "@@"
+ * at the start of an argument escapes the "@" instead.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ * @see ArgumentFileTokenizer
+ */
+public class ArgumentCursor
+  implements Closeable {
+
+  /** the arguments, null if from an iterator. */
+  protected String[] m_Args;
+
+  /** the arguments, null if from an array. */
+  protected Iterator<String> m_Iterator;
+
+  /** the current argument. */
+  protected String m_Arg;
+
+  /** whether to expand argument files. */
+  protected boolean m_ArgFiles;
+
+  /** the position in the arguments. */
+  protected int m_Pos;
+
+  /** the argument file currently being read, null if none. */
+  protected ArgumentFileTokenizer m_File;
+
+  /** the name of the argument file currently being read. */
+  protected String m_FileName;
+
+  /** the current token. */
+  protected String m_Token;
+
+  /** the index of the current token in the arguments, -1 if from an argument file. */
+  protected int m_Index;
+
+  /**
+   * Initializes the cursor.
+   *
+   * @param args	the arguments to step through
+   * @param argFiles	whether to expand argument files
+   */
+  public ArgumentCursor(String[] args, boolean argFiles) {
+    m_Args     = args;
+    m_ArgFiles = argFiles;
+    m_Pos      = -1;
+    m_Index    = -1;
+  }
+
+  /**
+   * Initializes the cursor.
+   *
+   * @param args	the arguments to step through
+   * @param argFiles	whether to expand argument files
+   */
+  public ArgumentCursor(Iterator<String> args, boolean argFiles) {
+    m_Iterator = args;
+    m_ArgFiles = argFiles;
+    m_Pos      = -1;
+    m_Index    = -1;
+  }
+
+  /**
+   * Moves on to the next argument.
+   *
+   * @return		true if there was another argument
+   */
+  protected boolean nextArg() {
+    m_Pos++;
+    if (m_Args != null) {
+      if (m_Pos >= m_Args.length)
+        return false;
+      m_Arg = m_Args[m_Pos];
+      return true;
+    }
+    if (!m_Iterator.hasNext())
+      return false;
+    m_Arg = m_Iterator.next();
+    return true;
+  }
+
+  /**
+   * Returns the index of the current argument.
+   *
+   * @return		the index in the array, -1 if from an iterator
+   */
+  protected int argIndex() {
+    return (m_Args != null) ? m_Pos : -1;
+  }
+
+  /**
+   * Moves on to the next token.
+   *
+   * @return		true if there was another token, false if the end was reached
+   * @throws ArgumentFileException	if reading an argument file fails
+   */
+  public boolean next() throws ArgumentFileException {
+    String	arg;
+
+    try {
+      if (m_File != null) {
+        if (m_File.hasNext()) {
+          m_Token = m_File.next();
+          m_Index = -1;
+          return true;
+        }
+        closeFile();
+      }
+
+      while (nextArg()) {
+        arg = m_Arg;
+        if (!m_ArgFiles || !arg.startsWith("@")) {
+          m_Token = arg;
+          m_Index = argIndex();
+          return true;
+        }
+        if (arg.startsWith("@@")) {
+          m_Token = arg.substring(1);
+          m_Index = argIndex();
+          return true;
+        }
+        m_FileName = arg.substring(1);
+        m_File     = new ArgumentFileTokenizer(Paths.get(m_FileName));
+        if (m_File.hasNext()) {
+          m_Token = m_File.next();
+          m_Index = -1;
+          return true;
+        }
+        closeFile();
+      }
+    }
+    catch (IOException e) {
+      throw new ArgumentFileException(m_Arg.substring(1), e);
+    }
+    catch (UncheckedIOException e) {
+      throw new ArgumentFileException(m_FileName, e.getCause());
+    }
+    catch (InvalidPathException e) {
+      throw new ArgumentFileException(m_FileName, e);
+    }
+
+    m_Token = null;
+    m_Index = -1;
+    return false;
+  }
+
+  /**
+   * Returns the current token.
+   *
+   * @return		the token, null if at the end
+   */
+  public String token() {
+    return m_Token;
+  }
+
+  /**
+   * Returns the index of the current token in the arguments.
+   *
+   * @return		the index, -1 if the token stems from an argument file or an iterator
+   */
+  public int index() {
+    return m_Index;
+  }
+
+  /**
+   * Closes the argument file currently being read.
+   *
+   * @throws IOException	if closing fails
+   */
+  protected void closeFile() throws IOException {
+    try {
+      m_File.close();
+    }
+    finally {
+      m_File     = null;
+      m_FileName = null;
+    }
+  }
+
+  /**
+   * Closes the argument file currently being read, if any.
+   */
+  @Override
+  public void close() {
+    if (m_File != null) {
+      try {
+        closeFile();
+      }
+      catch (IOException e) {
+        // ignored, file only got read
+      }
+    }
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * ArgumentFileException.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j;
+
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+
+/**
+ * Gets thrown if an argument file (@file) cannot be read.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+public class ArgumentFileException
+  extends ArgumentParserException {
+
+  /** the file that failed. */
+  protected String m_File;
+
+  /**
+   * Initializes the exception.
+   *
+   * @param file 	the argument file that could not be read
+   * @param cause	the reason
+   */
+  public ArgumentFileException(String file, IOException cause) {
+    super("Failed to read argument file '" + file + "': " + cause.getMessage(), cause);
+    m_File = file;
+  }
+
+  /**
+   * Initializes the exception for an argument file with an invalid path.
+   *
+   * @param file 	the argument file that could not be read
+   * @param cause	the reason
+   */
+  public ArgumentFileException(String file, InvalidPathException cause) {
+    super("Invalid path for argument file '" + file + "': " + cause.getMessage(), cause);
+    m_File = file;
+  }
+
+  /**
+   * Returns the file that could not be read.
+   *
+   * @return		the file
+   */
+  public String getFile() {
+    return m_File;
+  }
+}
@@ -0,0 +1,337 @@
+/*
+ * ArgumentFileTokenizer.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Splits the content of an argument file into tokens, reading the file
+ * incrementally via a file channel. Follows the rules of the java launcher
+ * for argument files:
+ * <ul>
+ *   <li>tokens are separated by white space (blanks, tabs, new lines)</li>
+ *   <li>a token that starts with '#' comments out the rest of the line</li>
+ *   <li>single or double quotes enclose white space, a quote ends at the
+ *   end of the line</li>
+ *   <li>within quotes, a backslash escapes the next character ("\n", "\r",
+ *   "\t" and "\f" get translated), a backslash at the end of the line
+ *   continues the quote on the next line (without leading white space)</li>
+ *   <li>outside quotes, backslashes are taken literally (eg Windows paths)</li>
+ * </ul>
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+public class ArgumentFileTokenizer
+  implements Iterator<String>, Closeable {
+
+  /** the size of the read buffer. */
+  public final static int BUFFER_SIZE = 8192;
+
+  /** the end of the file. */
+  protected final static int EOF = -1;
+
+  /** the file channel. */
+  protected FileChannel m_Channel;
+
+  /** for decoding the file. */
+  protected Reader m_Reader;
+
+  /** the read buffer. */
+  protected char[] m_Buffer;
+
+  /** the position in the buffer. */
+  protected int m_Pos;
+
+  /** the number of characters in the buffer. */
+  protected int m_Length;
+
+  /** for assembling the tokens. */
+  protected StringBuilder m_Token;
+
+  /** the next token, null if none available. */
+  protected String m_Next;
+
+  /**
+   * Opens the argument file, using the default charset.
+   *
+   * @param file	the file to read
+   * @throws IOException	if opening fails
+   */
+  public ArgumentFileTokenizer(Path file) throws IOException {
+    this(file, Charset.defaultCharset());
+  }
+
+  /**
+   * Opens the argument file.
+   *
+   * @param file	the file to read
+   * @param charset	the encoding of the file
+   * @throws IOException	if opening or reading the first token fails (the file gets closed)
+   */
+  public ArgumentFileTokenizer(Path file, Charset charset) throws IOException {
+    m_Channel = FileChannel.open(file, StandardOpenOption.READ);
+    m_Reader  = Channels.newReader(m_Channel, charset.newDecoder(), BUFFER_SIZE);
+    m_Buffer  = new char[BUFFER_SIZE];
+    m_Token   = new StringBuilder();
+    try {
+      m_Next = readToken();
+    }
+    catch (UncheckedIOException e) {
+      closeQuietly(e.getCause());
+      throw e.getCause();
+    }
+    catch (RuntimeException | Error e) {
+      closeQuietly(e);
+      throw e;
+    }
+  }
+
+  /**
+   * Closes the file after a failure, adding problems with closing it to
+   * the failure.
+   *
+   * @param failure	the failure
+   */
+  protected void closeQuietly(Throwable failure) {
+    try {
+      close();
+    }
+    catch (IOException e) {
+      failure.addSuppressed(e);
+    }
+  }
+
+  /**
+   * Returns the next character without consuming it.
+   *
+   * @return		the character, EOF if at the end of the file
+   * @throws IOException	if reading fails
+   */
+  protected int peek() throws IOException {
+    if (m_Pos == m_Length) {
+      if (m_Reader == null)
+        return EOF;
+      m_Length = m_Reader.read(m_Buffer, 0, m_Buffer.length);
+      m_Pos    = 0;
+      if (m_Length < 1) {
+        m_Length = 0;
+        return EOF;
+      }
+    }
+    return m_Buffer[m_Pos];
+  }
+
+  /**
+   * Returns and consumes the next character.
+   *
+   * @return		the character, EOF if at the end of the file
+   * @throws IOException	if reading fails
+   */
+  protected int read() throws IOException {
+    int		result;
+
+    result = peek();
+    if (result != EOF)
+      m_Pos++;
+    return result;
+  }
+
+  /**
+   * Checks whether the character is white space.
+   *
+   * @param c		the character to check
+   * @return		true if white space
+   */
+  protected boolean isWhitespace(int c) {
+    return (c == ' ') || (c == '\t') || (c == '\n') || (c == '\r') || (c == '\f');
+  }
+
+  /**
+   * Skips the rest of the line.
+   *
+   * @throws IOException	if reading fails
+   */
+  protected void skipLine() throws IOException {
+    int		c;
+
+    do {
+      c = read();
+    }
+    while ((c != EOF) && (c != '\n') && (c != '\r'));
+  }
+
+  /**
+   * Appends the run of characters in the buffer that need no special
+   * treatment to the token in one go.
+   *
+   * @param quoted	whether inside quotes
+   * @param quote	the quote character if inside quotes
+   */
+  protected void appendPlain(boolean quoted, int quote) {
+    int		start;
+    char	c;
+
+    start = m_Pos;
+    while (m_Pos < m_Length) {
+      c = m_Buffer[m_Pos];
+      if (quoted) {
+        if ((c == quote) || (c == '\\') || (c == '\n') || (c == '\r'))
+          break;
+      }
+      else if ((c == '"') || (c == '\'') || isWhitespace(c)) {
+        break;
+      }
+      m_Pos++;
+    }
+    if (m_Pos > start)
+      m_Token.append(m_Buffer, start, m_Pos - start);
+  }
+
+  /**
+   * Reads the quoted part of a token.
+   *
+   * @param quote	the quote character
+   * @throws IOException	if reading fails
+   */
+  protected void readQuoted(int quote) throws IOException {
+    int		c;
+
+    while (true) {
+      appendPlain(true, quote);
+      c = peek();
+      if ((c == EOF) || (c == '\n') || (c == '\r'))
+        return;
+      read();
+      if (c == quote)
+        return;
+      if (c != '\\') {
+        m_Token.append((char) c);
+        continue;
+      }
+      c = read();
+      switch (c) {
+        case EOF:
+          return;
+        case 'n':
+          m_Token.append('\n');
+          break;
+        case 'r':
+          m_Token.append('\r');
+          break;
+        case 't':
+          m_Token.append('\t');
+          break;
+        case 'f':
+          m_Token.append('\f');
+          break;
+        case '\r':
+        case '\n':
+          // line continuation
+          if ((c == '\r') && (peek() == '\n'))
+            read();
+          while (((c = peek()) == ' ') || (c == '\t') || (c == '\f'))
+            read();
+          break;
+        default:
+          m_Token.append((char) c);
+      }
+    }
+  }
+
+  /**
+   * Reads the next token.
+   *
+   * @return		the token, null if no more tokens
+   * @throws UncheckedIOException	if reading fails
+   */
+  protected String readToken() {
+    int		c;
+
+    try {
+      // skip white space and comments
+      while (true) {
+        c = peek();
+        if (c == EOF)
+          return null;
+        if (isWhitespace(c))
+          read();
+        else if (c == '#')
+          skipLine();
+        else
+          break;
+      }
+
+      m_Token.setLength(0);
+      while (((c = peek()) != EOF) && !isWhitespace(c)) {
+        read();
+        if ((c == '"') || (c == '\''))
+          readQuoted(c);
+        else
+          m_Token.append((char) c);
+        appendPlain(false, 0);
+      }
+      return m_Token.toString();
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Returns whether there are more tokens.
+   *
+   * @return		true if more tokens available
+   */
+  @Override
+  public boolean hasNext() {
+    return (m_Next != null);
+  }
+
+  /**
+   * Returns the next token.
+   *
+   * @return		the token
+   * @throws UncheckedIOException	if reading fails
+   */
+  @Override
+  public String next() {
+    String	result;
+
+    if (m_Next == null)
+      throw new NoSuchElementException();
+    result = m_Next;
+    m_Next = readToken();
+    return result;
+  }
+
+  /**
+   * Closes the file.
+   *
+   * @throws IOException	if closing fails
+   */
+  @Override
+  public void close() throws IOException {
+    m_Next = null;
+    if (m_Reader != null) {
+      m_Reader.close();
+      m_Reader = null;
+    }
+    if (m_Channel != null) {
+      m_Channel.close();
+      m_Channel = null;
+    }
+  }
+}
@@ -5,16 +5,34 @@
 
 package com.github.fracpete.simpleargparse4j;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
 /**
  * For parsing commandline options.
+ * <br>
+ * Once all options are defined, a parser can be used for parsing from
+ * multiple threads at once: all state of a parse is kept in the returned
+ * {@link Namespace} or the thrown exception. Defining options
+ * concurrently with parsing is not supported.
  *
  * @author FracPete (fracpete at waikato dot ac dot nz)
  */
@@ -30,14 +48,23 @@ public class ArgumentParser
   /** the characters that can be used to break up a line. */
   public final static char[] BREAK_CHARS = " ,;!?".toCharArray();
 
+  /** the description section of the help screen. */
+  public final static char SECTION_DESCRIPTION = 'D';
+
+  /** the usage section of the help screen. */
+  public final static char SECTION_USAGE = 'U';
+
+  /** the options section of the help screen. */
+  public final static char SECTION_OPTIONS = 'O';
+
   /** the description. */
   protected String m_Description;
 
   /** the managed options. */
   protected List<Option> m_Options;
 
-  /** whether help got requested. */
-  protected boolean m_HelpRequested;
+  /** whether help got requested in the last parse of the current thread. */
+  protected transient ThreadLocal<Boolean> m_HelpRequested;
 
   /** the screen width to use. */
   protected int m_ScreenWidth;
@@ -45,6 +72,36 @@ public class ArgumentParser
   /** the break characters to use for the help screen. */
   protected char[] m_BreakChars;
 
+  /** whether to fill in stack traces of parse exceptions. */
+  protected boolean m_StackTraces;
+
+  /** whether to expand argument files (@file). */
+  protected boolean m_ArgFiles;
+
+  /** whether to convert values lazily. */
+  protected boolean m_Lazy;
+
+  /** whether to check the paths of multi-valued file options in parallel. */
+  protected boolean m_ParallelFileChecks;
+
+  /** the timeout in msec for checking a path when parsing asynchronously (0 = none). */
+  protected long m_FileCheckTimeout;
+
+  /** whether to accept combined short flags, "-Xvalue" and "--name=value". */
+  protected boolean m_CompactSyntax;
+
+  /** the rendered help screen sections (section/width/break chars - text). */
+  protected transient Map<String,String> m_HelpCache;
+
+  /** the compiled parser (created on first use). */
+  protected transient volatile CompiledParser m_Compiled;
+
+  /** gets incremented whenever an option gets added or modified. */
+  protected volatile int m_OptionsVersion;
+
+  /** gets incremented whenever an option or a setting changes. */
+  protected volatile int m_Version;
+
   /**
    * Initializes the parser.
    */
@@ -53,6 +110,22 @@ public class ArgumentParser
     m_Options     = new ArrayList<>();
     m_ScreenWidth = SCREEN_WIDTH;
     m_BreakChars  = BREAK_CHARS;
+    m_StackTraces = true;
+    m_HelpRequested = new ThreadLocal<>();
+    m_HelpCache     = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Reinitializes the transient state after deserialization.
+   *
+   * @param in		the stream to read from
+   * @throws IOException	if reading fails
+   * @throws ClassNotFoundException	if a class cannot be found
+   */
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    m_HelpRequested = new ThreadLocal<>();
+    m_HelpCache     = new ConcurrentHashMap<>();
   }
 
   /**
@@ -106,6 +179,159 @@ public class ArgumentParser
     return m_BreakChars;
   }
 
+  /**
+   * Sets whether parse exceptions get their stack trace filled in.
+   * Without stack traces, rejecting invalid commandlines is considerably
+   * cheaper and help requests use {@link HelpRequestedException#INSTANCE}.
+   *
+   * @param value	true if to fill in stack traces
+   * @return		the parser
+   */
+  public ArgumentParser stackTraces(boolean value) {
+    m_StackTraces = value;
+    m_Version++;
+    return this;
+  }
+
+  /**
+   * Returns whether parse exceptions get their stack trace filled in.
+   *
+   * @return		true if to fill in stack traces
+   */
+  public boolean getStackTraces() {
+    return m_StackTraces;
+  }
+
+  /**
+   * Sets whether to expand argument files: an argument "@file" gets replaced
+   * by the arguments stored in the file, which get read incrementally while
+   * parsing. "@@" at the start of an argument escapes the "@".
+   *
+   * @param value	true if to expand argument files
+   * @return		the parser
+   * @see		ArgumentFileTokenizer
+   */
+  public ArgumentParser argFiles(boolean value) {
+    m_ArgFiles = value;
+    m_Version++;
+    return this;
+  }
+
+  /**
+   * Returns whether argument files get expanded.
+   *
+   * @return		true if to expand argument files
+   */
+  public boolean getArgFiles() {
+    return m_ArgFiles;
+  }
+
+  /**
+   * Sets whether to convert (and validate) the supplied values lazily: the
+   * {@link Namespace} keeps the strings and converts them when they get
+   * accessed the first time, skipping values that never get read. Invalid
+   * values then result in an {@link IllegalArgumentException} when
+   * accessing them rather than an {@link InvalidArgumentException} when
+   * parsing.
+   *
+   * @param value	true if to convert lazily
+   * @return		the parser
+   */
+  public ArgumentParser lazy(boolean value) {
+    m_Lazy     = value;
+    m_Version++;
+    return this;
+  }
+
+  /**
+   * Returns whether values get converted lazily.
+   *
+   * @return		true if lazily
+   */
+  public boolean getLazy() {
+    return m_Lazy;
+  }
+
+  /**
+   * Sets whether to query the file system in parallel for the values of
+   * multi-valued file options (eg {@link Option.Type#EXISTING_FILE}), which
+   * speeds up checking many paths on network file systems. Their values
+   * then get checked and stored once all options have been parsed.
+   *
+   * @param value	true if to check in parallel
+   * @return		the parser
+   */
+  public ArgumentParser parallelFileChecks(boolean value) {
+    m_ParallelFileChecks = value;
+    m_Version++;
+    return this;
+  }
+
+  /**
+   * Returns whether the values of multi-valued file options get checked
+   * in parallel.
+   *
+   * @return		true if in parallel
+   */
+  public boolean getParallelFileChecks() {
+    return m_ParallelFileChecks;
+  }
+
+  /**
+   * Sets the timeout for checking a path of a file-typed option when
+   * parsing asynchronously, after which parsing fails with a
+   * {@link FileCheckTimeoutException}. The timeout starts when the check
+   * starts running. A check waiting for a thread of the executor times out
+   * once all checks could have run one after the other with their full
+   * timeout (see {@link FileChecks}).
+   *
+   * @param value	the timeout in milliseconds, 0 for none
+   * @return		the parser
+   * @see		#parseArgsAsync(String[])
+   */
+  public ArgumentParser fileCheckTimeout(long value) {
+    if (value < 0)
+      throw new IllegalArgumentException("Timeout cannot be negative: " + value);
+    m_FileCheckTimeout = value;
+    m_Version++;
+    return this;
+  }
+
+  /**
+   * Returns the timeout for checking a path of a file-typed option when
+   * parsing asynchronously.
+   *
+   * @return		the timeout in milliseconds, 0 for none
+   */
+  public long getFileCheckTimeout() {
+    return m_FileCheckTimeout;
+  }
+
+  /**
+   * Sets whether to accept the compact syntax for tokens that don't match
+   * a flag exactly: combined short flags ("-abc" for "-a -b -c", with the
+   * last one possibly taking the next argument), a short flag followed by
+   * its value ("-Xvalue") and a long flag followed by "=" and its value
+   * ("--name=value"). Only applies when parsing strings.
+   *
+   * @param value	true if to accept the compact syntax
+   * @return		the parser
+   */
+  public ArgumentParser compactSyntax(boolean value) {
+    m_CompactSyntax = value;
+    m_Version++;
+    return this;
+  }
+
+  /**
+   * Returns whether the compact syntax gets accepted.
+   *
+   * @return		true if accepted
+   */
+  public boolean getCompactSyntax() {
+    return m_CompactSyntax;
+  }
+
   /**
    * Adds the option.
    *
@@ -113,12 +339,7 @@ public class ArgumentParser
    * @return		the option
    */
   public Option addOption(String flag) {
-    Option	result;
-
-    result = new Option(flag);
-    m_Options.add(result);
-
-    return result;
+    return addOption(new Option(flag));
   }
 
   /**
@@ -129,12 +350,38 @@ public class ArgumentParser
    * @return		the option
    */
   public Option addOption(String flag, String secondFlag) {
-    Option	result;
+    return addOption(new Option(flag, secondFlag));
+  }
 
-    result = new Option(flag, secondFlag);
-    m_Options.add(result);
+  /**
+   * Adds the option, e.g., a typed option like {@link IntOption} that can
+   * be used for retrieving the value from the {@link Namespace}.
+   *
+   * @param option	the option to add
+   * @param <T>		the type of option
+   * @return		the option
+   */
+  public <T extends Option> T addOption(T option) {
+    option.setIndex(m_Options.size());
+    option.setOwner(this);
+    m_Options.add(option);
+    m_HelpCache.clear();
+    m_OptionsVersion++;
+    m_Version++;
+    return option;
+  }
 
-    return result;
+  /**
+   * Gets called when a registered option changes, discards the cached
+   * help screen sections and compiled parser. Compiled parsers obtained
+   * before the change refuse to parse from then on.
+   *
+   * @param option	the option that changed
+   */
+  protected void optionModified(Option option) {
+    m_HelpCache.clear();
+    m_OptionsVersion++;
+    m_Version++;
   }
 
   /**
@@ -181,68 +428,285 @@ public class ArgumentParser
    */
   public Namespace parseArgs(String[] args, boolean remove, boolean noErrors) throws com.github.fracpete.simpleargparse4j.ArgumentParserException {
     Namespace		result;
-    Map<String,Option> 	mapped;
-    Set<Option>		required;
-    int			i;
-    Option		option;
-
-    // initialize parsing
-    result   = new Namespace(m_Options);
-    mapped   = new HashMap<>();
-    required = new HashSet<>();
-    for (Option opt: m_Options) {
-      mapped.put(opt.getFlag(), opt);
-      if (opt.hasSecondFlag())
-        mapped.put(opt.getSecondFlag(), opt);
-      if (opt.isRequired())
-        required.add(opt);
+
+    m_HelpRequested.set(false);
+    try {
+      result = compile().parseArgs(args, remove, noErrors);
+    }
+    catch (com.github.fracpete.simpleargparse4j.HelpRequestedException e) {
+      m_HelpRequested.set(true);
+      throw e;
+    }
+    if (result.getHelpRequested())
+      m_HelpRequested.set(true);
+
+    return result;
+  }
+
+  /**
+   * Parses the options and returns the parsed associations. The tokens
+   * are consumed one at a time, with a lookahead of one token for option
+   * values, and are not retained.
+   *
+   * @param args	the options to parse
+   * @return		the parsed options
+   * @throws ArgumentParserException        if parsing fails, e.g., if options not supplied
+   */
+  public Namespace parseArgs(Iterator<String> args) throws com.github.fracpete.simpleargparse4j.ArgumentParserException {
+    return parseArgs(args, false);
+  }
+
+  /**
+   * Parses the options and returns the parsed associations. The tokens
+   * are consumed one at a time, with a lookahead of one token for option
+   * values, and are not retained.
+   *
+   * @param args	the options to parse
+   * @param noErrors 	if enabled, no exceptions are thrown
+   * @return		the parsed options
+   * @throws ArgumentParserException        if parsing fails, e.g., if options not supplied
+   */
+  public Namespace parseArgs(Iterator<String> args, boolean noErrors) throws com.github.fracpete.simpleargparse4j.ArgumentParserException {
+    Namespace		result;
+
+    m_HelpRequested.set(false);
+    try {
+      result = compile().parseArgs(args, noErrors);
+    }
+    catch (com.github.fracpete.simpleargparse4j.HelpRequestedException e) {
+      m_HelpRequested.set(true);
+      throw e;
     }
+    if (result.getHelpRequested())
+      m_HelpRequested.set(true);
 
-    // parse
-    for (i = 0; i < args.length; i++) {
-      // help?
-      if (args[i].equals("--help")) {
-        m_HelpRequested = true;
-        if (!noErrors)
-	  throw new com.github.fracpete.simpleargparse4j.HelpRequestedException();
+    return result;
+  }
+
+  /**
+   * Parses the options and returns the parsed associations. The tokens
+   * are consumed one at a time. Closing the stream is up to the caller.
+   *
+   * @param args	the options to parse
+   * @return		the parsed options
+   * @throws ArgumentParserException        if parsing fails, e.g., if options not supplied
+   * @see		#parseArgs(Iterator)
+   */
+  public Namespace parseArgs(Stream<String> args) throws com.github.fracpete.simpleargparse4j.ArgumentParserException {
+    return parseArgs(args.iterator());
+  }
+
+  /**
+   * Parses the NUL-separated options in the buffer (e.g., the content of
+   * /proc/&lt;pid&gt;/cmdline). Flags are matched against their encoded
+   * bytes, only option values get decoded into strings.
+   *
+   * @param args	the options to parse
+   * @param charset	the charset of the options
+   * @return		the parsed options
+   * @throws ArgumentParserException        if parsing fails, e.g., if options not supplied
+   * @see		CompiledParser#parseArgs(ByteBuffer, Charset)
+   */
+  public Namespace parseArgs(ByteBuffer args, Charset charset) throws com.github.fracpete.simpleargparse4j.ArgumentParserException {
+    Namespace		result;
+
+    m_HelpRequested.set(false);
+    try {
+      result = compile().parseArgs(args, charset);
+    }
+    catch (com.github.fracpete.simpleargparse4j.HelpRequestedException e) {
+      m_HelpRequested.set(true);
+      throw e;
+    }
+
+    return result;
+  }
+
+  /**
+   * Parses the NUL-separated options read from the channel.
+   *
+   * @param args	the channel to read the options from, does not get closed
+   * @param charset	the charset of the options
+   * @return		the parsed options
+   * @throws ArgumentParserException        if parsing fails, e.g., if options not supplied
+   * @throws IOException	if reading from the channel fails
+   * @see		CompiledParser#parseArgs(ReadableByteChannel, Charset)
+   */
+  public Namespace parseArgs(ReadableByteChannel args, Charset charset) throws com.github.fracpete.simpleargparse4j.ArgumentParserException, IOException {
+    Namespace		result;
+
+    m_HelpRequested.set(false);
+    try {
+      result = compile().parseArgs(args, charset);
+    }
+    catch (com.github.fracpete.simpleargparse4j.HelpRequestedException e) {
+      m_HelpRequested.set(true);
+      throw e;
+    }
+
+    return result;
+  }
+
+  /**
+   * Parses the options in a single pass, notifying the handler about each
+   * option as it occurs, without assembling a {@link Namespace}.
+   *
+   * @param args	the options to parse
+   * @param handler	the handler to notify
+   * @throws ArgumentParserException        if parsing fails, e.g., if an option is missing its argument
+   * @see		CompiledParser#parse(String[], ParseHandler)
+   */
+  public void parse(String[] args, ParseHandler handler) throws com.github.fracpete.simpleargparse4j.ArgumentParserException {
+    m_HelpRequested.set(false);
+    compile().parse(args, trackHelp(handler));
+  }
+
+  /**
+   * Parses the options in a single pass, notifying the handler about each
+   * option as it occurs, without assembling a {@link Namespace}.
+   *
+   * @param args	the options to parse
+   * @param handler	the handler to notify
+   * @throws ArgumentParserException        if parsing fails, e.g., if an option is missing its argument
+   * @see		CompiledParser#parse(Iterator, ParseHandler)
+   */
+  public void parse(Iterator<String> args, ParseHandler handler) throws com.github.fracpete.simpleargparse4j.ArgumentParserException {
+    m_HelpRequested.set(false);
+    compile().parse(args, trackHelp(handler));
+  }
+
+  /**
+   * Wraps the handler to record help requests for {@link #getHelpRequested()}.
+   *
+   * @param handler	the handler to wrap
+   * @return		the wrapped handler
+   */
+  protected ParseHandler trackHelp(final ParseHandler handler) {
+    return new ParseHandler() {
+      @Override
+      public void onOption(Option option, String rawValue) throws com.github.fracpete.simpleargparse4j.ArgumentParserException {
+	handler.onOption(option, rawValue);
+      }
+      @Override
+      public void onFlag(Option option) throws com.github.fracpete.simpleargparse4j.ArgumentParserException {
+	handler.onFlag(option);
+      }
+      @Override
+      public void onUnknown(String token) throws com.github.fracpete.simpleargparse4j.ArgumentParserException {
+	handler.onUnknown(token);
+      }
+      @Override
+      public void onHelp() throws com.github.fracpete.simpleargparse4j.ArgumentParserException {
+	m_HelpRequested.set(true);
+	handler.onHelp();
       }
+      @Override
+      public void onEnd() throws com.github.fracpete.simpleargparse4j.ArgumentParserException {
+	handler.onEnd();
+      }
+    };
+  }
+
+  /**
+   * Parses the options, collecting all problems (invalid values, a missing
+   * value, missing required options) rather than stopping at the first one.
+   *
+   * @param args	the options to parse
+   * @return		the parsed options and the problems encountered
+   * @see		CompiledParser#validate(String[])
+   */
+  public ParseResult validate(String[] args) {
+    ParseResult		result;
+
+    result = compile().validate(args);
+    m_HelpRequested.set(result.getNamespace().getHelpRequested());
+    return result;
+  }
+
+  /**
+   * Parses the options, checking the paths of all file-typed options
+   * concurrently and without blocking the calling thread.
+   *
+   * @param args	the options to parse
+   * @return		the future namespace, failing with an {@link ArgumentParserException} if parsing fails
+   * @see		CompiledParser#parseArgsAsync(String[])
+   */
+  public CompletableFuture<Namespace> parseArgsAsync(String[] args) {
+    return parseArgsAsync(args, FileChecks.getDefaultExecutor());
+  }
 
-      // defined option?
-      if (mapped.containsKey(args[i])) {
-        option = mapped.get(args[i]);
-        if (option.hasArgument()) {
-	  if (i == args.length - 1)
-	    throw new com.github.fracpete.simpleargparse4j.MissingArgumentException("No argument supplied: " + option.getFlag());
-	  if (!option.isValid(args[i+1]))
-	    throw new InvalidArgumentException(option.getFlag(), option.getType(), args[i+1]);
-	  if (option.isMultiple())
-	    result.addValue(option.getDest(), option.parse(args[i+1]));
-	  else
-	    result.setValue(option.getDest(), option.parse(args[i+1]));
-          if (remove) {
-	    args[i]   = "";
-	    args[i+1] = "";
-	    i++;
-	  }
-	}
-	else {
-          if (option.isMultiple())
-            result.addValue(option.getDest(), result.flipDefault(option.getDest()));
-          else
-	    result.setValue(option.getDest(), result.flipDefault(option.getDest()));
-          if (remove)
-            args[i] = "";
-	}
-	required.remove(option);
+  /**
+   * Parses the options, checking the paths of all file-typed options
+   * concurrently on the supplied executor.
+   *
+   * @param args	the options to parse
+   * @param executor	the executor for the checks
+   * @return		the future namespace, failing with an {@link ArgumentParserException} if parsing fails
+   * @see		CompiledParser#parseArgsAsync(String[], Executor)
+   */
+  public CompletableFuture<Namespace> parseArgsAsync(String[] args, Executor executor) {
+    CompletableFuture<Namespace>	result;
+
+    // help requests get detected on the calling thread, before any checks
+    m_HelpRequested.set(false);
+    result = compile().parseArgsAsync(args, executor);
+    if (result.isCompletedExceptionally()) {
+      try {
+        result.getNow(null);
+      }
+      catch (CompletionException e) {
+        if (e.getCause() instanceof com.github.fracpete.simpleargparse4j.HelpRequestedException)
+          m_HelpRequested.set(true);
       }
     }
+    return result;
+  }
 
-    // required options missing?
-    if (required.size() > 0) {
-      if (!noErrors)
-	throw new com.github.fracpete.simpleargparse4j.RequiredOptionMissingException(required);
-    }
+  /**
+   * Parses many commandlines in parallel using the common fork/join pool,
+   * collecting all problems per commandline.
+   *
+   * @param args	the commandlines to parse
+   * @return		the results, in the same order as the commandlines
+   * @see		CompiledParser#parseAll(List)
+   */
+  public List<ParseResult> parseAll(List<String[]> args) {
+    return compile().parseAll(args);
+  }
 
+  /**
+   * Parses many commandlines in parallel using the supplied executor,
+   * collecting all problems per commandline.
+   *
+   * @param args	the commandlines to parse
+   * @param executor	the executor to use
+   * @return		the results, in the same order as the commandlines
+   * @see		CompiledParser#parseAll(List, Executor)
+   */
+  public List<ParseResult> parseAll(List<String[]> args, Executor executor) {
+    return compile().parseAll(args, executor);
+  }
+
+  /**
+   * Freezes the currently defined options and settings into a parser with
+   * precomputed lookup structures. The compiled parser gets cached and
+   * reused by the parse methods until an option or a setting of this
+   * parser changes. Once an option changes, compiled parsers obtained
+   * earlier fail with an {@link IllegalStateException} rather than parse
+   * with outdated lookup structures.
+   *
+   * @return		the compiled parser
+   */
+  public CompiledParser compile() {
+    CompiledParser	result;
+
+    result = m_Compiled;
+    // the version gets recorded before compiling, i.e., a parser compiled
+    // while a setting changed is outdated and gets compiled again next time
+    if ((result == null) || (result.getVersion() != m_Version)) {
+      result     = new CompiledParser(this);
+      m_Compiled = result;
+    }
     return result;
   }
 
@@ -290,43 +754,174 @@ public class ArgumentParser
    */
   protected List<String> breakUp(String line, int max) {
     List<String>	result;
-    int[]		pos;
-    int			i;
-    int			index;
+    StringBuilder	wrapped;
+    int			start;
+    int			end;
+
+    result  = new ArrayList<>();
+    wrapped = new StringBuilder();
+    try {
+      breakUp(line, 0, line.length(), max, breakTable(), "", wrapped);
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException(e);  // cannot happen with a StringBuilder
+    }
+    start = 0;
+    while (start < wrapped.length()) {
+      end = wrapped.indexOf("\n", start);
+      result.add(wrapped.substring(start, end));
+      start = end + 1;
+    }
+
+    return result;
+  }
+
+  /**
+   * Generates the lookup table for the break characters.
+   *
+   * @return		the table, true at the position of a break character
+   * @see		#getBreakChars()
+   */
+  protected boolean[] breakTable() {
+    boolean[]	result;
+    int		size;
 
-    result = new ArrayList<>();
-    pos    = new int[m_BreakChars.length];
+    size = 0;
+    for (char c: m_BreakChars)
+      size = Math.max(size, c + 1);
+    result = new boolean[size];
+    for (char c: m_BreakChars)
+      result[c] = true;
 
+    return result;
+  }
+
+  /**
+   * Breaks up the lines of a text (separated by new lines) into lines that
+   * are no longer than the specified maximum length and appends them to
+   * the output. Trailing empty lines are ignored.
+   *
+   * @param text	the text to break up
+   * @param max		the maximum length
+   * @param breaks	the lookup table for the break characters
+   * @param prefix	the prefix for each line
+   * @param out		the output to append the lines to
+   * @throws IOException	if appending fails
+   * @see		#breakTable()
+   */
+  protected void breakUp(String text, int max, boolean[] breaks, String prefix, Appendable out) throws IOException {
+    int		start;
+    int		end;
+    int		textEnd;
+
+    if (text.isEmpty()) {
+      out.append(prefix).append('\n');
+      return;
+    }
+
+    textEnd = text.length();
+    while ((textEnd > 0) && (text.charAt(textEnd - 1) == '\n'))
+      textEnd--;
+    start = 0;
+    while (start < textEnd) {
+      end = text.indexOf('\n', start);
+      if ((end == -1) || (end > textEnd))
+        end = textEnd;
+      breakUp(text, start, end, max, breaks, prefix, out);
+      start = end + 1;
+    }
+  }
+
+  /**
+   * Breaks up a single line into multiple lines if longer than the specified
+   * maximum length and appends them to the output, scanning each character
+   * only once. The line is broken up after the right-most break character
+   * that still fits, otherwise at the maximum length. Apart from a line that
+   * fits as is, all lines get trimmed.
+   *
+   * @param line	the text containing the line
+   * @param start	the start of the line (incl)
+   * @param end		the end of the line (excl)
+   * @param max		the maximum length
+   * @param breaks	the lookup table for the break characters
+   * @param prefix	the prefix for each line
+   * @param out		the output to append the lines to
+   * @throws IOException	if appending fails
+   */
+  protected void breakUp(String line, int start, int end, int max, boolean[] breaks, String prefix, Appendable out) throws IOException {
+    int		scan;
+    int		lastBreak;
+    int		limit;
+    int		segEnd;
+    int		next;
+    char	c;
+
+    if (max < 1)
+      max = 1;
+
+    // fits as is?
+    if (end - start <= max) {
+      out.append(prefix).append(line, start, end).append('\n');
+      return;
+    }
+
+    // remainders get trimmed at the end
+    while ((end > start) && (line.charAt(end - 1) <= ' '))
+      end--;
+
+    // there are no break characters between the last break and the
+    // scan position, hence every character only needs checking once
+    scan = start + 1;
     do {
-      if (line.length() > max) {
-        for (i = 0; i < m_BreakChars.length; i++)
-          pos[i] = leftIndex(line, m_BreakChars[i], max);
-        index = 0;
-        for (i = 0; i < m_BreakChars.length; i++) {
-          if ((pos[i] > -1) && (pos[i] > index))
-            index = pos[i];
-	}
-	// soft-break?
-	if (index > 0) {
-          result.add(line.substring(0, index + 1).trim());
-          line = line.substring(index + 1).trim();
-	}
-	else {
-          result.add(line.substring(0, max).trim());
-          line = line.substring(max).trim();
-	}
+      limit     = start + max;
+      lastBreak = -1;
+      for (; scan <= limit; scan++) {
+        c = line.charAt(scan);
+        if ((c < breaks.length) && breaks[c])
+          lastBreak = scan;
+      }
+      if (lastBreak > -1) {
+        segEnd = lastBreak + 1;
+        next   = lastBreak + 1;
       }
       else {
-        result.add(line);
-        line = "";
+        segEnd = limit;
+        next   = limit;
       }
-    } while (line.length() > 0);
+      appendTrimmed(line, start, segEnd, prefix, out);
+      while ((next < end) && (line.charAt(next) <= ' '))
+        next++;
+      start = next;
+      if (scan <= start)
+        scan = start + 1;
+    }
+    while (end - start > max);
+    if (end > start)
+      out.append(prefix).append(line, start, end).append('\n');
+  }
 
-    return result;
+  /**
+   * Appends the trimmed segment as a line.
+   *
+   * @param line	the text containing the segment
+   * @param start	the start of the segment (incl)
+   * @param end		the end of the segment (excl)
+   * @param prefix	the prefix for the line
+   * @param out		the output to append the line to
+   * @throws IOException	if appending fails
+   */
+  protected void appendTrimmed(String line, int start, int end, String prefix, Appendable out) throws IOException {
+    while ((start < end) && (line.charAt(start) <= ' '))
+      start++;
+    while ((end > start) && (line.charAt(end - 1) <= ' '))
+      end--;
+    out.append(prefix).append(line, start, end).append('\n');
   }
 
   /**
-   * Generates and returns the help screen.
+   * Generates and returns the help screen. The description, usage and
+   * options sections get cached per screen width and break characters,
+   * until the options change.
    *
    * @param requested 	true if actually requested
    * @param desc	true if to output description
@@ -336,100 +931,252 @@ public class ArgumentParser
    */
   public String generateHelpScreen(boolean requested, boolean desc, boolean usage, boolean options) {
     StringBuilder	result;
-    int			width;
-    int			optwidth;
-    String[]		lines;
 
     result = new StringBuilder();
     if (requested) {
       result.append("Help requested");
       result.append("\n\n");
     }
+    if (desc)
+      result.append(getHelpSection(SECTION_DESCRIPTION));
+    if (usage)
+      result.append(getHelpSection(SECTION_USAGE));
+    if (options)
+      result.append(getHelpSection(SECTION_OPTIONS));
 
-    if (desc) {
-      lines = m_Description.split("\n");
-      for (String line : lines) {
-	for (String fitted: breakUp(line, m_ScreenWidth))
-	  result.append(fitted).append("\n");
-      }
-      result.append("\n\n");
+    return result.toString();
+  }
+
+  /**
+   * Outputs the help screen.
+   *
+   * @param out		the output to write the help screen to, eg a {@link Writer}
+   * @param requested 	true if actually requested
+   * @throws IOException	if writing fails
+   */
+  public void generateHelpScreen(Appendable out, boolean requested) throws IOException {
+    generateHelpScreen(out, requested, true, true, true);
+  }
+
+  /**
+   * Outputs the help screen. Sections that are cached get written as is,
+   * all others are generated line by line straight into the output, without
+   * assembling the help screen in memory first.
+   *
+   * @param out		the output to write the help screen to, eg a {@link Writer}
+   * @param requested 	true if actually requested
+   * @param desc	true if to output description
+   * @param usage	true if to output short usage section
+   * @param options	true if to output detailed options
+   * @throws IOException	if writing fails
+   */
+  public void generateHelpScreen(Appendable out, boolean requested, boolean desc, boolean usage, boolean options) throws IOException {
+    if (requested) {
+      out.append("Help requested");
+      out.append("\n\n");
     }
+    if (desc)
+      outputHelpSection(SECTION_DESCRIPTION, out);
+    if (usage)
+      outputHelpSection(SECTION_USAGE, out);
+    if (options)
+      outputHelpSection(SECTION_OPTIONS, out);
+  }
+
+  /**
+   * Returns the key for caching the specified help screen section.
+   *
+   * @param section	the section (SECTION_DESCRIPTION|SECTION_USAGE|SECTION_OPTIONS)
+   * @return		the key
+   */
+  protected String helpSectionKey(char section) {
+    return section + "/" + m_ScreenWidth + "/" + new String(m_BreakChars);
+  }
 
-    // short usage
-    if (usage) {
-      result.append("Usage: [--help]");
-      for (Option opt : m_Options) {
-	width = result.length() - result.lastIndexOf("\n");
-
-	// length of option string
-	optwidth = opt.getFlag().length();
-	if (opt.hasSecondFlag())
-	  optwidth += 2 + opt.getSecondFlag().length();  // comma+blank=2
-	if (!opt.isRequired())
-	  optwidth += 2;  // surrounding brackets
-	if (opt.hasArgument()) {
-	  if (opt.hasMetaVar())
-	    optwidth += 1 + opt.getMetaVar().length();
-	  else
-	    optwidth += 1 + opt.getDest().length();
-	}
-	if (opt.isMultiple())
-	  optwidth += 3;
-	if (width + optwidth + 1 > m_ScreenWidth)
-	  result.append("\n").append("      ");
-
-	// append option string
-	result.append(" ");
-	if (!opt.isRequired())
-	  result.append("[");
-	result.append(opt.getFlag());
-	if (opt.hasArgument()) {
-	  if (opt.hasMetaVar())
-	    result.append(" ").append(opt.getMetaVar().toUpperCase());
-	  else
-	    result.append(" ").append(opt.getDest().toUpperCase());
-	}
-	if (opt.isMultiple())
-	  result.append("...");
-	if (!opt.isRequired())
-	  result.append("]");
+  /**
+   * Outputs the specified help screen section, either from the cache or
+   * generated on the fly (without caching it).
+   *
+   * @param section	the section to output (SECTION_DESCRIPTION|SECTION_USAGE|SECTION_OPTIONS)
+   * @param out		the output to write the section to
+   * @throws IOException	if writing fails
+   */
+  protected void outputHelpSection(char section, Appendable out) throws IOException {
+    String	cached;
+
+    cached = m_HelpCache.get(helpSectionKey(section));
+    if (cached != null)
+      out.append(cached);
+    else
+      generateHelpSection(section, out);
+  }
+
+  /**
+   * Generates the specified help screen section.
+   *
+   * @param section	the section to generate (SECTION_DESCRIPTION|SECTION_USAGE|SECTION_OPTIONS)
+   * @param out		the output to write the section to
+   * @throws IOException	if writing fails
+   */
+  protected void generateHelpSection(char section, Appendable out) throws IOException {
+    switch (section) {
+      case SECTION_DESCRIPTION:
+	generateDescription(out);
+	break;
+      case SECTION_USAGE:
+	generateUsage(out);
+	break;
+      case SECTION_OPTIONS:
+	generateOptions(out);
+	break;
+      default:
+	throw new IllegalArgumentException("Unknown help section: " + section);
+    }
+  }
+
+  /**
+   * Returns the specified help screen section, either from the cache or
+   * freshly generated.
+   *
+   * @param section	the section to return (SECTION_DESCRIPTION|SECTION_USAGE|SECTION_OPTIONS)
+   * @return		the section
+   */
+  protected String getHelpSection(char section) {
+    String		key;
+    String		result;
+    StringBuilder	text;
+
+    key    = helpSectionKey(section);
+    result = m_HelpCache.get(key);
+    if (result == null) {
+      text = new StringBuilder();
+      try {
+	generateHelpSection(section, text);
       }
-      result.append("\n\n");
+      catch (IOException e) {
+	throw new UncheckedIOException(e);  // cannot happen with a StringBuilder
+      }
+      result = text.toString();
+      m_HelpCache.put(key, result);
     }
 
-    // help screen for options
-    if (options) {
-      result.append("Options:\n");
-      for (Option opt : m_Options) {
-	result.append(opt.getFlag());
-	if (opt.hasSecondFlag())
-	  result.append(", ").append(opt.getSecondFlag());
-	if (opt.hasArgument()) {
-	  if (opt.hasMetaVar())
-	    result.append(" ").append(opt.getMetaVar().toUpperCase());
-	  else
-	    result.append(" ").append(opt.getDest().toUpperCase());
-	}
-	result.append("\n");
-	lines = opt.getHelp().split("\n");
-	for (String line : lines) {
-	  for (String fitted: breakUp(line, m_ScreenWidth - TAB_WIDTH))
-	    result.append("\t").append(fitted).append("\n");
-	}
-	result.append("\n");
+    return result;
+  }
+
+  /**
+   * Generates the description section of the help screen.
+   *
+   * @param result	the output to add the section to
+   * @throws IOException	if writing fails
+   */
+  protected void generateDescription(Appendable result) throws IOException {
+    breakUp(m_Description, m_ScreenWidth, breakTable(), "", result);
+    result.append("\n\n");
+  }
+
+  /**
+   * Generates the short usage section of the help screen.
+   *
+   * @param result	the output to add the section to
+   * @throws IOException	if writing fails
+   */
+  protected void generateUsage(Appendable result) throws IOException {
+    int			width;
+    int			optwidth;
+    int			column;
+    StringBuilder	item;
+
+    item   = new StringBuilder();
+    column = 15;
+    result.append("Usage: [--help]");
+    for (Option opt : m_Options) {
+      width = column + 1;
+
+      // length of option string
+      optwidth = opt.getFlag().length();
+      if (opt.hasSecondFlag())
+	optwidth += 2 + opt.getSecondFlag().length();  // comma+blank=2
+      if (!opt.isRequired())
+	optwidth += 2;  // surrounding brackets
+      if (opt.hasArgument()) {
+	if (opt.hasMetaVar())
+	  optwidth += 1 + opt.getMetaVar().length();
+	else
+	  optwidth += 1 + opt.getDest().length();
+      }
+      if (opt.hasSeparator())
+	optwidth += 6;  // "[,...]"
+      else if (opt.isMultiple())
+	optwidth += 3;
+      if (width + optwidth + 1 > m_ScreenWidth) {
+	result.append("\n").append("      ");
+	column = 6;
+      }
+
+      // append option string
+      item.setLength(0);
+      item.append(" ");
+      if (!opt.isRequired())
+	item.append("[");
+      item.append(opt.getFlag());
+      if (opt.hasArgument()) {
+	if (opt.hasMetaVar())
+	  item.append(" ").append(opt.getMetaVar().toUpperCase());
+	else
+	  item.append(" ").append(opt.getDest().toUpperCase());
       }
+      if (opt.hasSeparator())
+	item.append("[").append(opt.getSeparator()).append("...]");
+      else if (opt.isMultiple())
+	item.append("...");
+      if (!opt.isRequired())
+	item.append("]");
+      result.append(item);
+      column += item.length();
     }
+    result.append("\n\n");
+  }
 
-    return result.toString();
+  /**
+   * Generates the detailed options section of the help screen.
+   *
+   * @param result	the output to add the section to
+   * @throws IOException	if writing fails
+   */
+  protected void generateOptions(Appendable result) throws IOException {
+    boolean[]		breaks;
+
+    breaks = breakTable();
+    result.append("Options:\n");
+    for (Option opt : m_Options) {
+      result.append(opt.getFlag());
+      if (opt.hasSecondFlag())
+	result.append(", ").append(opt.getSecondFlag());
+      if (opt.hasArgument()) {
+	if (opt.hasMetaVar())
+	  result.append(" ").append(opt.getMetaVar().toUpperCase());
+	else
+	  result.append(" ").append(opt.getDest().toUpperCase());
+      }
+      result.append("\n");
+      breakUp(opt.getHelp(), m_ScreenWidth - TAB_WIDTH, breaks, "\t", result);
+      result.append("\n");
+    }
   }
 
   /**
-   * Returns whether help got requested.
+   * Returns whether help got requested in the last parse made by the
+   * current thread, e.g., via {@link #parseArgs(String[], boolean, boolean)},
+   * {@link #validate(String[])}, {@link #parseArgsAsync(String[])} or
+   * {@link #parse(String[], ParseHandler)}. {@link #parseAll(List)} does
+   * not update it.
+   * Preferably use {@link Namespace#getHelpRequested()} or check for a
+   * {@link HelpRequestedException} instead.
    *
    * @return		true if help got requested
    */
   public boolean getHelpRequested() {
-    return m_HelpRequested;
+    return Boolean.TRUE.equals(m_HelpRequested.get());
   }
 
   /**
@@ -440,12 +1187,33 @@ public class ArgumentParser
    */
   public void handleError(com.github.fracpete.simpleargparse4j.ArgumentParserException e) {
     if (e instanceof com.github.fracpete.simpleargparse4j.HelpRequestedException) {
-      System.out.println(generateHelpScreen(true));
+      printHelpScreen(System.out, true);
       return;
     }
 
     System.err.println(e.toString());
     e.printStackTrace();
-    System.err.println(generateHelpScreen(false));
+    printHelpScreen(System.err, false);
+  }
+
+  /**
+   * Prints the help screen, followed by a line separator. Sections are
+   * streamed via a buffered writer instead of being assembled in memory.
+   *
+   * @param stream	the stream to print to
+   * @param requested	true if actually requested
+   */
+  protected void printHelpScreen(PrintStream stream, boolean requested) {
+    Writer	writer;
+
+    writer = new BufferedWriter(new OutputStreamWriter(stream));
+    try {
+      generateHelpScreen(writer, requested);
+      writer.write(System.lineSeparator());
+      writer.flush();
+    }
+    catch (IOException ex) {
+      // a PrintStream only records errors, see PrintStream.checkError()
+    }
   }
 }
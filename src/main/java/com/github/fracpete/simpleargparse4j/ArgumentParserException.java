@@ -21,4 +21,25 @@ public abstract class ArgumentParserException
   public ArgumentParserException(String reason) {
     super(reason);
   }
+
+  /**
+   * Initializes the exception.
+   *
+   * @param reason	the reason
+   * @param cause	the underlying cause
+   */
+  public ArgumentParserException(String reason, Throwable cause) {
+    super(reason, cause);
+  }
+
+  /**
+   * Initializes the exception.
+   *
+   * @param reason	the reason
+   * @param stackTrace	whether to fill in the stack trace, creating the
+   *                    exception is considerably cheaper without
+   */
+  public ArgumentParserException(String reason, boolean stackTrace) {
+    super(reason, null, stackTrace, stackTrace);
+  }
 }
@@ -0,0 +1,45 @@
+/*
+ * BooleanOption.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j;
+
+/**
+ * Flag whose value is retrieved via {@link Namespace#get(BooleanOption)}.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+public class BooleanOption
+  extends TypedOption {
+
+  /**
+   * Initializes the option.
+   *
+   * @param flag	the flag (eg "-X" or "--XXX")
+   */
+  public BooleanOption(String flag) {
+    this(flag, null);
+  }
+
+  /**
+   * Initializes the option.
+   *
+   * @param flag	the flag (eg "-X" or "--XXX")
+   * @param secondFlag 	the second flag (eg a long version "--XXX")
+   */
+  public BooleanOption(String flag, String secondFlag) {
+    super(flag, secondFlag, Type.BOOLEAN, false);
+  }
+
+  /**
+   * Returns whether the type is supported by this option.
+   *
+   * @param type	the type to check
+   * @return		true if supported
+   */
+  @Override
+  protected boolean isCompatible(Type type) {
+    return (type == Type.BOOLEAN);
+  }
+}
@@ -0,0 +1,238 @@
+/*
+ * ByteArgumentCursor.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+
+/**
+ * Steps through NUL-separated arguments in a byte buffer or read from a
+ * channel, the format of /proc/&lt;pid&gt;/cmdline, "find -print0" or
+ * "xargs -0". Tokens are only exposed as byte ranges, decoding them into
+ * strings is up to the caller (see {@link #token()}). A trailing NUL is
+ * optional. The channel gets read in chunks, with tokens that span
+ * chunks moved to the start of the buffer (which grows if necessary).
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+public class ByteArgumentCursor {
+
+  /** the default buffer size when reading from a channel. */
+  public final static int DEFAULT_BUFFER_SIZE = 8192;
+
+  /** the buffer with the arguments. */
+  protected ByteBuffer m_Buffer;
+
+  /** the channel to read from, null if from a buffer. */
+  protected ReadableByteChannel m_Channel;
+
+  /** whether the end of the channel was reached. */
+  protected boolean m_EOF;
+
+  /** the charset to decode the tokens with. */
+  protected Charset m_Charset;
+
+  /** the position in the buffer. */
+  protected int m_Pos;
+
+  /** the index of the first byte of the current token. */
+  protected int m_Start;
+
+  /** the index after the last byte of the current token. */
+  protected int m_End;
+
+  /** for decoding tokens from buffers without backing array. */
+  protected byte[] m_Scratch;
+
+  /**
+   * Initializes the cursor with the remaining bytes of the buffer. The
+   * position of the buffer does not get changed.
+   *
+   * @param buffer	the buffer with the arguments
+   * @param charset	the charset to decode the tokens with
+   */
+  public ByteArgumentCursor(ByteBuffer buffer, Charset charset) {
+    m_Buffer  = buffer;
+    m_Charset = charset;
+    m_Pos     = buffer.position();
+    m_EOF     = true;
+  }
+
+  /**
+   * Initializes the cursor with a channel to read from. The channel does
+   * not get closed.
+   *
+   * @param channel	the channel to read the arguments from
+   * @param charset	the charset to decode the tokens with
+   * @param bufferSize	the initial size of the buffer
+   */
+  public ByteArgumentCursor(ReadableByteChannel channel, Charset charset, int bufferSize) {
+    m_Channel = channel;
+    m_Charset = charset;
+    m_Buffer  = ByteBuffer.allocate(Math.max(1, bufferSize));
+    m_Buffer.limit(0);
+    m_Pos     = 0;
+  }
+
+  /**
+   * Returns the charset for decoding the tokens.
+   *
+   * @return		the charset
+   */
+  public Charset getCharset() {
+    return m_Charset;
+  }
+
+  /**
+   * Reads more bytes from the channel, keeping the bytes of the current
+   * (incomplete) token.
+   *
+   * @return		false if the end of the channel was reached
+   * @throws IOException	if reading fails
+   */
+  protected boolean fill() throws IOException {
+    ByteBuffer	larger;
+    int		read;
+
+    m_Buffer.position(m_Pos);
+    m_Buffer.compact();
+    if (!m_Buffer.hasRemaining()) {
+      larger = ByteBuffer.allocate(m_Buffer.capacity() * 2);
+      m_Buffer.flip();
+      larger.put(m_Buffer);
+      m_Buffer = larger;
+    }
+    m_Pos = 0;
+    read  = m_Channel.read(m_Buffer);
+    m_Buffer.flip();
+    if (read == -1)
+      m_EOF = true;
+    return !m_EOF;
+  }
+
+  /**
+   * Locates the next NUL in the buffer.
+   *
+   * @param from	the index to start from
+   * @return		the index of the NUL, -1 if none before the limit
+   */
+  protected int indexOfNul(int from) {
+    byte[]	array;
+    int		offset;
+    int		i;
+
+    if (m_Buffer.hasArray()) {
+      array  = m_Buffer.array();
+      offset = m_Buffer.arrayOffset();
+      for (i = from + offset; i < m_Buffer.limit() + offset; i++) {
+        if (array[i] == 0)
+          return i - offset;
+      }
+    }
+    else {
+      for (i = from; i < m_Buffer.limit(); i++) {
+        if (m_Buffer.get(i) == 0)
+          return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Moves on to the next token.
+   *
+   * @return		true if there was another token, false if the end was reached
+   * @throws IOException	if reading from the channel fails
+   */
+  public boolean next() throws IOException {
+    int		i;
+    int		scanned;
+
+    scanned = 0;
+    while (true) {
+      i = indexOfNul(m_Pos + scanned);
+      if (i > -1) {
+        m_Start = m_Pos;
+        m_End   = i;
+        m_Pos   = i + 1;
+        return true;
+      }
+      if (m_EOF)
+        break;
+      scanned = m_Buffer.limit() - m_Pos;
+      fill();
+    }
+
+    // last token without trailing NUL
+    if (m_Pos < m_Buffer.limit()) {
+      m_Start = m_Pos;
+      m_End   = m_Buffer.limit();
+      m_Pos   = m_End;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Returns the buffer with the current token.
+   *
+   * @return		the buffer
+   * @see		#start()
+   * @see		#end()
+   */
+  public ByteBuffer buffer() {
+    return m_Buffer;
+  }
+
+  /**
+   * Returns the index of the first byte of the current token.
+   *
+   * @return		the index
+   */
+  public int start() {
+    return m_Start;
+  }
+
+  /**
+   * Returns the index after the last byte of the current token.
+   *
+   * @return		the index
+   */
+  public int end() {
+    return m_End;
+  }
+
+  /**
+   * Checks whether the current token consists of the bytes.
+   *
+   * @param bytes	the bytes to compare with
+   * @return		true if the same
+   */
+  public boolean matches(byte[] bytes) {
+    return ByteFlagTable.equals(bytes, m_Buffer, m_Start, m_End);
+  }
+
+  /**
+   * Decodes the current token.
+   *
+   * @return		the token
+   */
+  public String token() {
+    int		length;
+    int		i;
+
+    length = m_End - m_Start;
+    if (m_Buffer.hasArray())
+      return new String(m_Buffer.array(), m_Buffer.arrayOffset() + m_Start, length, m_Charset);
+    if ((m_Scratch == null) || (m_Scratch.length < length))
+      m_Scratch = new byte[Math.max(length, 64)];
+    for (i = 0; i < length; i++)
+      m_Scratch[i] = m_Buffer.get(m_Start + i);
+    return new String(m_Scratch, 0, length, m_Charset);
+  }
+}
@@ -0,0 +1,170 @@
+/*
+ * ByteFlagTable.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.List;
+
+/**
+ * Immutable lookup table that maps the encoded bytes of commandline flags
+ * to the position of their option, for matching tokens in a byte buffer
+ * without decoding them. Uses open addressing with linear probing, like
+ * {@link FlagTable}.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+public class ByteFlagTable {
+
+  /** the charset the flags are encoded with. */
+  protected final Charset m_Charset;
+
+  /** the encoded flags (null for empty buckets). */
+  protected final byte[][] m_Keys;
+
+  /** the option positions. */
+  protected final int[] m_Values;
+
+  /** the mask for the bucket index. */
+  protected final int m_Mask;
+
+  /** the encoded help flag. */
+  protected final byte[] m_Help;
+
+  /** the lengths of the flags (bit n set for length n, bit 63 for 63 or longer). */
+  protected long m_Lengths;
+
+  /**
+   * Initializes the table with the flags of the options. If a flag is used
+   * by multiple options, the last one wins.
+   *
+   * @param options	the options to index
+   * @param charset	the charset to encode the flags with
+   */
+  public ByteFlagTable(List<Option> options, Charset charset) {
+    int		capacity;
+    int		i;
+
+    capacity = 4;
+    while (capacity < options.size() * 4)
+      capacity *= 2;
+
+    m_Charset = charset;
+    m_Keys    = new byte[capacity][];
+    m_Values  = new int[capacity];
+    m_Mask    = capacity - 1;
+    m_Help    = "--help".getBytes(charset);
+
+    for (i = 0; i < options.size(); i++) {
+      put(options.get(i).getFlag().getBytes(charset), i);
+      if (options.get(i).hasSecondFlag())
+        put(options.get(i).getSecondFlag().getBytes(charset), i);
+    }
+  }
+
+  /**
+   * Returns the charset the flags are encoded with.
+   *
+   * @return		the charset
+   */
+  public Charset getCharset() {
+    return m_Charset;
+  }
+
+  /**
+   * Returns the encoded help flag.
+   *
+   * @return		the bytes
+   */
+  public byte[] getHelp() {
+    return m_Help;
+  }
+
+  /**
+   * Computes the hashcode of the bytes.
+   *
+   * @param buffer	the buffer with the bytes
+   * @param start	the index of the first byte
+   * @param end		the index after the last byte
+   * @return		the hashcode
+   */
+  protected static int hash(ByteBuffer buffer, int start, int end) {
+    int		result;
+    int		i;
+
+    result = 1;
+    for (i = start; i < end; i++)
+      result = 31 * result + buffer.get(i);
+    return result ^ (result >>> 16);
+  }
+
+  /**
+   * Stores the flag/position pair.
+   *
+   * @param flag	the encoded flag
+   * @param pos		the position of the option
+   */
+  protected void put(byte[] flag, int pos) {
+    ByteBuffer	buffer;
+    int		index;
+
+    m_Lengths |= 1L << Math.min(flag.length, 63);
+    buffer = ByteBuffer.wrap(flag);
+    index  = hash(buffer, 0, flag.length) & m_Mask;
+    while ((m_Keys[index] != null) && !equals(m_Keys[index], buffer, 0, flag.length))
+      index = (index + 1) & m_Mask;
+    m_Keys[index]   = flag;
+    m_Values[index] = pos;
+  }
+
+  /**
+   * Checks whether the bytes in the buffer are the same as the key.
+   *
+   * @param key		the encoded flag
+   * @param buffer	the buffer with the bytes
+   * @param start	the index of the first byte
+   * @param end		the index after the last byte
+   * @return		true if the same
+   */
+  public static boolean equals(byte[] key, ByteBuffer buffer, int start, int end) {
+    int		i;
+
+    if (key.length != end - start)
+      return false;
+    for (i = 0; i < key.length; i++) {
+      if (key[i] != buffer.get(start + i))
+        return false;
+    }
+    return true;
+  }
+
+  /**
+   * Returns the position of the option associated with the encoded flag.
+   * Tokens whose length doesn't match any flag are rejected without
+   * looking at their bytes.
+   *
+   * @param buffer	the buffer with the token
+   * @param start	the index of the first byte of the token
+   * @param end		the index after the last byte of the token
+   * @return		the position, -1 if not a known flag
+   */
+  public int get(ByteBuffer buffer, int start, int end) {
+    int		index;
+    byte[]	key;
+
+    if ((m_Lengths & (1L << Math.min(end - start, 63))) == 0)
+      return -1;
+
+    index = hash(buffer, start, end) & m_Mask;
+    while ((key = m_Keys[index]) != null) {
+      if (equals(key, buffer, start, end))
+        return m_Values[index];
+      index = (index + 1) & m_Mask;
+    }
+
+    return -1;
+  }
+}
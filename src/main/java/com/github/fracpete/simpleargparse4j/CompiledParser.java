@@ -0,0 +1,753 @@
+/*
+ * CompiledParser.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * Immutable snapshot of the options and settings of an
+ * {@link ArgumentParser}, with all the lookup structures for parsing
+ * precomputed. Use this when the same set of options is used for parsing
+ * over and over again.
+ * <br>
+ * Obtained via {@link ArgumentParser#compile()}. The settings of the parser
+ * get copied, later changes to them are not reflected. The options
+ * themselves are shared with the parser (they are identified by identity,
+ * e.g., {@link Namespace#get(IntOption)}). Once an option gets added to or
+ * modified in the parser, this compiled parser is outdated and fails with
+ * an {@link IllegalStateException} rather than parse with lookup
+ * structures that no longer match the options. Compile again instead,
+ * which {@link ArgumentParser} does automatically for its own parse
+ * methods.
+ * <br>
+ * A compiled parser can be used from multiple threads at once: all state
+ * of a parse is kept in the returned {@link Namespace}. Modifying options
+ * concurrently with parsing is not supported.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+public class CompiledParser
+  implements Serializable {
+
+  /** the parser that got compiled. */
+  protected final ArgumentParser m_Parser;
+
+  /** the version of the parser at compile time (options and settings). */
+  protected final int m_Version;
+
+  /** the version of the options of the parser at compile time. */
+  protected final int m_OptionsVersion;
+
+  /** the options. */
+  protected final List<Option> m_Options;
+
+  /** the layout for the namespaces. */
+  protected final NamespaceLayout m_Layout;
+
+  /** for looking up options via their flags. */
+  protected final FlagTable m_Flags;
+
+  /** the slots with at least one required option (options sharing a destination count as one). */
+  protected final BitSet m_Required;
+
+  /** the first required option of each slot (null if none). */
+  protected final Option[] m_RequiredOptions;
+
+  /** the number of slots with required options. */
+  protected final int m_NumRequired;
+
+  /** whether to fill in stack traces of parse exceptions. */
+  protected final boolean m_StackTraces;
+
+  /** whether to expand argument files (@file). */
+  protected final boolean m_ArgFiles;
+
+  /** whether to convert values lazily. */
+  protected final boolean m_Lazy;
+
+  /** whether to check the paths of multi-valued file options in parallel. */
+  protected final boolean m_ParallelFileChecks;
+
+  /** the timeout in msec for checking a path when parsing asynchronously (0 = none). */
+  protected final long m_FileCheckTimeout;
+
+  /** whether to accept combined short flags, "-Xvalue" and "--name=value". */
+  protected final boolean m_CompactSyntax;
+
+  /** for looking up options via their encoded flags (built on demand). */
+  protected transient volatile ByteFlagTable m_ByteFlags;
+
+  /** whether handlers make use of unknown tokens, i.e., override {@link ParseHandler#onUnknown(String)}. */
+  protected final static ClassValue<Boolean> HANDLES_UNKNOWN = new ClassValue<Boolean>() {
+    @Override
+    protected Boolean computeValue(Class<?> type) {
+      try {
+	return (type.getMethod("onUnknown", String.class).getDeclaringClass() != ParseHandler.class);
+      }
+      catch (NoSuchMethodException e) {
+	return true;
+      }
+    }
+  };
+
+  /**
+   * Initializes the compiled parser with the options of the parser.
+   *
+   * @param parser	the parser to compile
+   */
+  public CompiledParser(ArgumentParser parser) {
+    int		slot;
+    int		i;
+
+    // record the versions first, changes while compiling make this parser outdated
+    m_Parser         = parser;
+    m_Version        = parser.m_Version;
+    m_OptionsVersion = parser.m_OptionsVersion;
+    m_Options     = Collections.unmodifiableList(new ArrayList<>(parser.getOptions()));
+    m_Layout      = new NamespaceLayout(m_Options);
+    m_Flags       = new FlagTable(m_Options);
+    m_Required    = new BitSet(m_Layout.size());
+    m_RequiredOptions = new Option[m_Layout.size()];
+    for (i = 0; i < m_Options.size(); i++) {
+      slot = m_Layout.getSlotForOption(i);
+      if (m_Options.get(i).isRequired() && !m_Required.get(slot)) {
+        m_Required.set(slot);
+        m_RequiredOptions[slot] = m_Options.get(i);
+      }
+    }
+    m_NumRequired = m_Required.cardinality();
+    m_StackTraces = parser.getStackTraces();
+    m_ArgFiles    = parser.getArgFiles();
+    m_Lazy        = parser.getLazy();
+    m_ParallelFileChecks = parser.getParallelFileChecks();
+    m_FileCheckTimeout   = parser.getFileCheckTimeout();
+    m_CompactSyntax      = parser.getCompactSyntax();
+  }
+
+  /**
+   * Returns the version of the parser (options and settings) that got
+   * compiled.
+   *
+   * @return		the version
+   */
+  public int getVersion() {
+    return m_Version;
+  }
+
+  /**
+   * Returns whether options of the parser got added or modified since
+   * compiling.
+   *
+   * @return		true if outdated
+   */
+  public boolean isOutdated() {
+    return (m_Parser.m_OptionsVersion != m_OptionsVersion);
+  }
+
+  /**
+   * Ensures that the options haven't changed since compiling.
+   *
+   * @throws IllegalStateException	if options got added or modified
+   */
+  protected void checkOutdated() {
+    if (isOutdated())
+      throw new IllegalStateException("Options of the parser changed after compiling, compile again!");
+  }
+
+  /**
+   * Returns all options.
+   *
+   * @return		the options (read-only)
+   */
+  public List<Option> getOptions() {
+    return m_Options;
+  }
+
+  /**
+   * Returns the layout used for the namespaces.
+   *
+   * @return		the layout
+   */
+  public NamespaceLayout getLayout() {
+    return m_Layout;
+  }
+
+  /**
+   * Parses the options and returns the parsed associations.
+   * Does not remove options from the supplied array.
+   *
+   * @param args	the options to parse
+   * @return		the parsed options
+   * @throws ArgumentParserException        if parsing fails, e.g., if options not supplied
+   */
+  public Namespace parseArgs(String[] args) throws ArgumentParserException {
+    return parseArgs(args, false);
+  }
+
+  /**
+   * Parses the options and returns the parsed associations.
+   *
+   * @param args	the options to parse
+   * @param remove	true if to remove parsed options from the array
+   * @return		the parsed options
+   * @throws ArgumentParserException        if parsing fails, e.g., if options not supplied
+   */
+  public Namespace parseArgs(String[] args, boolean remove) throws ArgumentParserException {
+    return parseArgs(args, remove, false);
+  }
+
+  /**
+   * Parses the options and returns the parsed associations.
+   * If enabled, argument files get expanded, but never removed.
+   *
+   * @param args	the options to parse
+   * @param remove	true if to remove parsed options from the array
+   * @param noErrors 	if enabled, no exceptions are thrown
+   * @return		the parsed options
+   * @throws ArgumentParserException        if parsing fails, e.g., if options not supplied
+   * @see		ArgumentParser#argFiles(boolean)
+   */
+  public Namespace parseArgs(String[] args, boolean remove, boolean noErrors) throws ArgumentParserException {
+    return parse(new ArgumentCursor(args, m_ArgFiles), remove ? args : null, noErrors);
+  }
+
+  /**
+   * Parses the options and returns the parsed associations. The tokens
+   * are consumed one at a time, with a lookahead of one token for option
+   * values, and are not retained.
+   *
+   * @param args	the options to parse
+   * @return		the parsed options
+   * @throws ArgumentParserException        if parsing fails, e.g., if options not supplied
+   */
+  public Namespace parseArgs(Iterator<String> args) throws ArgumentParserException {
+    return parseArgs(args, false);
+  }
+
+  /**
+   * Parses the options and returns the parsed associations. The tokens
+   * are consumed one at a time, with a lookahead of one token for option
+   * values, and are not retained.
+   *
+   * @param args	the options to parse
+   * @param noErrors 	if enabled, no exceptions are thrown
+   * @return		the parsed options
+   * @throws ArgumentParserException        if parsing fails, e.g., if options not supplied
+   */
+  public Namespace parseArgs(Iterator<String> args, boolean noErrors) throws ArgumentParserException {
+    return parse(new ArgumentCursor(args, m_ArgFiles), null, noErrors);
+  }
+
+  /**
+   * Parses the options and returns the parsed associations. The tokens
+   * are consumed one at a time. Closing the stream is up to the caller.
+   *
+   * @param args	the options to parse
+   * @return		the parsed options
+   * @throws ArgumentParserException        if parsing fails, e.g., if options not supplied
+   * @see		#parseArgs(Iterator)
+   */
+  public Namespace parseArgs(Stream<String> args) throws ArgumentParserException {
+    return parseArgs(args.iterator());
+  }
+
+  /**
+   * Parses the NUL-separated options in the buffer (e.g., the content of
+   * /proc/&lt;pid&gt;/cmdline), decoded with the platform's default charset.
+   * See {@link #parseArgs(ByteBuffer, Charset)}.
+   *
+   * @param args	the options to parse
+   * @return		the parsed options
+   * @throws ArgumentParserException        if parsing fails, e.g., if options not supplied
+   */
+  public Namespace parseArgs(ByteBuffer args) throws ArgumentParserException {
+    return parseArgs(args, Charset.defaultCharset());
+  }
+
+  /**
+   * Parses the NUL-separated options in the buffer. Flags are matched
+   * against their encoded bytes, only option values get decoded into
+   * strings. Argument files are not expanded. The position of the buffer
+   * does not get changed.
+   *
+   * @param args	the options to parse
+   * @param charset	the charset of the options
+   * @return		the parsed options
+   * @throws ArgumentParserException        if parsing fails, e.g., if options not supplied
+   */
+  public Namespace parseArgs(ByteBuffer args, Charset charset) throws ArgumentParserException {
+    NamespaceBuilder	builder;
+
+    builder = new NamespaceBuilder(this, false);
+    parse(args, charset, builder);
+    return builder.getNamespace();
+  }
+
+  /**
+   * Parses the NUL-separated options read from the channel, decoded with
+   * the platform's default charset. See {@link #parseArgs(ByteBuffer, Charset)}.
+   *
+   * @param args	the channel to read the options from, does not get closed
+   * @return		the parsed options
+   * @throws ArgumentParserException        if parsing fails, e.g., if options not supplied
+   * @throws IOException	if reading from the channel fails
+   */
+  public Namespace parseArgs(ReadableByteChannel args) throws ArgumentParserException, IOException {
+    return parseArgs(args, Charset.defaultCharset());
+  }
+
+  /**
+   * Parses the NUL-separated options read from the channel. The channel
+   * gets read in chunks, see {@link #parseArgs(ByteBuffer, Charset)}.
+   *
+   * @param args	the channel to read the options from, does not get closed
+   * @param charset	the charset of the options
+   * @return		the parsed options
+   * @throws ArgumentParserException        if parsing fails, e.g., if options not supplied
+   * @throws IOException	if reading from the channel fails
+   */
+  public Namespace parseArgs(ReadableByteChannel args, Charset charset) throws ArgumentParserException, IOException {
+    NamespaceBuilder	builder;
+
+    builder = new NamespaceBuilder(this, false);
+    parse(new ByteArgumentCursor(args, charset, ByteArgumentCursor.DEFAULT_BUFFER_SIZE), builder);
+    return builder.getNamespace();
+  }
+
+  /**
+   * Parses the options, collecting all problems (invalid values, a missing
+   * value, missing required options) rather than stopping at the first one.
+   * Help requests are not considered problems.
+   *
+   * @param args	the options to parse
+   * @return		the parsed options and the problems encountered
+   */
+  public ParseResult validate(String[] args) {
+    return validate(new ArgumentCursor(args, m_ArgFiles));
+  }
+
+  /**
+   * Parses the options, collecting all problems (invalid values, a missing
+   * value, missing required options) rather than stopping at the first one.
+   * Help requests are not considered problems.
+   *
+   * @param args	the options to parse
+   * @return		the parsed options and the problems encountered
+   */
+  public ParseResult validate(Iterator<String> args) {
+    return validate(new ArgumentCursor(args, m_ArgFiles));
+  }
+
+  /**
+   * Parses the options, checking the paths of all file-typed options
+   * concurrently and without blocking the calling thread. The checks run
+   * on virtual threads if available, otherwise on a bounded pool (see
+   * {@link FileChecks#getDefaultExecutor()}).
+   *
+   * @param args	the options to parse
+   * @return		the future namespace, failing with an {@link ArgumentParserException} if parsing fails
+   * @see		ArgumentParser#fileCheckTimeout(long)
+   */
+  public CompletableFuture<Namespace> parseArgsAsync(String[] args) {
+    return parseArgsAsync(args, FileChecks.getDefaultExecutor());
+  }
+
+  /**
+   * Parses the options, checking the paths of all file-typed options
+   * concurrently on the supplied executor. All other values get parsed on
+   * the calling thread. Checks exceeding the timeout fail the parse with a
+   * {@link FileCheckTimeoutException}.
+   *
+   * @param args	the options to parse
+   * @param executor	the executor for the checks
+   * @return		the future namespace, failing with an {@link ArgumentParserException} if parsing fails
+   * @see		ArgumentParser#fileCheckTimeout(long)
+   */
+  public CompletableFuture<Namespace> parseArgsAsync(String[] args, Executor executor) {
+    NamespaceBuilder			builder;
+    CompletableFuture<Namespace>	result;
+
+    builder = new NamespaceBuilder(this, false);
+    builder.deferFileChecks();
+    try {
+      parse(new ArgumentCursor(args, m_ArgFiles), null, builder);
+    }
+    catch (ArgumentParserException e) {
+      result = new CompletableFuture<>();
+      result.completeExceptionally(e);
+      return result;
+    }
+    return builder.finishAsync(executor, m_FileCheckTimeout);
+  }
+
+  /**
+   * Parses many commandlines in parallel using the common fork/join pool,
+   * collecting all problems per commandline (see {@link #validate(String[])}).
+   *
+   * @param args	the commandlines to parse
+   * @return		the results, in the same order as the commandlines
+   */
+  public List<ParseResult> parseAll(List<String[]> args) {
+    return parseAll(args, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Parses many commandlines in parallel using the supplied executor,
+   * collecting all problems per commandline (see {@link #validate(String[])}).
+   * The commandlines get split into consecutive batches, a few per
+   * available processor, which get parsed as separate tasks.
+   *
+   * @param args	the commandlines to parse
+   * @param executor	the executor to run the batches with
+   * @return		the results, in the same order as the commandlines
+   */
+  public List<ParseResult> parseAll(final List<String[]> args, Executor executor) {
+    final ParseResult[]		result;
+    CompletableFuture<?>[]	batches;
+    int				numBatches;
+    int				i;
+
+    result     = new ParseResult[args.size()];
+    numBatches = Math.min(args.size(), Runtime.getRuntime().availableProcessors() * 4);
+    batches    = new CompletableFuture<?>[numBatches];
+    for (i = 0; i < numBatches; i++) {
+      final int from = (int) ((long) args.size() * i / numBatches);
+      final int to   = (int) ((long) args.size() * (i + 1) / numBatches);
+      batches[i] = CompletableFuture.runAsync(new Runnable() {
+	@Override
+	public void run() {
+	  for (int n = from; n < to; n++)
+	    result[n] = validate(args.get(n));
+	}
+      }, executor);
+    }
+
+    try {
+      CompletableFuture.allOf(batches).join();
+    }
+    catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException)
+        throw (RuntimeException) e.getCause();
+      if (e.getCause() instanceof Error)
+        throw (Error) e.getCause();
+      throw e;
+    }
+
+    return Arrays.asList(result);
+  }
+
+  /**
+   * Parses the options supplied by the cursor, collecting all problems.
+   * Problems that end the parse (a missing value, an unreadable argument
+   * file) still get the required options checked.
+   *
+   * @param cursor	the cursor supplying the options
+   * @return		the parsed options and the problems encountered
+   */
+  protected ParseResult validate(ArgumentCursor cursor) {
+    NamespaceBuilder			builder;
+    List<ArgumentParserException>	errors;
+
+    errors  = new ArrayList<>();
+    builder = new NamespaceBuilder(this, errors);
+    try {
+      parse(cursor, null, builder);
+    }
+    catch (ArgumentParserException e) {
+      builder.aborted(e);
+    }
+    return new ParseResult(this, builder.getNamespace(), builder.getSupplied(), errors);
+  }
+
+  /**
+   * Parses the options supplied by the cursor and returns the parsed
+   * associations.
+   *
+   * @param cursor	the cursor supplying the options
+   * @param remove	the array to remove the parsed options from, null if not to remove
+   * @param noErrors 	if enabled, no exceptions are thrown
+   * @return		the parsed options
+   * @throws ArgumentParserException        if parsing fails, e.g., if options not supplied
+   */
+  protected Namespace parse(ArgumentCursor cursor, String[] remove, boolean noErrors) throws ArgumentParserException {
+    NamespaceBuilder	builder;
+
+    builder = new NamespaceBuilder(this, noErrors);
+    parse(cursor, remove, builder);
+    return builder.getNamespace();
+  }
+
+  /**
+   * Parses the options in a single pass, notifying the handler about each
+   * option as it occurs, without assembling a {@link Namespace}.
+   *
+   * @param args	the options to parse
+   * @param handler	the handler to notify
+   * @throws ArgumentParserException        if parsing fails, e.g., if an option is missing its argument
+   */
+  public void parse(String[] args, ParseHandler handler) throws ArgumentParserException {
+    parse(new ArgumentCursor(args, m_ArgFiles), null, handler);
+  }
+
+  /**
+   * Parses the options in a single pass, notifying the handler about each
+   * option as it occurs, without assembling a {@link Namespace}.
+   *
+   * @param args	the options to parse
+   * @param handler	the handler to notify
+   * @throws ArgumentParserException        if parsing fails, e.g., if an option is missing its argument
+   */
+  public void parse(Iterator<String> args, ParseHandler handler) throws ArgumentParserException {
+    parse(new ArgumentCursor(args, m_ArgFiles), null, handler);
+  }
+
+  /**
+   * Parses the NUL-separated options in the buffer in a single pass,
+   * notifying the handler. Unknown tokens only get decoded if the handler
+   * overrides {@link ParseHandler#onUnknown(String)}.
+   *
+   * @param args	the options to parse
+   * @param charset	the charset of the options
+   * @param handler	the handler to notify
+   * @throws ArgumentParserException        if parsing fails, e.g., if an option is missing its argument
+   */
+  public void parse(ByteBuffer args, Charset charset, ParseHandler handler) throws ArgumentParserException {
+    try {
+      parse(new ByteArgumentCursor(args, charset), handler);
+    }
+    catch (IOException e) {
+      // cannot happen, no channel involved
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Returns the table for looking up options via their encoded flags.
+   *
+   * @param charset	the charset of the flags
+   * @return		the table
+   */
+  protected ByteFlagTable byteFlags(Charset charset) {
+    ByteFlagTable	result;
+
+    result = m_ByteFlags;
+    if ((result == null) || !result.getCharset().equals(charset)) {
+      result      = new ByteFlagTable(m_Options, charset);
+      m_ByteFlags = result;
+    }
+    return result;
+  }
+
+  /**
+   * Parses the NUL-separated options supplied by the cursor, notifying the
+   * handler.
+   *
+   * @param cursor	the cursor supplying the options
+   * @param handler	the handler to notify
+   * @throws ArgumentParserException        if parsing fails, e.g., if an option is missing its argument
+   * @throws IOException	if reading the options fails
+   */
+  public void parse(ByteArgumentCursor cursor, ParseHandler handler) throws ArgumentParserException, IOException {
+    ByteFlagTable	flags;
+    boolean		unknown;
+    boolean		help;
+    int			pos;
+    Option		option;
+
+    checkOutdated();
+    flags   = byteFlags(cursor.getCharset());
+    unknown = HANDLES_UNKNOWN.get(handler.getClass());
+    while (cursor.next()) {
+      // help?
+      help = cursor.matches(flags.getHelp());
+      if (help)
+        handler.onHelp();
+
+      // defined option?
+      pos = flags.get(cursor.buffer(), cursor.start(), cursor.end());
+      if (pos == -1) {
+        if (unknown && !help)
+          handler.onUnknown(cursor.token());
+        continue;
+      }
+
+      option = m_Options.get(pos);
+      if (option.hasArgument()) {
+        if (!cursor.next())
+          throw new MissingArgumentException(option.getFlag(), m_StackTraces);
+        handler.onOption(option, cursor.token());
+      }
+      else {
+        handler.onFlag(option);
+      }
+    }
+
+    handler.onEnd();
+  }
+
+  /**
+   * Parses the options supplied by the cursor, notifying the handler.
+   *
+   * @param cursor	the cursor supplying the options
+   * @param remove	the array to remove the parsed options from, null if not to remove
+   * @param handler	the handler to notify
+   * @throws ArgumentParserException        if parsing fails, e.g., if an option is missing its argument
+   */
+  protected void parse(ArgumentCursor cursor, String[] remove, ParseHandler handler) throws ArgumentParserException {
+    int			pos;
+    int			index;
+    Option		option;
+    String		token;
+
+    try {
+      checkOutdated();
+      while (cursor.next()) {
+        token = cursor.token();
+        index = cursor.index();
+
+        // help?
+        if (token.equals("--help"))
+          handler.onHelp();
+
+        // defined option?
+        pos = m_Flags.get(token);
+        if (pos == -1) {
+          if (m_CompactSyntax && parseCompact(cursor, token, index, remove, handler))
+            continue;
+          if (!token.equals("--help"))
+            handler.onUnknown(token);
+          continue;
+        }
+
+        option = m_Options.get(pos);
+        if (option.hasArgument()) {
+          if (!cursor.next())
+            throw new MissingArgumentException(option.getFlag(), m_StackTraces);
+          handler.onOption(option, cursor.token());
+          if (remove != null) {
+            if (index > -1)
+              remove[index] = "";
+            if (cursor.index() > -1)
+              remove[cursor.index()] = "";
+          }
+        }
+        else {
+          handler.onFlag(option);
+          if ((remove != null) && (index > -1))
+            remove[index] = "";
+        }
+      }
+    }
+    finally {
+      cursor.close();
+    }
+
+    handler.onEnd();
+  }
+
+  /**
+   * Parses a token in compact syntax: "--name=value", "-Xvalue" or
+   * combined short flags ("-abc"), where the first option taking an
+   * argument uses the rest of the token or, if none left, the next token.
+   * The flags get looked up via ranges of the token, only values turn
+   * into substrings.
+   *
+   * @param cursor	the cursor supplying the options
+   * @param token	the token that didn't match a flag
+   * @param index	the index of the token in the array, -1 if not from the array
+   * @param remove	the array to remove the parsed options from, null if not to remove
+   * @param handler	the handler to notify
+   * @return		true if in compact syntax, false if unknown
+   * @throws ArgumentParserException        if parsing fails, e.g., if an option is missing its argument
+   */
+  protected boolean parseCompact(ArgumentCursor cursor, String token, int index, String[] remove, ParseHandler handler) throws ArgumentParserException {
+    int		pos;
+    int		eq;
+    int		i;
+    Option	option;
+
+    if ((token.length() < 3) || (token.charAt(0) != '-'))
+      return false;
+
+    if (token.charAt(1) == '-') {
+      eq = token.indexOf('=', 2);
+      if (eq == -1)
+        return false;
+      pos = m_Flags.get(token, 0, eq);
+      if ((pos == -1) || !m_Options.get(pos).hasArgument())
+        return false;
+      handler.onOption(m_Options.get(pos), token.substring(eq + 1));
+    }
+    else {
+      // all flags up to the first one taking an argument must be known
+      for (i = 1; i < token.length(); i++) {
+        pos = m_Flags.getShort(token.charAt(i));
+        if (pos == -1)
+          return false;
+        if (m_Options.get(pos).hasArgument())
+          break;
+      }
+      for (i = 1; i < token.length(); i++) {
+        option = m_Options.get(m_Flags.getShort(token.charAt(i)));
+        if (!option.hasArgument()) {
+          handler.onFlag(option);
+          continue;
+        }
+        if (i + 1 < token.length()) {
+          handler.onOption(option, token.substring(i + 1));
+        }
+        else {
+          if (!cursor.next())
+            throw new MissingArgumentException(option.getFlag(), m_StackTraces);
+          handler.onOption(option, cursor.token());
+          if ((remove != null) && (cursor.index() > -1))
+            remove[cursor.index()] = "";
+        }
+        break;
+      }
+    }
+
+    if ((remove != null) && (index > -1))
+      remove[index] = "";
+    return true;
+  }
+
+  /**
+   * Returns the position of the option.
+   *
+   * @param option	the option to locate
+   * @return		the position, -1 if not an option of this parser
+   */
+  public int positionOf(Option option) {
+    int		index;
+
+    index = option.getIndex();
+    if ((index > -1) && (index < m_Options.size()) && (m_Options.get(index) == option))
+      return index;
+    // options are compared by their destination, hence check identity
+    for (index = 0; index < m_Options.size(); index++) {
+      if (m_Options.get(index) == option)
+        return index;
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,243 @@
+/*
+ * Conversion.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Holds the outcome of converting a string value via
+ * {@link Option#convert(String, Conversion)}: either the converted value
+ * (in primitive form for booleans and numbers) or the reason for the
+ * failure. Meant to be reused for multiple conversions, not thread-safe.
+ * <br>
+ * The status of paths checked by file-typed options gets cached for the
+ * lifetime of the conversion (i.e., a single parse), so that each path
+ * only gets queried once.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+public class Conversion {
+
+  /** the possible outcomes. */
+  public enum Status {
+    OK,
+    INVALID_FORMAT,
+    OUT_OF_RANGE,
+    NOT_FOUND,
+    ALREADY_EXISTS,
+    NOT_A_FILE,
+    NOT_A_DIRECTORY,
+  }
+
+  /** the status. */
+  protected Status m_Status;
+
+  /** the boolean value. */
+  protected boolean m_Boolean;
+
+  /** the byte/short/int/long value. */
+  protected long m_Long;
+
+  /** the float/double value. */
+  protected double m_Double;
+
+  /** the string/file value. */
+  protected Object m_Object;
+
+  /** the cached status of paths (path - status). */
+  protected Map<String,FileStatus> m_FileStatus;
+
+  /**
+   * Initializes the conversion.
+   */
+  public Conversion() {
+    m_Status = Status.OK;
+  }
+
+  /**
+   * Stores a successfully converted boolean.
+   *
+   * @param value	the value
+   */
+  public void setBoolean(boolean value) {
+    m_Status  = Status.OK;
+    m_Boolean = value;
+  }
+
+  /**
+   * Stores a successfully converted byte/short/int/long.
+   *
+   * @param value	the value
+   */
+  public void setLong(long value) {
+    m_Status = Status.OK;
+    m_Long   = value;
+  }
+
+  /**
+   * Stores a successfully converted float/double.
+   *
+   * @param value	the value
+   */
+  public void setDouble(double value) {
+    m_Status = Status.OK;
+    m_Double = value;
+  }
+
+  /**
+   * Stores a successfully converted string/file.
+   *
+   * @param value	the value
+   */
+  public void setObject(Object value) {
+    m_Status = Status.OK;
+    m_Object = value;
+  }
+
+  /**
+   * Records a failed conversion.
+   *
+   * @param status	the reason
+   */
+  public void fail(Status status) {
+    m_Status = status;
+    m_Object = null;
+  }
+
+  /**
+   * Returns the status of the path, querying the file system only the
+   * first time.
+   *
+   * @param path	the path to check
+   * @return		the status
+   */
+  public FileStatus fileStatus(String path) {
+    FileStatus	result;
+
+    if (m_FileStatus == null)
+      m_FileStatus = new ConcurrentHashMap<>();
+    result = m_FileStatus.get(path);
+    if (result == null) {
+      result = FileStatus.of(path);
+      m_FileStatus.put(path, result);
+    }
+    return result;
+  }
+
+  /**
+   * Queries the status of the paths in parallel and caches them, speeding
+   * up subsequent checks of many paths on slow (e.g., network) file
+   * systems. Uses the default executor of the file checks.
+   *
+   * @param paths	the paths to check
+   * @see		FileChecks#getDefaultExecutor()
+   */
+  public void prefetchFileStatus(Collection<String> paths) {
+    prefetchFileStatus(paths, FileChecks.getDefaultExecutor());
+  }
+
+  /**
+   * Queries the status of the paths in parallel and caches them, speeding
+   * up subsequent checks of many paths on slow (e.g., network) file
+   * systems. As the queries block, the executor should not be shared with
+   * computational tasks (e.g., the common fork/join pool).
+   *
+   * @param paths	the paths to check
+   * @param executor	the executor to run the queries with
+   */
+  public void prefetchFileStatus(Collection<String> paths, Executor executor) {
+    Set<String>	missing;
+
+    if (m_FileStatus == null)
+      m_FileStatus = new ConcurrentHashMap<>();
+    missing = new LinkedHashSet<>();
+    for (String path: paths) {
+      if (!m_FileStatus.containsKey(path))
+	missing.add(path);
+    }
+    if (missing.size() == 1)
+      fileStatus(missing.iterator().next());
+    else if (missing.size() > 1)
+      putFileStatus(FileChecks.check(missing, executor, 0).join());
+  }
+
+  /**
+   * Caches the status of the paths, e.g., determined asynchronously.
+   *
+   * @param status	the status of the paths (path - status)
+   */
+  public void putFileStatus(Map<String,FileStatus> status) {
+    if (m_FileStatus == null)
+      m_FileStatus = new ConcurrentHashMap<>();
+    m_FileStatus.putAll(status);
+  }
+
+  /**
+   * Removes all cached file status information.
+   */
+  public void clearFileStatus() {
+    m_FileStatus = null;
+  }
+
+  /**
+   * Returns the status.
+   *
+   * @return		the status
+   */
+  public Status getStatus() {
+    return m_Status;
+  }
+
+  /**
+   * Returns whether the conversion was successful.
+   *
+   * @return		true if successful
+   */
+  public boolean isOK() {
+    return (m_Status == Status.OK);
+  }
+
+  /**
+   * Returns the boolean value.
+   *
+   * @return		the value
+   */
+  public boolean getBoolean() {
+    return m_Boolean;
+  }
+
+  /**
+   * Returns the byte/short/int/long value.
+   *
+   * @return		the value
+   */
+  public long getLong() {
+    return m_Long;
+  }
+
+  /**
+   * Returns the float/double value.
+   *
+   * @return		the value
+   */
+  public double getDouble() {
+    return m_Double;
+  }
+
+  /**
+   * Returns the string/file value.
+   *
+   * @return		the value
+   */
+  public Object getObject() {
+    return m_Object;
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * DoubleOption.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j;
+
+/**
+ * Double option (or float) whose value is retrieved via {@link Namespace#get(DoubleOption)}.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+public class DoubleOption
+  extends TypedOption {
+
+  /**
+   * Initializes the option.
+   *
+   * @param flag	the flag (eg "-X" or "--XXX")
+   */
+  public DoubleOption(String flag) {
+    this(flag, null);
+  }
+
+  /**
+   * Initializes the option.
+   *
+   * @param flag	the flag (eg "-X" or "--XXX")
+   * @param secondFlag 	the second flag (eg a long version "--XXX")
+   */
+  public DoubleOption(String flag, String secondFlag) {
+    super(flag, secondFlag, Type.DOUBLE, false);
+  }
+
+  /**
+   * Returns whether the type is supported by this option.
+   *
+   * @param type	the type to check
+   * @return		true if supported
+   */
+  @Override
+  protected boolean isCompatible(Type type) {
+    return (type == Type.FLOAT) || (type == Type.DOUBLE);
+  }
+}
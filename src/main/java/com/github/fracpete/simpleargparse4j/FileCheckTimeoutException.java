@@ -0,0 +1,55 @@
+/*
+ * FileCheckTimeoutException.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j;
+
+/**
+ * Gets thrown if checking the path supplied to a file-typed option took
+ * longer than the configured timeout, e.g., due to a hung network mount.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ * @see ArgumentParser#fileCheckTimeout(long)
+ */
+public class FileCheckTimeoutException
+  extends ArgumentParserException {
+
+  /** the flag the path was supplied to. */
+  protected String m_Flag;
+
+  /** the path that could not be checked. */
+  protected String m_Path;
+
+  /**
+   * Initializes the exception.
+   *
+   * @param flag 	the flag the path was supplied to
+   * @param path	the path that could not be checked in time
+   * @param timeout	the timeout in milliseconds
+   * @param stackTrace	whether to fill in the stack trace
+   */
+  public FileCheckTimeoutException(String flag, String path, long timeout, boolean stackTrace) {
+    super("Checking '" + path + "' for '" + flag + "' timed out after " + timeout + "ms", stackTrace);
+    m_Flag = flag;
+    m_Path = path;
+  }
+
+  /**
+   * Returns the flag the path was supplied to.
+   *
+   * @return		the flag
+   */
+  public String getFlag() {
+    return m_Flag;
+  }
+
+  /**
+   * Returns the path that could not be checked in time.
+   *
+   * @return		the path
+   */
+  public String getPath() {
+    return m_Path;
+  }
+}
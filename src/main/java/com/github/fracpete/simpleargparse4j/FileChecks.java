@@ -0,0 +1,254 @@
+/*
+ * FileChecks.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs the file system checks of file-typed options asynchronously, each
+ * with an optional timeout that starts when the check starts running. A
+ * check that times out is abandoned: the thread blocked in the file system
+ * is left to finish on its own, but the outcome no longer waits for it.
+ * The wait for a thread of the executor is bounded as well, so that checks
+ * still time out if hung checks occupy all threads: a check that hasn't
+ * started once all checks of its batch could have run one after the other
+ * with their full timeout gets abandoned too.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+public class FileChecks {
+
+  /** the maximum number of threads of the fallback pool. */
+  public final static int MAX_THREADS = 64;
+
+  /** the default executor for the checks. */
+  protected static Executor s_Executor;
+
+  /** for timing out checks. */
+  protected static ScheduledThreadPoolExecutor s_Timer;
+
+  /**
+   * Returns a factory for daemon threads, so that hung checks don't keep
+   * the JVM alive.
+   *
+   * @param prefix	the prefix for the thread names
+   * @return		the factory
+   */
+  protected static ThreadFactory daemonThreads(final String prefix) {
+    return new ThreadFactory() {
+      protected int m_Count;
+      @Override
+      public synchronized Thread newThread(Runnable r) {
+	Thread	result;
+
+	result = new Thread(r, prefix + "-" + (++m_Count));
+	result.setDaemon(true);
+	return result;
+      }
+    };
+  }
+
+  /**
+   * Returns the default executor for running the checks: a virtual thread
+   * per check if the JVM supports them (Java 21+), otherwise a bounded pool
+   * of daemon threads.
+   *
+   * @return		the executor
+   */
+  public static synchronized Executor getDefaultExecutor() {
+    Method		method;
+    ThreadPoolExecutor	pool;
+    int			threads;
+
+    if (s_Executor == null) {
+      try {
+	method     = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+	s_Executor = (Executor) method.invoke(null);
+      }
+      catch (Exception e) {
+	threads = Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors() * 8);
+	pool    = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), daemonThreads("argparse-filecheck"));
+	pool.allowCoreThreadTimeOut(true);
+	s_Executor = pool;
+      }
+    }
+    return s_Executor;
+  }
+
+  /**
+   * Returns the timer for timing out checks.
+   *
+   * @return		the timer
+   */
+  protected static synchronized ScheduledThreadPoolExecutor getTimer() {
+    if (s_Timer == null) {
+      s_Timer = new ScheduledThreadPoolExecutor(1, daemonThreads("argparse-filecheck-timer"));
+      s_Timer.setRemoveOnCancelPolicy(true);
+    }
+    return s_Timer;
+  }
+
+  /**
+   * Returns a task that completes the future with null, used for timing out.
+   *
+   * @param future	the future to complete
+   * @return		the task
+   */
+  protected static Runnable expire(final CompletableFuture<?> future) {
+    return new Runnable() {
+      @Override
+      public void run() {
+	future.complete(null);
+      }
+    };
+  }
+
+  /**
+   * Checks the status of the paths concurrently. A check waits at most the
+   * timeout times the number of (distinct) paths for a thread.
+   *
+   * @param paths	the paths to check
+   * @param executor	the executor to run the checks with
+   * @param timeout	the timeout per check in milliseconds, 0 for none
+   * @return		the status of the paths (path - status), without the paths that timed out
+   */
+  public static CompletableFuture<Map<String,FileStatus>> check(Collection<String> paths, Executor executor, long timeout) {
+    final Map<String,FileStatus>	result;
+    Set<String>				distinct;
+    CompletableFuture<?>[]		checks;
+    int					i;
+
+    result   = new ConcurrentHashMap<>();
+    distinct = new LinkedHashSet<>(paths);
+    checks   = new CompletableFuture<?>[distinct.size()];
+    i        = 0;
+    for (final String path: distinct)
+      checks[i++] = check(path, executor, timeout, timeout * distinct.size()).thenAccept(new Consumer<FileStatus>() {
+	@Override
+	public void accept(FileStatus status) {
+	  if (status != null)
+	    result.put(path, status);
+	}
+      });
+
+    return CompletableFuture.allOf(checks).thenApply(new Function<Void,Map<String,FileStatus>>() {
+      @Override
+      public Map<String,FileStatus> apply(Void v) {
+	return result;
+      }
+    });
+  }
+
+  /**
+   * Checks the status of the path, waiting at most the timeout for a thread.
+   *
+   * @param path	the path to check
+   * @param executor	the executor to run the check with
+   * @param timeout	the timeout in milliseconds, 0 for none
+   * @return		the status, null if timed out
+   * @see		#timed(Supplier, Executor, long)
+   */
+  public static CompletableFuture<FileStatus> check(String path, Executor executor, long timeout) {
+    return check(path, executor, timeout, timeout);
+  }
+
+  /**
+   * Checks the status of the path.
+   *
+   * @param path	the path to check
+   * @param executor	the executor to run the check with
+   * @param timeout	the timeout in milliseconds, 0 for none
+   * @param wait	the maximum time in milliseconds to wait for a thread, 0 for no limit
+   * @return		the status, null if timed out
+   * @see		#timed(Supplier, Executor, long, long)
+   */
+  protected static CompletableFuture<FileStatus> check(final String path, Executor executor, long timeout, long wait) {
+    return timed(new Supplier<FileStatus>() {
+      @Override
+      public FileStatus get() {
+	return FileStatus.of(path);
+      }
+    }, executor, timeout, wait);
+  }
+
+  /**
+   * Runs the task on the executor with an optional timeout, waiting at most
+   * the timeout for a thread.
+   *
+   * @param task	the task to run
+   * @param executor	the executor to run the task with
+   * @param timeout	the timeout in milliseconds, 0 for none
+   * @param <T>		the type of result
+   * @return		the result of the task, null if timed out
+   * @see		#timed(Supplier, Executor, long, long)
+   */
+  protected static <T> CompletableFuture<T> timed(Supplier<T> task, Executor executor, long timeout) {
+    return timed(task, executor, timeout, timeout);
+  }
+
+  /**
+   * Runs the task on the executor with an optional timeout. The timeout
+   * only starts once the task starts running. The time spent waiting for a
+   * thread of the executor is bounded separately, counting from submission.
+   * A task that didn't start in time doesn't get run anymore.
+   *
+   * @param task	the task to run
+   * @param executor	the executor to run the task with
+   * @param timeout	the timeout in milliseconds, 0 for none
+   * @param wait	the maximum time in milliseconds to wait for a thread, 0 for no limit
+   * @param <T>		the type of result
+   * @return		the result of the task, null if timed out
+   */
+  protected static <T> CompletableFuture<T> timed(final Supplier<T> task, Executor executor, final long timeout, long wait) {
+    final CompletableFuture<T>	result;
+    final ScheduledFuture<?>	queued;
+
+    result = new CompletableFuture<>();
+    queued = (wait > 0) ? getTimer().schedule(expire(result), wait, TimeUnit.MILLISECONDS) : null;
+    executor.execute(new Runnable() {
+      @Override
+      public void run() {
+	ScheduledFuture<?>	timer;
+
+	if (queued != null)
+	  queued.cancel(false);
+	if (result.isDone())
+	  return;
+	timer = null;
+	if (timeout > 0)
+	  timer = getTimer().schedule(expire(result), timeout, TimeUnit.MILLISECONDS);
+	try {
+	  result.complete(task.get());
+	}
+	catch (Throwable t) {
+	  result.completeExceptionally(t);
+	}
+	finally {
+	  if (timer != null)
+	    timer.cancel(false);
+	}
+      }
+    });
+    return result;
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * FileOption.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j;
+
+/**
+ * File/directory option whose value is retrieved via {@link Namespace#get(FileOption)}.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+public class FileOption
+  extends TypedOption {
+
+  /**
+   * Initializes the option.
+   *
+   * @param flag	the flag (eg "-X" or "--XXX")
+   */
+  public FileOption(String flag) {
+    this(flag, null);
+  }
+
+  /**
+   * Initializes the option.
+   *
+   * @param flag	the flag (eg "-X" or "--XXX")
+   * @param secondFlag 	the second flag (eg a long version "--XXX")
+   */
+  public FileOption(String flag, String secondFlag) {
+    super(flag, secondFlag, Type.FILE, false);
+  }
+
+  /**
+   * Returns whether the type is supported by this option.
+   *
+   * @param type	the type to check
+   * @return		true if supported
+   */
+  @Override
+  protected boolean isCompatible(Type type) {
+    switch (type) {
+      case FILE:
+      case DIRECTORY:
+      case FILE_OR_DIRECTORY:
+      case EXISTING_FILE:
+      case EXISTING_DIR:
+      case EXISTING_FILE_OR_DIRECTORY:
+      case NONEXISTING_FILE:
+      case NONEXISTING_DIR:
+      case NONEXISTING_FILE_OR_DIRECTORY:
+        return true;
+      default:
+        return false;
+    }
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * FileStatus.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * What a path refers to, determined with a single query of the file
+ * system (rather than {@link java.io.File#exists()} followed by
+ * {@link java.io.File#isDirectory()}).
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+public enum FileStatus {
+  /** the path does not exist (or cannot be accessed). */
+  MISSING,
+  /** the path exists, but is not a directory. */
+  FILE,
+  /** the path is a directory. */
+  DIRECTORY;
+
+  /**
+   * Determines the status of the path. Like {@link java.io.File#exists()},
+   * paths that cannot be accessed or are invalid are considered missing.
+   *
+   * @param path	the path to check
+   * @return		the status
+   */
+  public static FileStatus of(String path) {
+    BasicFileAttributes	attrs;
+
+    if (path.isEmpty())
+      return MISSING;
+    try {
+      attrs = Files.readAttributes(Paths.get(path), BasicFileAttributes.class);
+      return attrs.isDirectory() ? DIRECTORY : FILE;
+    }
+    catch (IOException | InvalidPathException | SecurityException e) {
+      return MISSING;
+    }
+  }
+}
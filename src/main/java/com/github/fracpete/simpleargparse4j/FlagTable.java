@@ -0,0 +1,151 @@
+/*
+ * FlagTable.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Immutable lookup table that maps commandline flags to the position of
+ * their option. Uses open addressing with linear probing, which avoids
+ * the entry objects and boxing of a HashMap.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+public class FlagTable
+  implements Serializable {
+
+  /** the flags (null for empty buckets). */
+  protected final String[] m_Keys;
+
+  /** the option positions. */
+  protected final int[] m_Values;
+
+  /** the mask for the bucket index. */
+  protected final int m_Mask;
+
+  /**
+   * Initializes the table with the flags of the options. If a flag is used
+   * by multiple options, the last one wins.
+   *
+   * @param options	the options to index
+   */
+  public FlagTable(List<Option> options) {
+    int		capacity;
+    int		i;
+
+    capacity = 4;
+    while (capacity < options.size() * 4)
+      capacity *= 2;
+
+    m_Keys   = new String[capacity];
+    m_Values = new int[capacity];
+    m_Mask   = capacity - 1;
+
+    for (i = 0; i < options.size(); i++) {
+      put(options.get(i).getFlag(), i);
+      if (options.get(i).hasSecondFlag())
+        put(options.get(i).getSecondFlag(), i);
+    }
+  }
+
+  /**
+   * Spreads the hashcode to make up for poor lower bits.
+   *
+   * @param hash	the hashcode
+   * @return		the spread hashcode
+   */
+  protected static int spread(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+
+  /**
+   * Stores the flag/position pair.
+   *
+   * @param flag	the flag
+   * @param pos		the position of the option
+   */
+  protected void put(String flag, int pos) {
+    int		index;
+
+    index = spread(flag.hashCode()) & m_Mask;
+    while ((m_Keys[index] != null) && !m_Keys[index].equals(flag))
+      index = (index + 1) & m_Mask;
+    m_Keys[index]   = flag;
+    m_Values[index] = pos;
+  }
+
+  /**
+   * Returns the position of the option associated with the flag.
+   *
+   * @param flag	the flag to look up
+   * @return		the position, -1 if not a known flag
+   */
+  public int get(String flag) {
+    int		index;
+    String	key;
+
+    index = spread(flag.hashCode()) & m_Mask;
+    while ((key = m_Keys[index]) != null) {
+      if (key.equals(flag))
+        return m_Values[index];
+      index = (index + 1) & m_Mask;
+    }
+
+    return -1;
+  }
+
+  /**
+   * Returns the position of the option associated with the flag that
+   * makes up the range of the token, without creating a substring.
+   *
+   * @param token	the token containing the flag
+   * @param start	the start of the range (incl)
+   * @param end		the end of the range (excl)
+   * @return		the position, -1 if not a known flag
+   */
+  public int get(String token, int start, int end) {
+    int		index;
+    int		hash;
+    int		i;
+    String	key;
+
+    // same as String.hashCode of the range
+    hash = 0;
+    for (i = start; i < end; i++)
+      hash = 31 * hash + token.charAt(i);
+
+    index = spread(hash) & m_Mask;
+    while ((key = m_Keys[index]) != null) {
+      if ((key.length() == end - start) && key.regionMatches(0, token, start, end - start))
+        return m_Values[index];
+      index = (index + 1) & m_Mask;
+    }
+
+    return -1;
+  }
+
+  /**
+   * Returns the position of the option associated with the short flag
+   * made up of a dash and the character (e.g., "-v" for 'v').
+   *
+   * @param c		the character of the flag
+   * @return		the position, -1 if not a known flag
+   */
+  public int getShort(char c) {
+    int		index;
+    String	key;
+
+    index = spread(31 * '-' + c) & m_Mask;
+    while ((key = m_Keys[index]) != null) {
+      if ((key.length() == 2) && (key.charAt(0) == '-') && (key.charAt(1) == c))
+        return m_Values[index];
+      index = (index + 1) & m_Mask;
+    }
+
+    return -1;
+  }
+}
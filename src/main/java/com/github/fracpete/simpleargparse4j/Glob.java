@@ -0,0 +1,465 @@
+/*
+ * Glob.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A glob pattern like "data/**&#47;*.parquet" (see
+ * {@link java.nio.file.FileSystem#getPathMatcher(String)} for the syntax),
+ * the value of {@link Option.Type#GLOB} options. Expanding the pattern is
+ * up to the application, so that the matches don't have to be held on the
+ * commandline or in memory: either lazily via {@link #stream()} or via a
+ * parallel walk with {@link #walk(Consumer)}.
+ * <br>
+ * Only the directory before the first wildcard gets walked and, unless
+ * the pattern contains "**", only as deep as the pattern reaches. Symbolic
+ * links are not followed into directories.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+public class Glob
+  implements Serializable {
+
+  /** the characters that start a wildcard. */
+  protected final static String WILDCARDS = "*?[{\\";
+
+  /** the pattern. */
+  protected String m_Pattern;
+
+  /** the directory to walk. */
+  protected String m_Base;
+
+  /** how deep to walk below the base directory. */
+  protected int m_MaxDepth;
+
+  /** the matcher for the pattern. */
+  protected transient PathMatcher m_Matcher;
+
+  /**
+   * Initializes the glob.
+   *
+   * @param pattern	the glob pattern
+   * @throws java.util.regex.PatternSyntaxException	if the pattern is invalid
+   */
+  public Glob(String pattern) {
+    int		wildcard;
+    int		sep;
+    int		i;
+
+    m_Pattern = pattern;
+    m_Matcher = newMatcher();
+
+    wildcard = -1;
+    for (i = 0; i < pattern.length(); i++) {
+      if (WILDCARDS.indexOf(pattern.charAt(i)) > -1) {
+	wildcard = i;
+	break;
+      }
+    }
+    if (wildcard == -1) {
+      m_Base     = pattern;
+      m_MaxDepth = 0;
+      return;
+    }
+
+    sep = Math.max(pattern.lastIndexOf('/', wildcard), pattern.lastIndexOf(File.separatorChar, wildcard));
+    if (sep == -1)
+      m_Base = "";
+    else if (sep == 0)
+      m_Base = pattern.substring(0, 1);
+    else
+      m_Base = pattern.substring(0, sep);
+
+    if (pattern.contains("**")) {
+      m_MaxDepth = Integer.MAX_VALUE;
+    }
+    else {
+      m_MaxDepth = 1;
+      for (i = sep + 1; i < pattern.length(); i++) {
+	if ((pattern.charAt(i) == '/') || (pattern.charAt(i) == File.separatorChar))
+	  m_MaxDepth++;
+      }
+    }
+  }
+
+  /**
+   * Creates the matcher for the pattern.
+   *
+   * @return		the matcher
+   */
+  protected PathMatcher newMatcher() {
+    return FileSystems.getDefault().getPathMatcher("glob:" + m_Pattern);
+  }
+
+  /**
+   * Returns the pattern.
+   *
+   * @return		the pattern
+   */
+  public String getPattern() {
+    return m_Pattern;
+  }
+
+  /**
+   * Returns the directory that gets walked, i.e., the part of the pattern
+   * before the first wildcard.
+   *
+   * @return		the directory
+   */
+  public Path getBase() {
+    return Paths.get(m_Base);
+  }
+
+  /**
+   * Returns whether the path matches the pattern.
+   *
+   * @param path	the path to check
+   * @return		true if a match
+   */
+  public boolean matches(Path path) {
+    if (m_Matcher == null)
+      m_Matcher = newMatcher();
+    return m_Matcher.matches(path);
+  }
+
+  /**
+   * Returns the matches as lazily populated stream, walking the directory
+   * tree depth-first while the stream gets consumed. Like with
+   * {@link #walk(Consumer)}, directories that cannot be read (and entries
+   * that cannot be accessed) get skipped rather than failing the stream.
+   * The stream should be closed after use, e.g., via try-with-resources,
+   * to release the directories still open.
+   *
+   * @return		the matches
+   */
+  public Stream<Path> stream() {
+    final WalkIterator	iterator;
+
+    if (!Files.exists(getBase()))
+      return Stream.empty();
+    iterator = new WalkIterator(getBase());
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+      .onClose(new Runnable() {
+	@Override
+	public void run() {
+	  iterator.close();
+	}
+      })
+      .filter(new Predicate<Path>() {
+	@Override
+	public boolean test(Path path) {
+	  return matches(path);
+	}
+      });
+  }
+
+  /**
+   * Walks the directory tree in parallel using the common fork/join pool,
+   * passing on the matches as they are found (in no particular order).
+   * Directories that cannot be read get skipped.
+   *
+   * @param consumer	the consumer for the matches, must be thread-safe
+   */
+  public void walk(Consumer<? super Path> consumer) {
+    walk(consumer, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Walks the directory tree in parallel, passing on the matches as they
+   * are found (in no particular order). Directories that cannot be read
+   * get skipped.
+   *
+   * @param consumer	the consumer for the matches, must be thread-safe
+   * @param pool	the pool to walk the directories with
+   */
+  public void walk(Consumer<? super Path> consumer, ForkJoinPool pool) {
+    Path	base;
+
+    base = getBase();
+    if (!Files.exists(base))
+      return;
+    if (matches(base))
+      consumer.accept(base);
+    if ((m_MaxDepth > 0) && Files.isDirectory(base))
+      pool.invoke(new WalkTask(base, 1, consumer));
+  }
+
+  /**
+   * Returns all the matches, walking the directory tree in parallel.
+   *
+   * @return		the matches, sorted
+   */
+  public List<File> expand() {
+    final ConcurrentLinkedQueue<File>	matches;
+    List<File>				result;
+
+    matches = new ConcurrentLinkedQueue<>();
+    walk(new Consumer<Path>() {
+      @Override
+      public void accept(Path path) {
+	matches.add(path.toFile());
+      }
+    });
+    result = new ArrayList<>(matches);
+    Collections.sort(result);
+    return result;
+  }
+
+  /**
+   * Returns the pattern.
+   *
+   * @return		the pattern
+   */
+  @Override
+  public String toString() {
+    return m_Pattern;
+  }
+
+  /**
+   * Checks whether the object is a glob with the same pattern.
+   *
+   * @param obj		the object to compare with
+   * @return		true if the same pattern
+   */
+  @Override
+  public boolean equals(Object obj) {
+    return (obj instanceof Glob) && ((Glob) obj).getPattern().equals(m_Pattern);
+  }
+
+  /**
+   * Returns the hashcode of the pattern.
+   *
+   * @return		the hashcode
+   */
+  @Override
+  public int hashCode() {
+    return m_Pattern.hashCode();
+  }
+
+  /**
+   * Iterates over the directory tree depth-first, reading the directories
+   * only when their entries are required. Directories that cannot be read
+   * get skipped.
+   */
+  protected class WalkIterator
+    implements Iterator<Path>, Closeable {
+
+    /** the open directories, innermost first. */
+    protected Deque<DirectoryStream<Path>> m_Dirs;
+
+    /** the iterators over the entries of the open directories, innermost first. */
+    protected Deque<Iterator<Path>> m_Entries;
+
+    /** the next path, null if none. */
+    protected Path m_Next;
+
+    /**
+     * Initializes the iterator.
+     *
+     * @param base	the directory to walk
+     */
+    public WalkIterator(Path base) {
+      m_Dirs    = new ArrayDeque<>();
+      m_Entries = new ArrayDeque<>();
+      m_Next    = base;
+      if ((m_MaxDepth > 0) && Files.isDirectory(base))
+	open(base);
+    }
+
+    /**
+     * Opens the directory, skipping it if it cannot be read.
+     *
+     * @param dir	the directory to open
+     */
+    protected void open(Path dir) {
+      DirectoryStream<Path>	entries;
+
+      try {
+	entries = Files.newDirectoryStream(dir);
+	m_Dirs.push(entries);
+	m_Entries.push(entries.iterator());
+      }
+      catch (IOException e) {
+	// skip unreadable directories
+      }
+    }
+
+    /**
+     * Closes the innermost directory.
+     */
+    protected void closeDir() {
+      m_Entries.pop();
+      try {
+	m_Dirs.pop().close();
+      }
+      catch (IOException e) {
+	// ignored
+      }
+    }
+
+    /**
+     * Determines the next path.
+     *
+     * @return		the path, null if none left
+     */
+    protected Path advance() {
+      Path			entry;
+      BasicFileAttributes	attrs;
+
+      while (!m_Entries.isEmpty()) {
+	try {
+	  if (!m_Entries.peek().hasNext()) {
+	    closeDir();
+	    continue;
+	  }
+	  entry = m_Entries.peek().next();
+	}
+	catch (DirectoryIteratorException e) {
+	  // skip the rest of a directory that failed while reading
+	  closeDir();
+	  continue;
+	}
+	if (m_Entries.size() < m_MaxDepth) {
+	  try {
+	    attrs = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+	    if (attrs.isDirectory())
+	      open(entry);
+	  }
+	  catch (IOException e) {
+	    // skip entries that vanished or cannot be accessed
+	  }
+	}
+	return entry;
+      }
+      return null;
+    }
+
+    /**
+     * Returns whether there are more paths.
+     *
+     * @return		true if more paths
+     */
+    @Override
+    public boolean hasNext() {
+      return (m_Next != null);
+    }
+
+    /**
+     * Returns the next path.
+     *
+     * @return		the path
+     */
+    @Override
+    public Path next() {
+      Path	result;
+
+      if (m_Next == null)
+	throw new NoSuchElementException();
+      result = m_Next;
+      m_Next = advance();
+      return result;
+    }
+
+    /**
+     * Closes the directories that are still open.
+     */
+    @Override
+    public void close() {
+      while (!m_Dirs.isEmpty())
+	closeDir();
+      m_Next = null;
+    }
+  }
+
+  /**
+   * Walks a directory, forking a task for each subdirectory.
+   */
+  protected class WalkTask
+    extends RecursiveAction {
+
+    /** the directory to walk. */
+    protected Path m_Dir;
+
+    /** the depth of the entries of the directory. */
+    protected int m_Depth;
+
+    /** the consumer for the matches. */
+    protected Consumer<? super Path> m_Consumer;
+
+    /**
+     * Initializes the task.
+     *
+     * @param dir	the directory to walk
+     * @param depth	the depth of the entries of the directory
+     * @param consumer	the consumer for the matches
+     */
+    public WalkTask(Path dir, int depth, Consumer<? super Path> consumer) {
+      m_Dir      = dir;
+      m_Depth    = depth;
+      m_Consumer = consumer;
+    }
+
+    /**
+     * Walks the directory.
+     */
+    @Override
+    protected void compute() {
+      List<WalkTask>		subdirs;
+      BasicFileAttributes	attrs;
+
+      subdirs = new ArrayList<>();
+      try (DirectoryStream<Path> entries = Files.newDirectoryStream(m_Dir)) {
+	for (Path entry: entries) {
+	  if (matches(entry))
+	    m_Consumer.accept(entry);
+	  if (m_Depth < m_MaxDepth) {
+	    try {
+	      attrs = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+	      if (attrs.isDirectory())
+		subdirs.add(new WalkTask(entry, m_Depth + 1, m_Consumer));
+	    }
+	    catch (IOException e) {
+	      // skip entries that vanished or cannot be accessed
+	    }
+	  }
+	}
+      }
+      catch (IOException e) {
+	// skip unreadable directories
+      }
+      invokeAll(subdirs);
+    }
+  }
+}
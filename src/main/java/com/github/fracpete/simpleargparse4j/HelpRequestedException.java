@@ -13,10 +13,22 @@ package com.github.fracpete.simpleargparse4j;
 public class HelpRequestedException
   extends ArgumentParserException {
 
+  /** shared instance without stack trace, as help requests are regular control flow. */
+  public final static HelpRequestedException INSTANCE = new HelpRequestedException(false);
+
   /**
    * Initializes the exception.
    */
   public HelpRequestedException() {
-    super("Help requested");
+    this(true);
+  }
+
+  /**
+   * Initializes the exception.
+   *
+   * @param stackTrace	whether to fill in the stack trace
+   */
+  public HelpRequestedException(boolean stackTrace) {
+    super("Help requested", stackTrace);
   }
 }
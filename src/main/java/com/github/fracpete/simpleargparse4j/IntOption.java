@@ -0,0 +1,52 @@
+/*
+ * IntOption.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j;
+
+/**
+ * Integer option (or byte/short) whose value is retrieved via {@link Namespace#get(IntOption)}.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+public class IntOption
+  extends TypedOption {
+
+  /**
+   * Initializes the option.
+   *
+   * @param flag	the flag (eg "-X" or "--XXX")
+   */
+  public IntOption(String flag) {
+    this(flag, null);
+  }
+
+  /**
+   * Initializes the option.
+   *
+   * @param flag	the flag (eg "-X" or "--XXX")
+   * @param secondFlag 	the second flag (eg a long version "--XXX")
+   */
+  public IntOption(String flag, String secondFlag) {
+    super(flag, secondFlag, Type.INTEGER, false);
+  }
+
+  /**
+   * Returns whether the type is supported by this option.
+   *
+   * @param type	the type to check
+   * @return		true if supported
+   */
+  @Override
+  protected boolean isCompatible(Type type) {
+    switch (type) {
+      case BYTE:
+      case SHORT:
+      case INTEGER:
+        return true;
+      default:
+        return false;
+    }
+  }
+}
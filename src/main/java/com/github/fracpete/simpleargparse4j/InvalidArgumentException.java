@@ -15,12 +15,63 @@ import com.github.fracpete.simpleargparse4j.Option.Type;
 public class InvalidArgumentException
   extends ArgumentParserException {
 
+  /** the flag with the invalid argument. */
+  protected String m_Flag;
+
+  /** the expected type. */
+  protected Type m_Type;
+
+  /** the invalid value. */
+  protected String m_Value;
+
   /**
    * Initializes the exception.
    *
    * @param flag 	the flag that had no argument supplied
    */
   public InvalidArgumentException(String flag, Type type, String value) {
-    super("Invalid argument for '" + flag + "': expected " + type + ", but encountered '" + value + "'");
+    this(flag, type, value, true);
+  }
+
+  /**
+   * Initializes the exception.
+   *
+   * @param flag 	the flag that had an invalid argument supplied
+   * @param type 	the expected type
+   * @param value 	the invalid value
+   * @param stackTrace	whether to fill in the stack trace
+   */
+  public InvalidArgumentException(String flag, Type type, String value, boolean stackTrace) {
+    super("Invalid argument for '" + flag + "': expected " + type + ", but encountered '" + value + "'", stackTrace);
+    m_Flag  = flag;
+    m_Type  = type;
+    m_Value = value;
+  }
+
+  /**
+   * Returns the flag that had an invalid argument supplied.
+   *
+   * @return		the flag
+   */
+  public String getFlag() {
+    return m_Flag;
+  }
+
+  /**
+   * Returns the expected type.
+   *
+   * @return		the type
+   */
+  public Type getType() {
+    return m_Type;
+  }
+
+  /**
+   * Returns the invalid value.
+   *
+   * @return		the value
+   */
+  public String getValue() {
+    return m_Value;
   }
 }
@@ -0,0 +1,105 @@
+/*
+ * ListOption.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j;
+
+import java.io.File;
+
+/**
+ * Option that can occur multiple times, whose values are retrieved via
+ * {@link Namespace#get(ListOption)}. The class of the elements has to be
+ * supplied along with the type, e.g.:
+ * <pre>
+ * ListOption&lt;Long&gt; ids = new ListOption&lt;&gt;("--id", Type.LONG, Long.class);
+ * </pre>
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ * @param <T>	the type of the list elements
+ */
+public class ListOption<T>
+  extends TypedOption {
+
+  /** the class of the elements. */
+  protected Class<T> m_ElementClass;
+
+  /**
+   * Initializes the option.
+   *
+   * @param flag	the flag (eg "-X" or "--XXX")
+   * @param type	the type of the elements
+   * @param elementClass	the class of the elements, must match the type
+   * @throws IllegalArgumentException	if the class doesn't match the type
+   */
+  public ListOption(String flag, Type type, Class<T> elementClass) {
+    this(flag, null, type, elementClass);
+  }
+
+  /**
+   * Initializes the option.
+   *
+   * @param flag	the flag (eg "-X" or "--XXX")
+   * @param secondFlag 	the second flag (eg a long version "--XXX")
+   * @param type	the type of the elements
+   * @param elementClass	the class of the elements, must match the type
+   * @throws IllegalArgumentException	if the class doesn't match the type
+   */
+  public ListOption(String flag, String secondFlag, Type type, Class<T> elementClass) {
+    super(flag, secondFlag, type, true);
+    if (elementClassFor(type) != elementClass)
+      throw new IllegalArgumentException("Type " + type + " requires elements of " + elementClassFor(type).getName() + ", not " + elementClass.getName() + ": " + getFlag());
+    m_ElementClass = elementClass;
+  }
+
+  /**
+   * Returns the class of the elements that the type generates.
+   *
+   * @param type	the type
+   * @return		the class
+   */
+  public static Class<?> elementClassFor(Type type) {
+    switch (type) {
+      case STRING:
+        return String.class;
+      case BOOLEAN:
+        return Boolean.class;
+      case BYTE:
+        return Byte.class;
+      case SHORT:
+        return Short.class;
+      case INTEGER:
+        return Integer.class;
+      case LONG:
+        return Long.class;
+      case FLOAT:
+        return Float.class;
+      case DOUBLE:
+        return Double.class;
+      case GLOB:
+        return Glob.class;
+      default:
+        return File.class;
+    }
+  }
+
+  /**
+   * Returns the class of the elements.
+   *
+   * @return		the class
+   */
+  public Class<T> getElementClass() {
+    return m_ElementClass;
+  }
+
+  /**
+   * Returns whether the type is supported by this option.
+   *
+   * @param type	the type to check
+   * @return		true if the type generates elements of the option's class
+   */
+  @Override
+  protected boolean isCompatible(Type type) {
+    return (elementClassFor(type) == m_ElementClass);
+  }
+}
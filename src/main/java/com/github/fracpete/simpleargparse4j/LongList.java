@@ -0,0 +1,167 @@
+/*
+ * LongList.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of long values.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+public class LongList
+  extends PrimitiveList<Long> {
+
+  /** the values. */
+  protected long[] m_Data;
+
+  /**
+   * Initializes the list with the default capacity.
+   */
+  public LongList() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Initializes the list.
+   *
+   * @param capacity	the initial capacity
+   */
+  public LongList(int capacity) {
+    m_Data = new long[capacity];
+  }
+
+  /**
+   * Returns the capacity of the internal array.
+   *
+   * @return		the capacity
+   */
+  @Override
+  protected int capacity() {
+    return m_Data.length;
+  }
+
+  /**
+   * Resizes the internal array.
+   *
+   * @param capacity	the new capacity
+   */
+  @Override
+  protected void resize(int capacity) {
+    m_Data = Arrays.copyOf(m_Data, capacity);
+  }
+
+  /**
+   * Appends the value.
+   *
+   * @param value	the value to add
+   */
+  public void add(long value) {
+    if (m_Size == m_Data.length)
+      ensureCapacity(m_Size + 1);
+    m_Data[m_Size++] = value;
+    modCount++;
+  }
+
+  /**
+   * Returns the value at the specified position.
+   *
+   * @param index	the position
+   * @return		the value
+   */
+  public long getLong(int index) {
+    checkIndex(index);
+    return m_Data[index];
+  }
+
+  /**
+   * Returns the values, with the internal array trimmed to the number of
+   * elements if necessary. The array is shared with the list, i.e., no
+   * copy is made once the list has been trimmed.
+   *
+   * @return		the values
+   */
+  public long[] elements() {
+    trimToSize();
+    return m_Data;
+  }
+
+  /**
+   * Returns the (boxed) value at the specified position.
+   *
+   * @param index	the position
+   * @return		the value
+   */
+  @Override
+  public Long get(int index) {
+    return getLong(index);
+  }
+
+  /**
+   * Replaces the value at the specified position.
+   *
+   * @param index	the position
+   * @param element	the new value
+   * @return		the previous value
+   */
+  @Override
+  public Long set(int index, Long element) {
+    long	result;
+
+    checkIndex(index);
+    result        = m_Data[index];
+    m_Data[index] = element;
+
+    return result;
+  }
+
+  /**
+   * Appends the (boxed) value.
+   *
+   * @param element	the value to add
+   * @return		always true
+   */
+  @Override
+  public boolean add(Long element) {
+    add((long) element);
+    return true;
+  }
+
+  /**
+   * Inserts the value at the specified position.
+   *
+   * @param index	the position
+   * @param element	the value to insert
+   */
+  @Override
+  public void add(int index, Long element) {
+    checkPosition(index);
+    ensureCapacity(m_Size + 1);
+    System.arraycopy(m_Data, index, m_Data, index + 1, m_Size - index);
+    m_Data[index] = element;
+    m_Size++;
+    modCount++;
+  }
+
+  /**
+   * Removes the value at the specified position.
+   *
+   * @param index	the position
+   * @return		the removed value
+   */
+  @Override
+  public Long remove(int index) {
+    long	result;
+
+    checkIndex(index);
+    result = m_Data[index];
+    System.arraycopy(m_Data, index + 1, m_Data, index, m_Size - index - 1);
+    m_Size--;
+    modCount++;
+
+    return result;
+  }
+}
@@ -0,0 +1,53 @@
+/*
+ * LongOption.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j;
+
+/**
+ * Long option (or byte/short/int) whose value is retrieved via {@link Namespace#get(LongOption)}.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+public class LongOption
+  extends TypedOption {
+
+  /**
+   * Initializes the option.
+   *
+   * @param flag	the flag (eg "-X" or "--XXX")
+   */
+  public LongOption(String flag) {
+    this(flag, null);
+  }
+
+  /**
+   * Initializes the option.
+   *
+   * @param flag	the flag (eg "-X" or "--XXX")
+   * @param secondFlag 	the second flag (eg a long version "--XXX")
+   */
+  public LongOption(String flag, String secondFlag) {
+    super(flag, secondFlag, Type.LONG, false);
+  }
+
+  /**
+   * Returns whether the type is supported by this option.
+   *
+   * @param type	the type to check
+   * @return		true if supported
+   */
+  @Override
+  protected boolean isCompatible(Type type) {
+    switch (type) {
+      case BYTE:
+      case SHORT:
+      case INTEGER:
+      case LONG:
+        return true;
+      default:
+        return false;
+    }
+  }
+}
@@ -13,12 +13,35 @@ package com.github.fracpete.simpleargparse4j;
 public class MissingArgumentException
   extends ArgumentParserException {
 
+  /** the flag missing its argument. */
+  protected String m_Flag;
+
   /**
    * Initializes the exception.
    *
    * @param flag 	the flag that had no argument supplied
    */
   public MissingArgumentException(String flag) {
-    super("No argument supplied: " + flag);
+    this(flag, true);
+  }
+
+  /**
+   * Initializes the exception.
+   *
+   * @param flag 	the flag that had no argument supplied
+   * @param stackTrace	whether to fill in the stack trace
+   */
+  public MissingArgumentException(String flag, boolean stackTrace) {
+    super("No argument supplied: " + flag, stackTrace);
+    m_Flag = flag;
+  }
+
+  /**
+   * Returns the flag that had no argument supplied.
+   *
+   * @return		the flag
+   */
+  public String getFlag() {
+    return m_Flag;
   }
 }
@@ -5,23 +5,153 @@
 
 package com.github.fracpete.simpleargparse4j;
 
+import com.github.fracpete.simpleargparse4j.NamespaceLayout.Storage;
+
 import java.io.File;
 import java.io.Serializable;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
- * For storing parsed options.
+ * For storing parsed options. Each destination gets a fixed slot (see
+ * {@link NamespaceLayout}), with the values stored in primitive arrays
+ * where the type of the option allows it. This way the typed getters
+ * don't have to box or re-parse values.
+ * <br>
+ * Slots that haven't been written read through to the shared defaults
+ * table of the layout (see {@link NamespaceLayout#getDefaults()}), i.e.,
+ * a namespace only allocates storage for the slots it writes. The lists
+ * of multi-valued options that weren't supplied are read-only, values get
+ * added via {@link #addValue(String, Object)}, which copies the list of
+ * defaults on the first write.
+ * <br>
+ * With lazy conversion (see {@link ArgumentParser#lazy(boolean)}), the
+ * supplied strings only get converted and validated when their slot gets
+ * accessed the first time. An invalid value then results in an
+ * {@link IllegalArgumentException}. As accessing a slot can modify it,
+ * a namespace should not be read from multiple threads in that case.
+ * Otherwise reading does not modify a namespace, i.e., it can be read from
+ * multiple threads as long as none of them modifies it.
  *
  * @author FracPete (fracpete at waikato dot ac dot nz)
  */
 public class Namespace
   implements Serializable {
 
-  /** for storing the options (name - value). */
-  protected Map<String,Object> m_Values;
+  /** the slot hasn't been set. */
+  protected final static byte UNSET = 0;
+
+  /** the slot stores a primitive value. */
+  protected final static byte PRIMITIVE = 1;
+
+  /** the slot stores an object. */
+  protected final static byte BOXED = 2;
+
+  /** the slot stores the unconverted value(s), either as string or {@link RawValue}. */
+  protected final static byte RAW = 3;
+
+  /**
+   * The unconverted value(s) of an option, which get converted when the
+   * slot gets accessed the first time (lazy conversion). Only used for
+   * multi-valued options and options other than the first one of a slot,
+   * otherwise the string itself gets stored.
+   */
+  protected static class RawValue
+    implements Serializable {
+
+    /** the option the value(s) belong to. */
+    protected Option m_Option;
+
+    /** the unconverted value (single-valued option). */
+    protected String m_Value;
+
+    /** the list to add the values to (multi-valued option). */
+    protected Object m_List;
+
+    /** the unconverted values (multi-valued option). */
+    protected List<String> m_Values;
+
+    /**
+     * Initializes the raw value of a single-valued option.
+     *
+     * @param option	the option
+     * @param value	the unconverted value
+     */
+    public RawValue(Option option, String value) {
+      m_Option = option;
+      m_Value  = value;
+    }
+
+    /**
+     * Initializes the raw values of a multi-valued option.
+     *
+     * @param option	the option
+     * @param list	the list to add the converted values to
+     */
+    public RawValue(Option option, Object list) {
+      m_Option = option;
+      m_List   = list;
+      m_Values = new ArrayList<>();
+    }
+
+    /**
+     * Returns the unconverted value(s) in a string representation.
+     *
+     * @return		the string representation
+     */
+    @Override
+    public String toString() {
+      List<Object>	all;
+
+      if (m_Values == null)
+        return m_Value;
+      all = new ArrayList<>();
+      if (m_List instanceof List)
+        all.addAll((List<?>) m_List);
+      all.addAll(m_Values);
+      return all.toString();
+    }
+  }
+
+  /** the layout of the slots. */
+  protected NamespaceLayout m_Layout;
+
+  /** the defaults table to read unwritten slots from (null if this is the table). */
+  protected Namespace m_Defaults;
+
+  /** the slots written to this namespace (null if this is the defaults table). */
+  protected BitSet m_Written;
+
+  /** the state of each slot (null until the first write). */
+  protected byte[] m_State;
+
+  /** the boolean values (null until a boolean gets stored). */
+  protected boolean[] m_Booleans;
+
+  /** the byte/short/int values (null until such a value gets stored). */
+  protected int[] m_Ints;
+
+  /** the long values (null until a long gets stored). */
+  protected long[] m_Longs;
+
+  /** the float/double values (null until such a value gets stored). */
+  protected double[] m_Doubles;
+
+  /** the objects, e.g., strings, files and lists (null until an object gets stored). */
+  protected Object[] m_Objects;
+
+  /** for storing values of names that aren't associated with an option (name - value). */
+  protected Map<String,Object> m_Others;
+
+  /** whether help got requested. */
+  protected boolean m_HelpRequested;
 
   /**
    * Initializes the namespace.
@@ -29,87 +159,148 @@ public class Namespace
    * @param options	the options to initialize with
    */
   public Namespace(List<Option> options) {
-    m_Values = new HashMap<>();
-    init(options);
+    this(new NamespaceLayout(options));
   }
 
   /**
-   * Initializes the namespace with the given options.
+   * Initializes the namespace with the defaults table of the layout
+   * (see {@link NamespaceLayout#getDefaults()}).
    *
-   * @param options	the options to initialize with
+   * @param layout	the (precomputed) layout to use
    */
-  protected void init(List<Option> options) {
-    for (Option option: options) {
+  public Namespace(NamespaceLayout layout) {
+    this(layout, layout.getDefaults());
+  }
+
+  /**
+   * Initializes the namespace. With a defaults table, nothing gets copied:
+   * the slots read through to the table until they get written. Without a
+   * defaults table, the defaults get determined from the options.
+   *
+   * @param layout	the (precomputed) layout to use
+   * @param defaults	the defaults table, null to initialize from the options
+   */
+  protected Namespace(NamespaceLayout layout, Namespace defaults) {
+    m_Layout   = layout;
+    m_Defaults = defaults;
+    if (defaults != null) {
+      m_Written = new BitSet();
+    }
+    else {
+      m_State = new byte[layout.size()];
+      init();
+    }
+  }
+
+  /**
+   * Creates the defaults table for the layout, which namespaces read their
+   * unwritten slots from. The table itself never gets modified: the lists
+   * of multi-valued options are stored as read-only copies and namespaces
+   * copy them on the first write (see {@link #writableList(int)}).
+   *
+   * @param layout	the layout to create the table for
+   * @return		the defaults table
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  protected static Namespace newDefaults(NamespaceLayout layout) {
+    Namespace	result;
+    List	list;
+    int		slot;
+
+    result = new Namespace(layout, null);
+    for (slot = 0; slot < layout.size(); slot++) {
+      if ((result.m_State[slot] == BOXED) && layout.getOption(slot).isMultiple() && (result.m_Objects[slot] instanceof List)) {
+        list = newList(layout.getOption(slot));
+        list.addAll((List) result.m_Objects[slot]);
+        result.m_Objects[slot] = Collections.unmodifiableList(list);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Creates an empty list for the values of the multi-valued option,
+   * using primitive lists for numeric types.
+   *
+   * @param option	the option to create the list for
+   * @return		the list
+   */
+  protected static List<?> newList(Option option) {
+    switch (option.getType()) {
+      case BOOLEAN:
+        return new ArrayList<Boolean>();
+      case BYTE:
+        return new ByteList();
+      case SHORT:
+        return new ShortList();
+      case INTEGER:
+        return new IntList();
+      case LONG:
+        return new LongList();
+      case FLOAT:
+        return new FloatList();
+      case DOUBLE:
+        return new DoubleList();
+      case STRING:
+        return new ArrayList<String>();
+      case FILE:
+      case DIRECTORY:
+      case FILE_OR_DIRECTORY:
+      case EXISTING_FILE:
+      case EXISTING_DIR:
+      case EXISTING_FILE_OR_DIRECTORY:
+      case NONEXISTING_FILE:
+      case NONEXISTING_DIR:
+      case NONEXISTING_FILE_OR_DIRECTORY:
+        return new ArrayList<File>();
+      case GLOB:
+        return new ArrayList<Glob>();
+      default:
+        throw new IllegalStateException("Unhandled list type (for option '" + option.getDest() + "'): " + option.getType());
+    }
+  }
+
+  /**
+   * Initializes the slots with the defaults of the options.
+   */
+  protected void init() {
+    List<Option>	options;
+    Option		option;
+    int			slot;
+    int			i;
+
+    options = m_Layout.getOptions();
+    for (i = 0; i < options.size(); i++) {
+      option = options.get(i);
+      slot   = m_Layout.getSlotForOption(i);
       if (option.getDefault() != null)
-	m_Values.put(option.getDest(), option.getDefault());
+	setValue(slot, option.getDefault());
 
-      if (!m_Values.containsKey(option.getDest())) {
+      if (m_State[slot] == UNSET) {
 	if (option.isMultiple()) {
-	  switch (option.getType()) {
-	    case BOOLEAN:
-	      setDefault(option.getDest(), new ArrayList<Boolean>());
-	      break;
-	    case BYTE:
-	      setDefault(option.getDest(), new ArrayList<Byte>());
-	      break;
-	    case SHORT:
-	      setDefault(option.getDest(), new ArrayList<Short>());
-	      break;
-	    case INTEGER:
-	      setDefault(option.getDest(), new ArrayList<Integer>());
-	      break;
-	    case LONG:
-	      setDefault(option.getDest(), new ArrayList<Long>());
-	      break;
-	    case FLOAT:
-	      setDefault(option.getDest(), new ArrayList<Float>());
-	      break;
-	    case DOUBLE:
-	      setDefault(option.getDest(), new ArrayList<Double>());
-	      break;
-	    case STRING:
-	      setDefault(option.getDest(), new ArrayList<String>());
-	      break;
-	    case FILE:
-	    case DIRECTORY:
-	    case FILE_OR_DIRECTORY:
-	    case EXISTING_FILE:
-	    case EXISTING_DIR:
-	    case EXISTING_FILE_OR_DIRECTORY:
-	    case NONEXISTING_FILE:
-	    case NONEXISTING_DIR:
-	    case NONEXISTING_FILE_OR_DIRECTORY:
-	      setDefault(option.getDest(), new ArrayList<File>());
-	      break;
-	    default:
-	      throw new IllegalStateException("Unhandled list type (for option '" + option.getDest() + "'): " + option.getType());
-	  }
+	  setValue(slot, newList(option));
 	}
 	else if (option.hasDefaultValue()) {
 	  switch (option.getType()) {
 	    case BOOLEAN:
-	      setDefault(option.getDest(), false);
+	      setBoolean(slot, false);
 	      break;
 	    case BYTE:
-	      setDefault(option.getDest(), 0);
-	      break;
 	    case SHORT:
-	      setDefault(option.getDest(), 0);
-	      break;
 	    case INTEGER:
-	      setDefault(option.getDest(), 0);
+	      setInt(slot, 0);
 	      break;
 	    case LONG:
-	      setDefault(option.getDest(), 0L);
+	      setLong(slot, 0L);
 	      break;
 	    case FLOAT:
-	      setDefault(option.getDest(), 0.0f);
+	      setFloat(slot, 0.0f);
 	      break;
 	    case DOUBLE:
-	      setDefault(option.getDest(), 0.0);
+	      setDouble(slot, 0.0);
 	      break;
 	    case STRING:
-	      setDefault(option.getDest(), "");
+	      setValue(slot, "");
 	      break;
 	    case FILE:
 	    case DIRECTORY:
@@ -120,7 +311,9 @@ public class Namespace
 	    case NONEXISTING_FILE:
 	    case NONEXISTING_DIR:
 	    case NONEXISTING_FILE_OR_DIRECTORY:
-	      setDefault(option.getDest(), new File("."));
+	      setValue(slot, new File("."));
+	      break;
+	    case GLOB:
 	      break;
 	    default:
 	      throw new IllegalStateException("Unhandled list type (for option '" + option.getDest() + "'): " + option.getType());
@@ -130,6 +323,387 @@ public class Namespace
     }
   }
 
+  /**
+   * Returns the layout in use.
+   *
+   * @return		the layout
+   */
+  public NamespaceLayout getLayout() {
+    return m_Layout;
+  }
+
+  /**
+   * Returns the slot for the name.
+   *
+   * @param name	the name
+   * @return		the slot, -1 if not associated with an option
+   */
+  protected int slot(String name) {
+    return m_Layout.getSlot(name);
+  }
+
+  /**
+   * Stores a value for a name that isn't associated with an option.
+   *
+   * @param name	the name
+   * @param value	the value
+   */
+  protected void setOther(String name, Object value) {
+    if (m_Others == null)
+      m_Others = new HashMap<>();
+    m_Others.put(name, value);
+  }
+
+  /**
+   * Returns the namespace that stores the slot, i.e., this namespace if
+   * the slot got written, otherwise the defaults table.
+   *
+   * @param slot	the slot
+   * @return		the namespace to read the slot from
+   */
+  protected Namespace source(int slot) {
+    if ((m_Defaults == null) || m_Written.get(slot))
+      return this;
+    return m_Defaults;
+  }
+
+  /**
+   * Marks the slot as written, allocating the state array on the first
+   * write.
+   *
+   * @param slot	the slot
+   */
+  protected void written(int slot) {
+    if (m_State == null)
+      m_State = new byte[m_Layout.size()];
+    if (m_Defaults != null)
+      m_Written.set(slot);
+  }
+
+  /**
+   * Stores the object in the slot.
+   *
+   * @param slot	the slot
+   * @param value	the object
+   * @param state	the state of the slot, {@link #BOXED} or {@link #RAW}
+   */
+  protected void setObject(int slot, Object value, byte state) {
+    written(slot);
+    if (m_Objects == null)
+      m_Objects = new Object[m_Layout.size()];
+    m_Objects[slot] = value;
+    m_State[slot]   = state;
+  }
+
+  /**
+   * Stores the value in the slot. Uses the primitive storage if the value
+   * matches the storage of the slot.
+   *
+   * @param slot	the slot
+   * @param value	the value
+   */
+  protected void setValue(int slot, Object value) {
+    switch (m_Layout.getStorage(slot)) {
+      case BOOLEAN:
+        if (value instanceof Boolean) {
+          setBoolean(slot, (Boolean) value);
+          return;
+	}
+        break;
+      case INT:
+        if ((value instanceof Integer) || (value instanceof Short) || (value instanceof Byte)) {
+          setInt(slot, ((Number) value).intValue());
+          return;
+	}
+        break;
+      case LONG:
+        if ((value instanceof Long) || (value instanceof Integer) || (value instanceof Short) || (value instanceof Byte)) {
+          setLong(slot, ((Number) value).longValue());
+          return;
+	}
+        break;
+      case FLOAT:
+        if (value instanceof Float) {
+          setFloat(slot, (Float) value);
+          return;
+	}
+        break;
+      case DOUBLE:
+        if (value instanceof Double) {
+          setDouble(slot, (Double) value);
+          return;
+	}
+        break;
+    }
+
+    setObject(slot, value, BOXED);
+  }
+
+  /**
+   * Stores the boolean in the slot.
+   *
+   * @param slot	the slot
+   * @param value	the value
+   */
+  protected void setBoolean(int slot, boolean value) {
+    if (m_Layout.getStorage(slot) != Storage.BOOLEAN) {
+      setObject(slot, value, BOXED);
+      return;
+    }
+    written(slot);
+    if (m_Booleans == null)
+      m_Booleans = new boolean[m_Layout.size()];
+    m_Booleans[slot] = value;
+    m_State[slot]    = PRIMITIVE;
+  }
+
+  /**
+   * Stores the int in the slot.
+   *
+   * @param slot	the slot
+   * @param value	the value
+   */
+  protected void setInt(int slot, int value) {
+    if (m_Layout.getStorage(slot) == Storage.LONG) {
+      setLong(slot, value);
+      return;
+    }
+    if (m_Layout.getStorage(slot) != Storage.INT) {
+      setObject(slot, value, BOXED);
+      return;
+    }
+    written(slot);
+    if (m_Ints == null)
+      m_Ints = new int[m_Layout.size()];
+    m_Ints[slot]  = value;
+    m_State[slot] = PRIMITIVE;
+  }
+
+  /**
+   * Stores the long in the slot.
+   *
+   * @param slot	the slot
+   * @param value	the value
+   */
+  protected void setLong(int slot, long value) {
+    if (m_Layout.getStorage(slot) != Storage.LONG) {
+      setObject(slot, value, BOXED);
+      return;
+    }
+    written(slot);
+    if (m_Longs == null)
+      m_Longs = new long[m_Layout.size()];
+    m_Longs[slot] = value;
+    m_State[slot] = PRIMITIVE;
+  }
+
+  /**
+   * Stores the float in the slot.
+   *
+   * @param slot	the slot
+   * @param value	the value
+   */
+  protected void setFloat(int slot, float value) {
+    if (m_Layout.getStorage(slot) != Storage.FLOAT) {
+      setObject(slot, value, BOXED);
+      return;
+    }
+    written(slot);
+    if (m_Doubles == null)
+      m_Doubles = new double[m_Layout.size()];
+    m_Doubles[slot] = value;
+    m_State[slot]   = PRIMITIVE;
+  }
+
+  /**
+   * Stores the double in the slot.
+   *
+   * @param slot	the slot
+   * @param value	the value
+   */
+  protected void setDouble(int slot, double value) {
+    if (m_Layout.getStorage(slot) != Storage.DOUBLE) {
+      setObject(slot, value, BOXED);
+      return;
+    }
+    written(slot);
+    if (m_Doubles == null)
+      m_Doubles = new double[m_Layout.size()];
+    m_Doubles[slot] = value;
+    m_State[slot]   = PRIMITIVE;
+  }
+
+  /**
+   * Checks whether the slot stores a primitive value of the specified storage.
+   *
+   * @param slot	the slot, can be -1
+   * @param storage	the storage to check
+   * @return		true if primitive of that storage
+   */
+  protected boolean isPrimitive(int slot, Storage storage) {
+    Namespace	source;
+
+    if (slot == -1)
+      return false;
+    source = source(slot);
+    if (source.m_State[slot] == RAW)
+      resolve(slot);
+    return (source.m_State[slot] == PRIMITIVE) && (m_Layout.getStorage(slot) == storage);
+  }
+
+  /**
+   * Stores the unconverted value of the option in the slot, to be
+   * converted on first access. For a multi-valued option, the value gets
+   * added to the values already supplied.
+   *
+   * @param slot	the slot
+   * @param option	the option the value belongs to
+   * @param value	the unconverted value
+   */
+  protected void storeRaw(int slot, Option option, String value) {
+    RawValue	raw;
+
+    if (option.isMultiple()) {
+      if (source(slot).m_State[slot] == RAW) {
+        raw = (RawValue) m_Objects[slot];
+      }
+      else {
+        raw = new RawValue(option, writableList(slot));
+        setObject(slot, raw, RAW);
+      }
+      raw.m_Values.add(value);
+    }
+    else {
+      setObject(slot, (option == m_Layout.getOption(slot)) ? value : new RawValue(option, value), RAW);
+    }
+  }
+
+  /**
+   * Converts the unconverted value(s) in the slot and stores the result.
+   * In case of a conversion failure, the slot remains unconverted.
+   *
+   * @param slot	the slot
+   * @throws IllegalArgumentException	if a value cannot be converted
+   */
+  protected void resolve(int slot) {
+    RawValue	raw;
+    Conversion	conversion;
+    String	invalid;
+    int		size;
+
+    if (m_Objects[slot] instanceof String)
+      raw = new RawValue(m_Layout.getOption(slot), (String) m_Objects[slot]);
+    else
+      raw = (RawValue) m_Objects[slot];
+    conversion = new Conversion();
+    invalid    = null;
+
+    if (raw.m_Values == null) {
+      if (raw.m_Option.convert(raw.m_Value, conversion))
+        store(slot, raw.m_Option, conversion);
+      else
+        invalid = raw.m_Value;
+    }
+    else {
+      setObject(slot, raw.m_List, BOXED);
+      size = ((List<?>) raw.m_List).size();
+      for (String value: raw.m_Values) {
+        if (raw.m_Option.hasSeparator())
+          invalid = storeSeparated(slot, raw.m_Option, value, conversion);
+        else if (raw.m_Option.convert(value, conversion))
+          store(slot, raw.m_Option, conversion);
+        else
+          invalid = value;
+        if (invalid != null) {
+          ((List<?>) raw.m_List).subList(size, ((List<?>) raw.m_List).size()).clear();
+          setObject(slot, raw, RAW);
+          break;
+        }
+      }
+    }
+
+    if (invalid != null) {
+      InvalidArgumentException e = new InvalidArgumentException(raw.m_Option.getFlag(), raw.m_Option.getType(), invalid, false);
+      throw new IllegalArgumentException(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Returns the list in the slot for adding values. If the slot hasn't
+   * been written yet, the (read-only) list of the defaults table gets
+   * copied into the slot first.
+   *
+   * @param slot	the slot
+   * @return		the list, null if the slot doesn't store one
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  protected Object writableList(int slot) {
+    Object	defaults;
+    List	list;
+
+    if (source(slot) == this)
+      return getValue(slot);
+    defaults = m_Defaults.getValue(slot);
+    if (!(defaults instanceof List))
+      return defaults;
+    list = newList(m_Layout.getOption(slot));
+    list.addAll((List) defaults);
+    setObject(slot, list, BOXED);
+
+    return list;
+  }
+
+  /**
+   * Returns the value in the slot, boxing primitive values.
+   *
+   * @param slot	the slot
+   * @return		the value, null if not set
+   */
+  protected Object getValue(int slot) {
+    if (source(slot) != this)
+      return m_Defaults.getValue(slot);
+    if (m_State[slot] == RAW)
+      resolve(slot);
+    switch (m_State[slot]) {
+      case PRIMITIVE:
+        switch (m_Layout.getStorage(slot)) {
+	  case BOOLEAN:
+	    return m_Booleans[slot];
+	  case INT:
+	    return m_Ints[slot];
+	  case LONG:
+	    return m_Longs[slot];
+	  case FLOAT:
+	    return (float) m_Doubles[slot];
+	  case DOUBLE:
+	    return m_Doubles[slot];
+	  default:
+	    throw new IllegalStateException("Unhandled storage: " + m_Layout.getStorage(slot));
+	}
+      case BOXED:
+        return m_Objects[slot];
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Returns the value associated with the name, boxing primitive values.
+   *
+   * @param name	the name
+   * @return		the value, null if not set
+   */
+  public Object getValue(String name) {
+    int		slot;
+
+    slot = slot(name);
+    if (slot > -1)
+      return getValue(slot);
+    if (m_Others == null)
+      return null;
+    return m_Others.get(name);
+  }
+
   /**
    * Sets the default value for the named option.
    *
@@ -137,7 +711,7 @@ public class Namespace
    * @param value	the default value
    */
   public void setDefault(String name, String value) {
-    m_Values.put(name, value);
+    setValue(name, value);
   }
 
   /**
@@ -147,7 +721,13 @@ public class Namespace
    * @param value	the default value
    */
   public void setDefault(String name, boolean value) {
-    m_Values.put(name, value);
+    int		slot;
+
+    slot = slot(name);
+    if (slot > -1)
+      setBoolean(slot, value);
+    else
+      setOther(name, value);
   }
 
   /**
@@ -157,7 +737,13 @@ public class Namespace
    * @param value	the default value
    */
   public void setDefault(String name, byte value) {
-    m_Values.put(name, value);
+    int		slot;
+
+    slot = slot(name);
+    if (slot > -1)
+      setInt(slot, value);
+    else
+      setOther(name, value);
   }
 
   /**
@@ -167,7 +753,13 @@ public class Namespace
    * @param value	the default value
    */
   public void setDefault(String name, short value) {
-    m_Values.put(name, value);
+    int		slot;
+
+    slot = slot(name);
+    if (slot > -1)
+      setInt(slot, value);
+    else
+      setOther(name, value);
   }
 
   /**
@@ -177,7 +769,13 @@ public class Namespace
    * @param value	the default value
    */
   public void setDefault(String name, int value) {
-    m_Values.put(name, value);
+    int		slot;
+
+    slot = slot(name);
+    if (slot > -1)
+      setInt(slot, value);
+    else
+      setOther(name, value);
   }
 
   /**
@@ -187,7 +785,13 @@ public class Namespace
    * @param value	the default value
    */
   public void setDefault(String name, long value) {
-    m_Values.put(name, value);
+    int		slot;
+
+    slot = slot(name);
+    if (slot > -1)
+      setLong(slot, value);
+    else
+      setOther(name, value);
   }
 
   /**
@@ -197,7 +801,13 @@ public class Namespace
    * @param value	the default value
    */
   public void setDefault(String name, float value) {
-    m_Values.put(name, value);
+    int		slot;
+
+    slot = slot(name);
+    if (slot > -1)
+      setFloat(slot, value);
+    else
+      setOther(name, value);
   }
 
   /**
@@ -207,7 +817,13 @@ public class Namespace
    * @param value	the default value
    */
   public void setDefault(String name, double value) {
-    m_Values.put(name, value);
+    int		slot;
+
+    slot = slot(name);
+    if (slot > -1)
+      setDouble(slot, value);
+    else
+      setOther(name, value);
   }
 
   /**
@@ -217,7 +833,7 @@ public class Namespace
    * @param value	the default value
    */
   public void setDefault(String name, File value) {
-    m_Values.put(name, value);
+    setValue(name, value);
   }
 
   /**
@@ -227,7 +843,7 @@ public class Namespace
    * @param value	the default value
    */
   public <E> void setDefault(String name, List<E> value) {
-    m_Values.put(name, value);
+    setValue(name, value);
   }
 
   /**
@@ -237,17 +853,267 @@ public class Namespace
    * @param value	the "parsed" value
    */
   public void setValue(String name, Object value) {
-    m_Values.put(name, value);
+    int		slot;
+
+    slot = slot(name);
+    if (slot > -1)
+      setValue(slot, value);
+    else
+      setOther(name, value);
   }
 
   /**
-   * Sets the "parsed" value for the named option.
+   * Adds the "parsed" value to the list of the named option.
    *
    * @param name	the name
    * @param value	the "parsed" value
    */
   public void addValue(String name, Object value) {
-    getList(name).add(value);
+    int		slot;
+
+    slot = slot(name);
+    if (slot > -1)
+      addValue(slot, value);
+    else
+      getList(name).add(value);
+  }
+
+  /**
+   * Adds the "parsed" value to the list in the slot.
+   *
+   * @param slot	the slot
+   * @param value	the "parsed" value
+   */
+  @SuppressWarnings("unchecked")
+  protected void addValue(int slot, Object value) {
+    ((List<Object>) writableList(slot)).add(value);
+  }
+
+  /**
+   * Adds the byte value to the list in the slot, without boxing if the
+   * slot stores a {@link ByteList}.
+   *
+   * @param slot	the slot
+   * @param value	the value to add
+   */
+  @SuppressWarnings("unchecked")
+  protected void addByte(int slot, byte value) {
+    Object	list;
+
+    list = writableList(slot);
+    if (list instanceof ByteList)
+      ((ByteList) list).add(value);
+    else
+      ((List<Object>) list).add(value);
+  }
+
+  /**
+   * Adds the short value to the list in the slot, without boxing if the
+   * slot stores a {@link ShortList}.
+   *
+   * @param slot	the slot
+   * @param value	the value to add
+   */
+  @SuppressWarnings("unchecked")
+  protected void addShort(int slot, short value) {
+    Object	list;
+
+    list = writableList(slot);
+    if (list instanceof ShortList)
+      ((ShortList) list).add(value);
+    else
+      ((List<Object>) list).add(value);
+  }
+
+  /**
+   * Adds the int value to the list in the slot, without boxing if the
+   * slot stores a {@link IntList}.
+   *
+   * @param slot	the slot
+   * @param value	the value to add
+   */
+  @SuppressWarnings("unchecked")
+  protected void addInt(int slot, int value) {
+    Object	list;
+
+    list = writableList(slot);
+    if (list instanceof IntList)
+      ((IntList) list).add(value);
+    else
+      ((List<Object>) list).add(value);
+  }
+
+  /**
+   * Adds the long value to the list in the slot, without boxing if the
+   * slot stores a {@link LongList}.
+   *
+   * @param slot	the slot
+   * @param value	the value to add
+   */
+  @SuppressWarnings("unchecked")
+  protected void addLong(int slot, long value) {
+    Object	list;
+
+    list = writableList(slot);
+    if (list instanceof LongList)
+      ((LongList) list).add(value);
+    else
+      ((List<Object>) list).add(value);
+  }
+
+  /**
+   * Adds the float value to the list in the slot, without boxing if the
+   * slot stores a {@link FloatList}.
+   *
+   * @param slot	the slot
+   * @param value	the value to add
+   */
+  @SuppressWarnings("unchecked")
+  protected void addFloat(int slot, float value) {
+    Object	list;
+
+    list = writableList(slot);
+    if (list instanceof FloatList)
+      ((FloatList) list).add(value);
+    else
+      ((List<Object>) list).add(value);
+  }
+
+  /**
+   * Adds the double value to the list in the slot, without boxing if the
+   * slot stores a {@link DoubleList}.
+   *
+   * @param slot	the slot
+   * @param value	the value to add
+   */
+  @SuppressWarnings("unchecked")
+  protected void addDouble(int slot, double value) {
+    Object	list;
+
+    list = writableList(slot);
+    if (list instanceof DoubleList)
+      ((DoubleList) list).add(value);
+    else
+      ((List<Object>) list).add(value);
+  }
+
+  /**
+   * Stores the converted value of the option in the slot, either setting
+   * it or adding it to the list in case of a multi-valued option.
+   *
+   * @param slot	the slot
+   * @param option	the option the value belongs to
+   * @param value	the successfully converted value
+   */
+  protected void store(int slot, Option option, Conversion value) {
+    if (option.isMultiple()) {
+      switch (option.getType()) {
+	case BOOLEAN:
+	  addValue(slot, value.getBoolean());
+	  break;
+	case BYTE:
+	  addByte(slot, (byte) value.getLong());
+	  break;
+	case SHORT:
+	  addShort(slot, (short) value.getLong());
+	  break;
+	case INTEGER:
+	  addInt(slot, (int) value.getLong());
+	  break;
+	case LONG:
+	  addLong(slot, value.getLong());
+	  break;
+	case FLOAT:
+	  addFloat(slot, (float) value.getDouble());
+	  break;
+	case DOUBLE:
+	  addDouble(slot, value.getDouble());
+	  break;
+	default:
+	  addValue(slot, value.getObject());
+      }
+    }
+    else {
+      switch (option.getType()) {
+	case BOOLEAN:
+	  setBoolean(slot, value.getBoolean());
+	  break;
+	case BYTE:
+	case SHORT:
+	case INTEGER:
+	  setInt(slot, (int) value.getLong());
+	  break;
+	case LONG:
+	  setLong(slot, value.getLong());
+	  break;
+	case FLOAT:
+	  setFloat(slot, (float) value.getDouble());
+	  break;
+	case DOUBLE:
+	  setDouble(slot, value.getDouble());
+	  break;
+	default:
+	  setValue(slot, value.getObject());
+      }
+    }
+  }
+
+  /**
+   * Converts the values in the argument, separated by the option's
+   * separator, and adds them to the list in the slot. The argument is
+   * scanned in place, numbers go straight into primitive lists. Stops at
+   * the first value that cannot be converted, in which case the values
+   * of the argument that were already added get removed again, i.e., an
+   * invalid argument contributes nothing.
+   *
+   * @param slot	the slot
+   * @param option	the multi-valued option with a separator
+   * @param value	the argument with the separated values
+   * @param conversion	for converting the values
+   * @return		null if successful, otherwise the invalid value
+   */
+  protected String storeSeparated(int slot, Option option, String value, Conversion conversion) {
+    Object	list;
+    boolean	written;
+    char	separator;
+    int		size;
+    int		count;
+    int		start;
+    int		end;
+    int		i;
+
+    separator = option.getSeparator();
+    written   = (source(slot) == this);
+    list      = writableList(slot);
+    size      = (list instanceof List) ? ((List<?>) list).size() : 0;
+    if (list instanceof PrimitiveList) {
+      count = 1;
+      for (i = 0; i < value.length(); i++) {
+        if (value.charAt(i) == separator)
+          count++;
+      }
+      ((PrimitiveList<?>) list).ensureCapacity(((PrimitiveList<?>) list).size() + count);
+    }
+
+    start = 0;
+    while (start <= value.length()) {
+      end = value.indexOf(separator, start);
+      if (end == -1)
+        end = value.length();
+      if (!option.convert(value, start, end, conversion)) {
+        if (list instanceof PrimitiveList)
+          ((PrimitiveList<?>) list).truncate(size);
+        else if (list instanceof List)
+          ((List<?>) list).subList(size, ((List<?>) list).size()).clear();
+        if (!written)
+          m_Written.clear(slot);
+        return value.substring(start, end);
+      }
+      store(slot, option, conversion);
+      start = end + 1;
+    }
+
+    return null;
   }
 
   /**
@@ -257,7 +1123,24 @@ public class Namespace
    * @return		the flipped value
    */
   public boolean flipDefault(String name) {
-    return !(m_Values.get(name).equals(true));
+    int		slot;
+
+    slot = slot(name);
+    if (slot > -1)
+      return flipDefault(slot);
+    return !(getValue(name).equals(true));
+  }
+
+  /**
+   * Returns the flipped default value of the slot.
+   *
+   * @param slot	the slot
+   * @return		the flipped value
+   */
+  protected boolean flipDefault(int slot) {
+    if (isPrimitive(slot, Storage.BOOLEAN))
+      return !source(slot).m_Booleans[slot];
+    return !(getValue(slot).equals(true));
   }
 
   /**
@@ -267,7 +1150,29 @@ public class Namespace
    * @return		the associated value
    */
   public String getString(String name) {
-    return (String) m_Values.get(name);
+    int		slot;
+
+    slot = slot(name);
+    if (slot > -1)
+      return readString(slot);
+    return (String) getValue(name);
+  }
+
+  /**
+   * Returns the string value in the slot.
+   *
+   * @param slot	the slot
+   * @return		the value
+   */
+  protected String readString(int slot) {
+    Namespace	source;
+
+    source = source(slot);
+    if (source.m_State[slot] == RAW)
+      resolve(slot);
+    if (source.m_State[slot] == PRIMITIVE)
+      return String.valueOf(getValue(slot));
+    return (String) getValue(slot);
   }
 
   /**
@@ -277,7 +1182,24 @@ public class Namespace
    * @return		the associated value
    */
   public boolean getBoolean(String name) {
-    return Boolean.parseBoolean("" + m_Values.get(name));
+    int		slot;
+
+    slot = slot(name);
+    if (slot > -1)
+      return readBoolean(slot);
+    return Boolean.parseBoolean("" + getValue(name));
+  }
+
+  /**
+   * Returns the boolean value in the slot.
+   *
+   * @param slot	the slot
+   * @return		the value
+   */
+  protected boolean readBoolean(int slot) {
+    if (isPrimitive(slot, Storage.BOOLEAN))
+      return source(slot).m_Booleans[slot];
+    return Boolean.parseBoolean("" + getValue(slot));
   }
 
   /**
@@ -287,7 +1209,16 @@ public class Namespace
    * @return		the associated value
    */
   public byte getByte(String name) {
-    return Byte.parseByte("" + m_Values.get(name));
+    int		slot;
+    int		value;
+
+    slot = slot(name);
+    if (isPrimitive(slot, Storage.INT)) {
+      value = source(slot).m_Ints[slot];
+      if ((value >= Byte.MIN_VALUE) && (value <= Byte.MAX_VALUE))
+	return (byte) value;
+    }
+    return Byte.parseByte("" + getValue(name));
   }
 
   /**
@@ -297,7 +1228,16 @@ public class Namespace
    * @return		the associated value
    */
   public short getShort(String name) {
-    return Short.parseShort("" + m_Values.get(name));
+    int		slot;
+    int		value;
+
+    slot = slot(name);
+    if (isPrimitive(slot, Storage.INT)) {
+      value = source(slot).m_Ints[slot];
+      if ((value >= Short.MIN_VALUE) && (value <= Short.MAX_VALUE))
+	return (short) value;
+    }
+    return Short.parseShort("" + getValue(name));
   }
 
   /**
@@ -307,7 +1247,24 @@ public class Namespace
    * @return		the associated value
    */
   public int getInt(String name) {
-    return Integer.parseInt("" + m_Values.get(name));
+    int		slot;
+
+    slot = slot(name);
+    if (slot > -1)
+      return readInt(slot);
+    return Integer.parseInt("" + getValue(name));
+  }
+
+  /**
+   * Returns the int value in the slot.
+   *
+   * @param slot	the slot
+   * @return		the value
+   */
+  protected int readInt(int slot) {
+    if (isPrimitive(slot, Storage.INT))
+      return source(slot).m_Ints[slot];
+    return Integer.parseInt("" + getValue(slot));
   }
 
   /**
@@ -317,7 +1274,26 @@ public class Namespace
    * @return		the associated value
    */
   public long getLong(String name) {
-    return Long.parseLong("" + m_Values.get(name));
+    int		slot;
+
+    slot = slot(name);
+    if (slot > -1)
+      return readLong(slot);
+    return Long.parseLong("" + getValue(name));
+  }
+
+  /**
+   * Returns the long value in the slot.
+   *
+   * @param slot	the slot
+   * @return		the value
+   */
+  protected long readLong(int slot) {
+    if (isPrimitive(slot, Storage.LONG))
+      return source(slot).m_Longs[slot];
+    if (isPrimitive(slot, Storage.INT))
+      return source(slot).m_Ints[slot];
+    return Long.parseLong("" + getValue(slot));
   }
 
   /**
@@ -327,7 +1303,12 @@ public class Namespace
    * @return		the associated value
    */
   public float getFloat(String name) {
-    return Float.parseFloat("" + m_Values.get(name));
+    int		slot;
+
+    slot = slot(name);
+    if (isPrimitive(slot, Storage.FLOAT) || isPrimitive(slot, Storage.DOUBLE))
+      return (float) source(slot).m_Doubles[slot];
+    return Float.parseFloat("" + getValue(name));
   }
 
   /**
@@ -337,7 +1318,24 @@ public class Namespace
    * @return		the associated value
    */
   public double getDouble(String name) {
-    return Double.parseDouble("" + m_Values.get(name));
+    int		slot;
+
+    slot = slot(name);
+    if (slot > -1)
+      return readDouble(slot);
+    return Double.parseDouble("" + getValue(name));
+  }
+
+  /**
+   * Returns the double value in the slot.
+   *
+   * @param slot	the slot
+   * @return		the value
+   */
+  protected double readDouble(int slot) {
+    if (isPrimitive(slot, Storage.DOUBLE))
+      return source(slot).m_Doubles[slot];
+    return Double.parseDouble("" + getValue(slot));
   }
 
   /**
@@ -347,13 +1345,77 @@ public class Namespace
    * @return		the associated value, null if not available
    */
   public File getFile(String name) {
-    if (m_Values.get(name) == null)
+    return toFile(getValue(name));
+  }
+
+  /**
+   * Returns the paths matching the glob(s) associated with an option name
+   * (see {@link Option.Type#GLOB}) as lazily populated stream, walking the
+   * directories while the stream gets consumed. The stream should be
+   * closed after use.
+   *
+   * @param name	the name
+   * @return		the matches, empty if no glob associated
+   * @see		Glob#stream()
+   */
+  public Stream<Path> getPaths(String name) {
+    Object	value;
+
+    value = getValue(name);
+    if (value instanceof Glob)
+      return ((Glob) value).stream();
+    if (value instanceof List) {
+      return ((List<?>) value).stream().flatMap(new Function<Object,Stream<Path>>() {
+	@Override
+	public Stream<Path> apply(Object glob) {
+	  return ((Glob) glob).stream();
+	}
+      });
+    }
+    return Stream.empty();
+  }
+
+  /**
+   * Returns the files matching the glob(s) associated with an option name
+   * (see {@link Option.Type#GLOB}), walking the directories in parallel.
+   *
+   * @param name	the name
+   * @return		the matches (sorted per glob), empty if no glob associated
+   * @see		Glob#expand()
+   */
+  public List<File> getMatches(String name) {
+    List<File>	result;
+    Object	value;
+
+    result = new ArrayList<>();
+    value  = getValue(name);
+    if (value instanceof Glob) {
+      result.addAll(((Glob) value).expand());
+    }
+    else if (value instanceof List) {
+      for (Object glob: (List<?>) value)
+	result.addAll(((Glob) glob).expand());
+    }
+    return result;
+  }
+
+  /**
+   * Turns the value into a file.
+   *
+   * @param value	the value to convert
+   * @return		the file, null if value is null
+   */
+  protected File toFile(Object value) {
+    if (value == null)
       return null;
-    return new File("" + m_Values.get(name));
+    if (value instanceof File)
+      return (File) value;
+    return new File("" + value);
   }
 
   /**
-   * Returns the list of values associated with an option name.
+   * Returns the list of values associated with an option name. The list
+   * of an option that wasn't supplied is the read-only list of defaults.
    *
    * @param name 	the name
    * @param <E>		the type of list
@@ -361,7 +1423,276 @@ public class Namespace
    */
   @SuppressWarnings("unchecked")
   public <E> List<E> getList(String name) {
-    return (List<E>) m_Values.get(name);
+    return (List<E>) getValue(name);
+  }
+
+  /**
+   * Returns the byte values of a multi-valued option. If the values are
+   * stored in a {@link ByteList}, its (trimmed) internal array is returned
+   * without copying.
+   *
+   * @param name	the name
+   * @return		the values, null if not available
+   */
+  public byte[] getByteArray(String name) {
+    Object	list;
+    byte[]	result;
+    int		i;
+
+    list = getValue(name);
+    if (list == null)
+      return null;
+    if (list instanceof ByteList)
+      return ((ByteList) list).elements();
+
+    result = new byte[((List) list).size()];
+    for (i = 0; i < result.length; i++)
+      result[i] = ((Number) ((List) list).get(i)).byteValue();
+
+    return result;
+  }
+
+  /**
+   * Returns the short values of a multi-valued option. If the values are
+   * stored in a {@link ShortList}, its (trimmed) internal array is returned
+   * without copying.
+   *
+   * @param name	the name
+   * @return		the values, null if not available
+   */
+  public short[] getShortArray(String name) {
+    Object	list;
+    short[]	result;
+    int		i;
+
+    list = getValue(name);
+    if (list == null)
+      return null;
+    if (list instanceof ShortList)
+      return ((ShortList) list).elements();
+
+    result = new short[((List) list).size()];
+    for (i = 0; i < result.length; i++)
+      result[i] = ((Number) ((List) list).get(i)).shortValue();
+
+    return result;
+  }
+
+  /**
+   * Returns the int values of a multi-valued option. If the values are
+   * stored in a {@link IntList}, its (trimmed) internal array is returned
+   * without copying.
+   *
+   * @param name	the name
+   * @return		the values, null if not available
+   */
+  public int[] getIntArray(String name) {
+    Object	list;
+    int[]	result;
+    int		i;
+
+    list = getValue(name);
+    if (list == null)
+      return null;
+    if (list instanceof IntList)
+      return ((IntList) list).elements();
+
+    result = new int[((List) list).size()];
+    for (i = 0; i < result.length; i++)
+      result[i] = ((Number) ((List) list).get(i)).intValue();
+
+    return result;
+  }
+
+  /**
+   * Returns the long values of a multi-valued option. If the values are
+   * stored in a {@link LongList}, its (trimmed) internal array is returned
+   * without copying.
+   *
+   * @param name	the name
+   * @return		the values, null if not available
+   */
+  public long[] getLongArray(String name) {
+    Object	list;
+    long[]	result;
+    int		i;
+
+    list = getValue(name);
+    if (list == null)
+      return null;
+    if (list instanceof LongList)
+      return ((LongList) list).elements();
+
+    result = new long[((List) list).size()];
+    for (i = 0; i < result.length; i++)
+      result[i] = ((Number) ((List) list).get(i)).longValue();
+
+    return result;
+  }
+
+  /**
+   * Returns the float values of a multi-valued option. If the values are
+   * stored in a {@link FloatList}, its (trimmed) internal array is returned
+   * without copying.
+   *
+   * @param name	the name
+   * @return		the values, null if not available
+   */
+  public float[] getFloatArray(String name) {
+    Object	list;
+    float[]	result;
+    int		i;
+
+    list = getValue(name);
+    if (list == null)
+      return null;
+    if (list instanceof FloatList)
+      return ((FloatList) list).elements();
+
+    result = new float[((List) list).size()];
+    for (i = 0; i < result.length; i++)
+      result[i] = ((Number) ((List) list).get(i)).floatValue();
+
+    return result;
+  }
+
+  /**
+   * Returns the double values of a multi-valued option. If the values are
+   * stored in a {@link DoubleList}, its (trimmed) internal array is returned
+   * without copying.
+   *
+   * @param name	the name
+   * @return		the values, null if not available
+   */
+  public double[] getDoubleArray(String name) {
+    Object	list;
+    double[]	result;
+    int		i;
+
+    list = getValue(name);
+    if (list == null)
+      return null;
+    if (list instanceof DoubleList)
+      return ((DoubleList) list).elements();
+
+    result = new double[((List) list).size()];
+    for (i = 0; i < result.length; i++)
+      result[i] = ((Number) ((List) list).get(i)).doubleValue();
+
+    return result;
+  }
+
+  /**
+   * Returns the slot of the option.
+   *
+   * @param option	the option
+   * @return		the slot
+   * @throws IllegalArgumentException	if the option is not part of this namespace
+   */
+  protected int slot(Option option) {
+    int		result;
+
+    result = m_Layout.getSlot(option);
+    if (result == -1)
+      throw new IllegalArgumentException("Option not part of namespace: " + option.getFlag());
+
+    return result;
+  }
+
+  /**
+   * Returns the value of the option.
+   *
+   * @param option	the option
+   * @return		the associated value
+   */
+  public boolean get(BooleanOption option) {
+    return readBoolean(slot(option));
+  }
+
+  /**
+   * Returns the value of the option.
+   *
+   * @param option	the option
+   * @return		the associated value
+   */
+  public int get(IntOption option) {
+    return readInt(slot(option));
+  }
+
+  /**
+   * Returns the value of the option.
+   *
+   * @param option	the option
+   * @return		the associated value
+   */
+  public long get(LongOption option) {
+    return readLong(slot(option));
+  }
+
+  /**
+   * Returns the value of the option.
+   *
+   * @param option	the option
+   * @return		the associated value
+   */
+  public double get(DoubleOption option) {
+    int		slot;
+
+    slot = slot(option);
+    if (isPrimitive(slot, Storage.FLOAT))
+      return (float) source(slot).m_Doubles[slot];
+    return readDouble(slot);
+  }
+
+  /**
+   * Returns the value of the option.
+   *
+   * @param option	the option
+   * @return		the associated value
+   */
+  public String get(StringOption option) {
+    return readString(slot(option));
+  }
+
+  /**
+   * Returns the value of the option.
+   *
+   * @param option	the option
+   * @return		the associated value, null if not available
+   */
+  public File get(FileOption option) {
+    return toFile(getValue(slot(option)));
+  }
+
+  /**
+   * Returns the values of the option, the read-only list of defaults if
+   * the option wasn't supplied.
+   *
+   * @param option	the option
+   * @param <T>		the type of the elements
+   * @return		the associated values
+   */
+  @SuppressWarnings("unchecked")
+  public <T> List<T> get(ListOption<T> option) {
+    return (List<T>) getValue(slot(option));
+  }
+
+  /**
+   * Sets whether help got requested.
+   *
+   * @param value	true if help got requested
+   */
+  public void setHelpRequested(boolean value) {
+    m_HelpRequested = value;
+  }
+
+  /**
+   * Returns whether help got requested while parsing.
+   *
+   * @return		true if help got requested
+   */
+  public boolean getHelpRequested() {
+    return m_HelpRequested;
   }
 
   /**
@@ -370,6 +1701,28 @@ public class Namespace
    * @return		the string representation
    */
   public String toString() {
-    return m_Values.toString();
+    StringBuilder	result;
+    Namespace		source;
+    int			i;
+
+    result = new StringBuilder("{");
+    for (i = 0; i < m_Layout.size(); i++) {
+      source = source(i);
+      if (source.m_State[i] == UNSET)
+        continue;
+      if (result.length() > 1)
+        result.append(", ");
+      result.append(m_Layout.getOption(i).getDest()).append("=").append((source.m_State[i] == RAW) ? m_Objects[i] : getValue(i));
+    }
+    if (m_Others != null) {
+      for (Map.Entry<String,Object> entry: m_Others.entrySet()) {
+	if (result.length() > 1)
+	  result.append(", ");
+	result.append(entry.getKey()).append("=").append(entry.getValue());
+      }
+    }
+    result.append("}");
+
+    return result.toString();
   }
 }
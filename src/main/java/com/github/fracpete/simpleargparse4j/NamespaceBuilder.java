@@ -0,0 +1,381 @@
+/*
+ * NamespaceBuilder.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+
+/**
+ * Event handler that converts the values and assembles them in a
+ * {@link Namespace}, checking that all required options were supplied.
+ * This is what {@link CompiledParser#parseArgs(String[], boolean, boolean)}
+ * uses. Alternatively, all problems can be collected rather than thrown
+ * (see {@link CompiledParser#validate(String[])}). A builder can only be
+ * used for a single parse.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+public class NamespaceBuilder
+  implements ParseHandler {
+
+  /** the parser. */
+  protected CompiledParser m_Parser;
+
+  /** whether to suppress help requests and missing required options. */
+  protected boolean m_NoErrors;
+
+  /** for collecting the problems, null if to throw them. */
+  protected List<ArgumentParserException> m_Errors;
+
+  /** the namespace being built. */
+  protected Namespace m_Namespace;
+
+  /** for converting the values. */
+  protected Conversion m_Conversion;
+
+  /** the slots of the destinations that were supplied. */
+  protected BitSet m_Supplied;
+
+  /** the number of slots with required options not supplied yet. */
+  protected int m_Missing;
+
+  /** whether the values of all file-typed options get checked asynchronously at the end. */
+  protected boolean m_Async;
+
+  /** the multi-valued file options whose values get checked at the end. */
+  protected List<Option> m_PendingOptions;
+
+  /** the values of the multi-valued file options to check at the end. */
+  protected List<String> m_PendingValues;
+
+  /**
+   * Initializes the builder.
+   *
+   * @param parser	the parser that produces the events
+   * @param noErrors 	if enabled, neither help requests nor missing required options throw exceptions
+   */
+  public NamespaceBuilder(CompiledParser parser, boolean noErrors) {
+    m_Parser     = parser;
+    m_NoErrors   = noErrors;
+    m_Namespace  = new Namespace(parser.getLayout());
+    m_Conversion = new Conversion();
+    m_Supplied   = new BitSet(parser.getLayout().size());
+    m_Missing    = parser.m_NumRequired;
+  }
+
+  /**
+   * Initializes the builder, collecting problems rather than throwing them.
+   * Help requests are not considered problems.
+   *
+   * @param parser	the parser that produces the events
+   * @param errors	the list to add the problems to
+   */
+  public NamespaceBuilder(CompiledParser parser, List<ArgumentParserException> errors) {
+    this(parser, true);
+    m_Errors = errors;
+  }
+
+  /**
+   * Defers the checks of the values of all file-typed options until
+   * {@link #finishAsync(Executor, long)}, which runs them concurrently.
+   * {@link #onEnd()} then does nothing. Must be called before parsing.
+   */
+  public void deferFileChecks() {
+    m_Async = true;
+  }
+
+  /**
+   * Records that the option was supplied. Options sharing a destination
+   * count as one, i.e., supplying any of them satisfies a required one.
+   *
+   * @param option	the option
+   */
+  protected void supplied(Option option) {
+    int		pos;
+    int		slot;
+
+    pos = m_Parser.positionOf(option);
+    if (pos == -1)
+      return;
+    slot = m_Parser.getLayout().getSlotForOption(pos);
+    if (!m_Supplied.get(slot)) {
+      m_Supplied.set(slot);
+      if (m_Parser.m_Required.get(slot))
+        m_Missing--;
+    }
+  }
+
+  /**
+   * Converts and stores the value (or stores it unconverted with lazy
+   * conversion).
+   *
+   * @param option	the option
+   * @param rawValue	the unconverted value
+   * @throws InvalidArgumentException	if the value cannot be converted, unless collecting problems
+   */
+  @Override
+  public void onOption(Option option, String rawValue) throws InvalidArgumentException {
+    if (m_Parser.m_Lazy) {
+      m_Namespace.storeRaw(m_Namespace.getLayout().getSlot(option), option, rawValue);
+      supplied(option);
+    }
+    else if (option.checksFileSystem() && (m_Async || (m_Parser.m_ParallelFileChecks && option.isMultiple()))) {
+      if (m_PendingOptions == null) {
+        m_PendingOptions = new ArrayList<>();
+        m_PendingValues  = new ArrayList<>();
+      }
+      if (option.hasSeparator()) {
+        for (String value: split(rawValue, option.getSeparator())) {
+          m_PendingOptions.add(option);
+          m_PendingValues.add(value);
+        }
+      }
+      else {
+        m_PendingOptions.add(option);
+        m_PendingValues.add(rawValue);
+      }
+    }
+    else {
+      store(option, rawValue);
+    }
+  }
+
+  /**
+   * Converts and stores the value.
+   *
+   * @param option	the option
+   * @param rawValue	the unconverted value
+   * @throws InvalidArgumentException	if the value cannot be converted, unless collecting problems
+   */
+  protected void store(Option option, String rawValue) throws InvalidArgumentException {
+    String	invalid;
+    int		slot;
+
+    slot = m_Namespace.getLayout().getSlot(option);
+    if (option.hasSeparator()) {
+      invalid = m_Namespace.storeSeparated(slot, option, rawValue, m_Conversion);
+    }
+    else if (option.convert(rawValue, m_Conversion)) {
+      m_Namespace.store(slot, option, m_Conversion);
+      invalid = null;
+    }
+    else {
+      invalid = rawValue;
+    }
+
+    if (invalid != null) {
+      if (m_Errors == null)
+        throw new InvalidArgumentException(option.getFlag(), option.getType(), invalid, m_Parser.m_StackTraces);
+      m_Errors.add(new InvalidArgumentException(option.getFlag(), option.getType(), invalid, m_Parser.m_StackTraces));
+      return;
+    }
+    supplied(option);
+  }
+
+  /**
+   * Splits the argument into the separated values.
+   *
+   * @param value	the argument
+   * @param separator	the separator
+   * @return		the values
+   */
+  protected static List<String> split(String value, char separator) {
+    List<String>	result;
+    int			start;
+    int			end;
+
+    result = new ArrayList<>();
+    start  = 0;
+    while (start <= value.length()) {
+      end = value.indexOf(separator, start);
+      if (end == -1)
+        end = value.length();
+      result.add(value.substring(start, end));
+      start = end + 1;
+    }
+    return result;
+  }
+
+  /**
+   * Checks the paths of the pending multi-valued file options in parallel,
+   * then converts and stores the values in the order they were supplied.
+   *
+   * @throws InvalidArgumentException	if a value cannot be converted, unless collecting problems
+   */
+  protected void storePending() throws InvalidArgumentException {
+    int		i;
+
+    if (m_PendingOptions == null)
+      return;
+    if (!m_Async)
+      m_Conversion.prefetchFileStatus(m_PendingValues);
+    for (i = 0; i < m_PendingOptions.size(); i++)
+      store(m_PendingOptions.get(i), m_PendingValues.get(i));
+    m_PendingOptions = null;
+    m_PendingValues  = null;
+  }
+
+  /**
+   * Flips the default value of the flag.
+   *
+   * @param option	the option
+   */
+  @Override
+  public void onFlag(Option option) {
+    int		slot;
+
+    slot = m_Namespace.getLayout().getSlot(option);
+    if (option.isMultiple())
+      m_Namespace.addValue(slot, m_Namespace.flipDefault(slot));
+    else
+      m_Namespace.setBoolean(slot, m_Namespace.flipDefault(slot));
+    supplied(option);
+  }
+
+  /**
+   * Records the help request.
+   *
+   * @throws HelpRequestedException	unless errors are suppressed
+   */
+  @Override
+  public void onHelp() throws HelpRequestedException {
+    m_Namespace.setHelpRequested(true);
+    if (!m_NoErrors)
+      throw m_Parser.m_StackTraces ? new HelpRequestedException() : HelpRequestedException.INSTANCE;
+  }
+
+  /**
+   * Stores the values of multi-valued file options checked in parallel and
+   * checks whether all required options were supplied.
+   *
+   * @throws InvalidArgumentException	if a value of a multi-valued file option checked in parallel cannot be converted, unless collecting problems
+   * @throws RequiredOptionMissingException	if required options are missing, unless errors are suppressed or collected
+   */
+  @Override
+  public void onEnd() throws InvalidArgumentException, RequiredOptionMissingException {
+    if (m_Async)
+      return;
+    storePending();
+    checkRequired();
+  }
+
+  /**
+   * Checks the paths of the deferred file-typed options concurrently, then
+   * converts and stores their values and checks whether all required
+   * options were supplied. Only after {@link #deferFileChecks()}.
+   *
+   * @param executor	the executor to run the checks with
+   * @param timeout	the timeout per check in milliseconds, 0 for none
+   * @return		the future namespace
+   */
+  public CompletableFuture<Namespace> finishAsync(Executor executor, final long timeout) {
+    final CompletableFuture<Namespace>	result;
+
+    result = new CompletableFuture<>();
+    if (m_PendingValues == null)
+      m_PendingValues = new ArrayList<>();
+    FileChecks.check(m_PendingValues, executor, timeout).whenComplete(new BiConsumer<Map<String,FileStatus>,Throwable>() {
+      @Override
+      public void accept(Map<String,FileStatus> status, Throwable t) {
+	if (t != null) {
+	  result.completeExceptionally(t);
+	  return;
+	}
+	try {
+	  m_Conversion.putFileStatus(status);
+	  if (m_PendingOptions != null) {
+	    for (int i = 0; i < m_PendingOptions.size(); i++) {
+	      if (!status.containsKey(m_PendingValues.get(i)))
+		throw new FileCheckTimeoutException(m_PendingOptions.get(i).getFlag(), m_PendingValues.get(i), timeout, m_Parser.m_StackTraces);
+	    }
+	  }
+	  storePending();
+	  checkRequired();
+	  result.complete(m_Namespace);
+	}
+	catch (Throwable e) {
+	  result.completeExceptionally(e);
+	}
+      }
+    });
+    return result;
+  }
+
+  /**
+   * Checks whether all required options were supplied.
+   *
+   * @throws RequiredOptionMissingException	if required options are missing, unless errors are suppressed or collected
+   */
+  protected void checkRequired() throws RequiredOptionMissingException {
+    if (m_Missing == 0)
+      return;
+    if (m_Errors != null)
+      m_Errors.add(missing());
+    else if (!m_NoErrors)
+      throw missing();
+  }
+
+  /**
+   * Records a problem that ended the parse prematurely, as well as the
+   * required options that weren't supplied up to then. Only when
+   * collecting problems.
+   *
+   * @param e		the problem
+   */
+  protected void aborted(ArgumentParserException e) {
+    m_Errors.add(e);
+    try {
+      onEnd();
+    }
+    catch (ArgumentParserException ex) {
+      // not thrown when collecting problems
+      m_Errors.add(ex);
+    }
+  }
+
+  /**
+   * Generates the exception listing the required options whose
+   * destinations weren't supplied, in the order of the destinations.
+   *
+   * @return		the exception
+   */
+  protected RequiredOptionMissingException missing() {
+    List<Option>	notSupplied;
+    BitSet		missing;
+    int			i;
+
+    missing = (BitSet) m_Parser.m_Required.clone();
+    missing.andNot(m_Supplied);
+    notSupplied = new ArrayList<>();
+    for (i = missing.nextSetBit(0); i > -1; i = missing.nextSetBit(i + 1))
+      notSupplied.add(m_Parser.m_RequiredOptions[i]);
+    return new RequiredOptionMissingException(notSupplied, m_Parser.m_StackTraces);
+  }
+
+  /**
+   * Returns the slots of the destinations that were supplied (see
+   * {@link NamespaceLayout}).
+   *
+   * @return		the slots
+   */
+  public BitSet getSupplied() {
+    return m_Supplied;
+  }
+
+  /**
+   * Returns the namespace.
+   *
+   * @return		the namespace
+   */
+  public Namespace getNamespace() {
+    return m_Namespace;
+  }
+}
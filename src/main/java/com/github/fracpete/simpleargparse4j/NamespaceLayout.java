@@ -0,0 +1,229 @@
+/*
+ * NamespaceLayout.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns each destination of a list of options a fixed slot and determines
+ * the kind of storage that the {@link Namespace} uses for the slot. Options
+ * sharing the same destination share the same slot.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+public class NamespaceLayout
+  implements Serializable {
+
+  /** the kinds of storage. */
+  public enum Storage {
+    BOOLEAN,
+    INT,
+    LONG,
+    FLOAT,
+    DOUBLE,
+    OBJECT,
+  }
+
+  /** the options. */
+  protected final List<Option> m_Options;
+
+  /** the slot for each option (same order as options). */
+  protected final int[] m_SlotOf;
+
+  /** the first option for each slot. */
+  protected final Option[] m_SlotOption;
+
+  /** the storage for each slot. */
+  protected final Storage[] m_Storage;
+
+  /** the destination - slot relation. */
+  protected final Map<String,Integer> m_Slots;
+
+  /** the number of slots per storage kind. */
+  protected final int[] m_Counts;
+
+  /** the defaults table (created on first use). */
+  protected transient volatile Namespace m_Defaults;
+
+  /**
+   * Initializes the layout.
+   *
+   * @param options	the options to generate the layout for
+   */
+  public NamespaceLayout(List<Option> options) {
+    List<Option>	slotOptions;
+    List<Storage>	storage;
+    Option		option;
+    Integer		slot;
+    int			i;
+
+    m_Options   = Collections.unmodifiableList(new ArrayList<>(options));
+    m_SlotOf    = new int[options.size()];
+    m_Slots     = new HashMap<>();
+    slotOptions = new ArrayList<>();
+    storage     = new ArrayList<>();
+    for (i = 0; i < options.size(); i++) {
+      option = options.get(i);
+      slot   = m_Slots.get(option.getDest());
+      if (slot == null) {
+        slot = slotOptions.size();
+        m_Slots.put(option.getDest(), slot);
+        slotOptions.add(option);
+        storage.add(storageFor(option));
+      }
+      else if (storage.get(slot) != storageFor(option)) {
+        storage.set(slot, Storage.OBJECT);
+      }
+      m_SlotOf[i] = slot;
+    }
+
+    m_SlotOption = slotOptions.toArray(new Option[0]);
+    m_Storage    = storage.toArray(new Storage[0]);
+    m_Counts     = new int[Storage.values().length];
+    for (Storage s: m_Storage)
+      m_Counts[s.ordinal()]++;
+  }
+
+  /**
+   * Determines the kind of storage for the option.
+   *
+   * @param option	the option to determine the storage for
+   * @return		the storage
+   */
+  protected Storage storageFor(Option option) {
+    if (option.isMultiple())
+      return Storage.OBJECT;
+
+    switch (option.getType()) {
+      case BOOLEAN:
+        return Storage.BOOLEAN;
+      case BYTE:
+      case SHORT:
+      case INTEGER:
+        return Storage.INT;
+      case LONG:
+        return Storage.LONG;
+      case FLOAT:
+        return Storage.FLOAT;
+      case DOUBLE:
+        return Storage.DOUBLE;
+      default:
+        return Storage.OBJECT;
+    }
+  }
+
+  /**
+   * Returns the options.
+   *
+   * @return		the options (read-only)
+   */
+  public List<Option> getOptions() {
+    return m_Options;
+  }
+
+  /**
+   * Returns the number of slots.
+   *
+   * @return		the number of slots
+   */
+  public int size() {
+    return m_SlotOption.length;
+  }
+
+  /**
+   * Returns the slot for the destination.
+   *
+   * @param name	the destination
+   * @return		the slot, -1 if unknown
+   */
+  public int getSlot(String name) {
+    Integer	result;
+
+    result = m_Slots.get(name);
+    if (result == null)
+      return -1;
+    return result;
+  }
+
+  /**
+   * Returns the slot for the option at the specified position.
+   *
+   * @param pos		the position of the option
+   * @return		the slot
+   */
+  public int getSlotForOption(int pos) {
+    return m_SlotOf[pos];
+  }
+
+  /**
+   * Returns the slot for the option.
+   *
+   * @param option	the option to get the slot for
+   * @return		the slot, -1 if unknown
+   */
+  public int getSlot(Option option) {
+    int		index;
+
+    index = option.getIndex();
+    if ((index > -1) && (index < m_Options.size()) && (m_Options.get(index) == option))
+      return m_SlotOf[index];
+    return getSlot(option.getDest());
+  }
+
+  /**
+   * Returns the (first) option associated with the slot.
+   *
+   * @param slot	the slot
+   * @return		the option
+   */
+  public Option getOption(int slot) {
+    return m_SlotOption[slot];
+  }
+
+  /**
+   * Returns the storage for the slot.
+   *
+   * @param slot	the slot
+   * @return		the storage
+   */
+  public Storage getStorage(int slot) {
+    return m_Storage[slot];
+  }
+
+  /**
+   * Returns the defaults table that namespaces using this layout get
+   * initialized from, rather than walking all the options for each new
+   * namespace. Created on first use, reflecting the defaults of the
+   * options at that time. Must not be modified.
+   *
+   * @return		the defaults table
+   */
+  protected Namespace getDefaults() {
+    Namespace	result;
+
+    result = m_Defaults;
+    if (result == null) {
+      result     = Namespace.newDefaults(this);
+      m_Defaults = result;
+    }
+    return result;
+  }
+
+  /**
+   * Returns whether any slot uses the specified storage.
+   *
+   * @param storage	the storage to check
+   * @return		true if used by at least one slot
+   */
+  public boolean uses(Storage storage) {
+    return m_Counts[storage.ordinal()] > 0;
+  }
+}
@@ -0,0 +1,457 @@
+/*
+ * NumberScanner.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j;
+
+import com.github.fracpete.simpleargparse4j.Conversion.Status;
+
+/**
+ * Scans numbers without throwing exceptions for invalid input, accepting
+ * the same syntax as {@link Long#parseLong(String)} and
+ * {@link Double#parseDouble(String)} respectively. Rejecting a value is
+ * therefore as cheap as accepting one, as no stack trace gets filled in.
+ * <br>
+ * All methods operate on a range of characters, which avoids creating
+ * substrings.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+public class NumberScanner {
+
+  /** the maximum number of significant digits for the double fast path (below 2^53). */
+  protected final static int MAX_DOUBLE_DIGITS = 15;
+
+  /** the maximum number of significant digits for the float fast path (below 2^24). */
+  protected final static int MAX_FLOAT_DIGITS = 7;
+
+  /** the powers of ten that are exactly representable as double. */
+  protected final static double[] DOUBLE_POW10 = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+    1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  /** the powers of ten that are exactly representable as float. */
+  protected final static float[] FLOAT_POW10 = {
+    1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+  };
+
+  /**
+   * Scans an integral number in the range of [min, max].
+   *
+   * @param s		the characters to scan
+   * @param start	the start of the range (incl)
+   * @param end		the end of the range (excl)
+   * @param min		the smallest allowed value
+   * @param max		the largest allowed value
+   * @param result	for storing the value or the reason for failure
+   * @return		true if valid number
+   */
+  public static boolean scanLong(CharSequence s, int start, int end, long min, long max, Conversion result) {
+    boolean	negative;
+    boolean	overflow;
+    long	limit;
+    long	multmin;
+    long	value;
+    int		digit;
+    int		i;
+    char	c;
+
+    if (start >= end) {
+      result.fail(Status.INVALID_FORMAT);
+      return false;
+    }
+
+    negative = false;
+    overflow = false;
+    limit    = -Long.MAX_VALUE;
+    value    = 0;
+    i        = start;
+    c        = s.charAt(i);
+    if (c < '0') {
+      if (c == '-') {
+        negative = true;
+        limit    = Long.MIN_VALUE;
+      }
+      else if (c != '+') {
+        result.fail(Status.INVALID_FORMAT);
+        return false;
+      }
+      if (end - start == 1) {
+        result.fail(Status.INVALID_FORMAT);
+        return false;
+      }
+      i++;
+    }
+
+    // accumulate negatively, like Long.parseLong
+    multmin = limit / 10;
+    for (; i < end; i++) {
+      c     = s.charAt(i);
+      digit = isDigit(c) ? (c - '0') : Character.digit(c, 10);
+      if (digit < 0) {
+        result.fail(Status.INVALID_FORMAT);
+        return false;
+      }
+      if (overflow)
+        continue;
+      if (value < multmin) {
+        overflow = true;
+        continue;
+      }
+      value *= 10;
+      if (value < limit + digit)
+        overflow = true;
+      else
+        value -= digit;
+    }
+
+    if (!negative)
+      value = -value;
+    if (overflow || (value < min) || (value > max)) {
+      result.fail(Status.OUT_OF_RANGE);
+      return false;
+    }
+
+    result.setLong(value);
+    return true;
+  }
+
+  /**
+   * Scans an integral number.
+   *
+   * @param s		the string to scan
+   * @param min		the smallest allowed value
+   * @param max		the largest allowed value
+   * @param result	for storing the value or the reason for failure
+   * @return		true if valid number
+   */
+  public static boolean scanLong(String s, long min, long max, Conversion result) {
+    if (s == null) {
+      result.fail(Status.INVALID_FORMAT);
+      return false;
+    }
+    return scanLong(s, 0, s.length(), min, max, result);
+  }
+
+  /**
+   * Scans a floating point number.
+   *
+   * @param s		the characters to scan
+   * @param start	the start of the range (incl)
+   * @param end		the end of the range (excl)
+   * @param asFloat	whether to round to float precision
+   * @param result	for storing the value or the reason for failure
+   * @return		true if valid number
+   */
+  public static boolean scanDouble(CharSequence s, int start, int end, boolean asFloat, Conversion result) {
+    String	str;
+
+    // surrounding whitespace is ignored, like Double.parseDouble
+    while ((start < end) && (s.charAt(start) <= ' '))
+      start++;
+    while ((end > start) && (s.charAt(end - 1) <= ' '))
+      end--;
+
+    if (!isValidDouble(s, start, end)) {
+      result.fail(Status.INVALID_FORMAT);
+      return false;
+    }
+
+    if (!scanSimpleDouble(s, start, end, asFloat, result)) {
+      str = s.subSequence(start, end).toString();
+      if (asFloat)
+        result.setDouble(Float.parseFloat(str));
+      else
+        result.setDouble(Double.parseDouble(str));
+    }
+
+    return true;
+  }
+
+  /**
+   * Scans a floating point number.
+   *
+   * @param s		the string to scan
+   * @param asFloat	whether to round to float precision
+   * @param result	for storing the value or the reason for failure
+   * @return		true if valid number
+   */
+  public static boolean scanDouble(String s, boolean asFloat, Conversion result) {
+    if (s == null) {
+      result.fail(Status.INVALID_FORMAT);
+      return false;
+    }
+    return scanDouble(s, 0, s.length(), asFloat, result);
+  }
+
+  /**
+   * Checks whether the character is an ASCII digit.
+   *
+   * @param c		the character to check
+   * @return		true if digit
+   */
+  protected static boolean isDigit(char c) {
+    return (c >= '0') && (c <= '9');
+  }
+
+  /**
+   * Checks whether the character is a hexadecimal digit.
+   *
+   * @param c		the character to check
+   * @return		true if hex digit
+   */
+  protected static boolean isHexDigit(char c) {
+    return isDigit(c) || ((c >= 'a') && (c <= 'f')) || ((c >= 'A') && (c <= 'F'));
+  }
+
+  /**
+   * Checks whether the range matches the word exactly.
+   *
+   * @param s		the characters to check
+   * @param start	the start of the range (incl)
+   * @param end		the end of the range (excl)
+   * @param word	the word to match
+   * @return		true if a match
+   */
+  protected static boolean matches(CharSequence s, int start, int end, String word) {
+    int		i;
+
+    if (end - start != word.length())
+      return false;
+    for (i = 0; i < word.length(); i++) {
+      if (s.charAt(start + i) != word.charAt(i))
+        return false;
+    }
+
+    return true;
+  }
+
+  /**
+   * Checks the (trimmed) range against the syntax that
+   * {@link Double#parseDouble(String)} accepts.
+   *
+   * @param s		the characters to check
+   * @param start	the start of the range (incl)
+   * @param end		the end of the range (excl)
+   * @return		true if valid syntax
+   */
+  protected static boolean isValidDouble(CharSequence s, int start, int end) {
+    int		i;
+    int		digits;
+    char	c;
+
+    i = start;
+    if ((i < end) && ((s.charAt(i) == '+') || (s.charAt(i) == '-')))
+      i++;
+    if (i >= end)
+      return false;
+
+    c = s.charAt(i);
+    if (c == 'N')
+      return matches(s, i, end, "NaN");
+    if (c == 'I')
+      return matches(s, i, end, "Infinity");
+    if ((c == '0') && (i + 1 < end) && ((s.charAt(i + 1) == 'x') || (s.charAt(i + 1) == 'X')))
+      return isValidHexDouble(s, i + 2, end);
+
+    // mantissa
+    digits = 0;
+    while ((i < end) && isDigit(s.charAt(i))) {
+      i++;
+      digits++;
+    }
+    if ((i < end) && (s.charAt(i) == '.')) {
+      i++;
+      while ((i < end) && isDigit(s.charAt(i))) {
+        i++;
+        digits++;
+      }
+    }
+    if (digits == 0)
+      return false;
+
+    // exponent
+    if ((i < end) && ((s.charAt(i) == 'e') || (s.charAt(i) == 'E'))) {
+      i++;
+      if ((i < end) && ((s.charAt(i) == '+') || (s.charAt(i) == '-')))
+        i++;
+      digits = 0;
+      while ((i < end) && isDigit(s.charAt(i))) {
+        i++;
+        digits++;
+      }
+      if (digits == 0)
+        return false;
+    }
+
+    return isSuffix(s, i, end);
+  }
+
+  /**
+   * Checks the hexadecimal significand and binary exponent (after "0x").
+   *
+   * @param s		the characters to check
+   * @param start	the start of the range (incl)
+   * @param end		the end of the range (excl)
+   * @return		true if valid syntax
+   */
+  protected static boolean isValidHexDouble(CharSequence s, int start, int end) {
+    int		i;
+    int		digits;
+
+    i      = start;
+    digits = 0;
+    while ((i < end) && isHexDigit(s.charAt(i))) {
+      i++;
+      digits++;
+    }
+    if ((i < end) && (s.charAt(i) == '.')) {
+      i++;
+      while ((i < end) && isHexDigit(s.charAt(i))) {
+        i++;
+        digits++;
+      }
+    }
+    if (digits == 0)
+      return false;
+
+    // the binary exponent is mandatory
+    if ((i >= end) || ((s.charAt(i) != 'p') && (s.charAt(i) != 'P')))
+      return false;
+    i++;
+    if ((i < end) && ((s.charAt(i) == '+') || (s.charAt(i) == '-')))
+      i++;
+    digits = 0;
+    while ((i < end) && isDigit(s.charAt(i))) {
+      i++;
+      digits++;
+    }
+    if (digits == 0)
+      return false;
+
+    return isSuffix(s, i, end);
+  }
+
+  /**
+   * Checks whether the remainder of the range is empty or a type suffix.
+   *
+   * @param s		the characters to check
+   * @param start	the start of the remainder (incl)
+   * @param end		the end of the range (excl)
+   * @return		true if empty or valid suffix
+   */
+  protected static boolean isSuffix(CharSequence s, int start, int end) {
+    char	c;
+
+    if (start == end)
+      return true;
+    if (start + 1 != end)
+      return false;
+    c = s.charAt(start);
+    return (c == 'f') || (c == 'F') || (c == 'd') || (c == 'D');
+  }
+
+  /**
+   * Computes plain decimal numbers with few significant digits and small
+   * exponents without creating a string. In this case, mantissa and power
+   * of ten are exact and a single division/multiplication yields the
+   * correctly rounded result. Assumes a syntactically valid range.
+   *
+   * @param s		the characters to scan
+   * @param start	the start of the range (incl)
+   * @param end		the end of the range (excl)
+   * @param asFloat	whether to round to float precision
+   * @param result	for storing the value
+   * @return		true if the fast path was applicable
+   */
+  protected static boolean scanSimpleDouble(CharSequence s, int start, int end, boolean asFloat, Conversion result) {
+    boolean	negative;
+    boolean	negExp;
+    long	mantissa;
+    int		numDigits;
+    int		maxDigits;
+    int		exp10;
+    int		exp;
+    int		i;
+    char	c;
+    double	value;
+
+    i        = start;
+    negative = false;
+    c        = s.charAt(i);
+    if ((c == '+') || (c == '-')) {
+      negative = (c == '-');
+      i++;
+    }
+    if (!isDigit(s.charAt(i)) && (s.charAt(i) != '.'))
+      return false;
+
+    maxDigits = asFloat ? MAX_FLOAT_DIGITS : MAX_DOUBLE_DIGITS;
+    mantissa  = 0;
+    numDigits = 0;
+    exp10     = 0;
+    while ((i < end) && isDigit(c = s.charAt(i))) {
+      if ((mantissa > 0) || (c != '0')) {
+        if (++numDigits > maxDigits)
+          return false;
+        mantissa = mantissa * 10 + (c - '0');
+      }
+      i++;
+    }
+    if ((i < end) && (s.charAt(i) == '.')) {
+      i++;
+      while ((i < end) && isDigit(c = s.charAt(i))) {
+        if ((mantissa > 0) || (c != '0')) {
+          if (++numDigits > maxDigits)
+            return false;
+          mantissa = mantissa * 10 + (c - '0');
+        }
+        exp10--;
+        i++;
+      }
+    }
+    if ((i < end) && ((s.charAt(i) == 'e') || (s.charAt(i) == 'E'))) {
+      i++;
+      negExp = false;
+      if ((s.charAt(i) == '+') || (s.charAt(i) == '-')) {
+        negExp = (s.charAt(i) == '-');
+        i++;
+      }
+      exp = 0;
+      while ((i < end) && isDigit(s.charAt(i))) {
+        if (exp > 1000)
+          return false;
+        exp = exp * 10 + (s.charAt(i) - '0');
+        i++;
+      }
+      exp10 += negExp ? -exp : exp;
+    }
+    if (!isSuffix(s, i, end))
+      return false;
+
+    if (mantissa == 0) {
+      value = 0.0;
+    }
+    else if (asFloat) {
+      if ((exp10 < -10) || (exp10 > 10))
+        return false;
+      if (exp10 < 0)
+        value = (float) mantissa / FLOAT_POW10[-exp10];
+      else
+        value = (float) mantissa * FLOAT_POW10[exp10];
+    }
+    else {
+      if ((exp10 < -22) || (exp10 > 22))
+        return false;
+      if (exp10 < 0)
+        value = (double) mantissa / DOUBLE_POW10[-exp10];
+      else
+        value = (double) mantissa * DOUBLE_POW10[exp10];
+    }
+
+    result.setDouble(negative ? -value : value);
+    return true;
+  }
+}
@@ -5,6 +5,8 @@
 
 package com.github.fracpete.simpleargparse4j;
 
+import com.github.fracpete.simpleargparse4j.Conversion.Status;
+
 import java.io.File;
 import java.io.Serializable;
 import java.util.List;
@@ -36,6 +38,7 @@ public class Option
     NONEXISTING_FILE,
     NONEXISTING_DIR,
     NONEXISTING_FILE_OR_DIRECTORY,
+    GLOB,
   }
 
   /** the destination (key in namespace). */
@@ -65,12 +68,21 @@ public class Option
   /** whether the option can be specified multiple times. */
   protected boolean m_Multiple;
 
+  /** the separator for supplying multiple values in a single argument (0 if none). */
+  protected char m_Separator;
+
   /** the type. */
   protected Type m_Type;
 
   /** the meta-variable. */
   protected String m_MetaVar;
 
+  /** the index assigned by the parser when registering the option (-1 if not registered). */
+  protected int m_Index;
+
+  /** the parser the option was registered with (null if not registered). */
+  protected ArgumentParser m_Owner;
+
   /**
    * Initializes the option.
    *
@@ -130,6 +142,44 @@ public class Option
     m_Required        = required;
     m_Multiple        = multiple;
     m_Type            = type;
+    m_Index           = -1;
+  }
+
+  /**
+   * Sets the index of the option, assigned by the parser when registering it.
+   *
+   * @param value	the index
+   */
+  protected void setIndex(int value) {
+    m_Index = value;
+  }
+
+  /**
+   * Sets the parser that the option got registered with.
+   *
+   * @param value	the parser
+   */
+  protected void setOwner(ArgumentParser value) {
+    m_Owner = value;
+  }
+
+  /**
+   * Notifies the parser that the option was registered with about a
+   * change, e.g., for discarding cached help screens.
+   */
+  protected void modified() {
+    if (m_Owner != null)
+      m_Owner.optionModified(this);
+  }
+
+  /**
+   * Returns the index that the parser assigned to the option when
+   * registering it.
+   *
+   * @return		the index, -1 if not registered
+   */
+  public int getIndex() {
+    return m_Index;
   }
 
   /**
@@ -140,6 +190,7 @@ public class Option
    */
   public Option dest(String value) {
     m_Dest = value;
+    modified();
     return this;
   }
 
@@ -153,6 +204,7 @@ public class Option
     m_HasArgument = value;
     if (!m_HasArgument)
       type(Type.BOOLEAN);
+    modified();
     return this;
   }
 
@@ -162,11 +214,12 @@ public class Option
    * @return		the option
    */
   public Option noDefault() {
-    if (isMultiple())
+    if (isMultiple() && (getDefault() instanceof List))
       ((List) getDefault()).clear();
     else
       m_DefaultValue = null;
     m_HasDefaultValue = false;
+    modified();
     return this;
   }
 
@@ -187,6 +240,7 @@ public class Option
    */
   public Option setDefault(String value) {
     m_DefaultValue = value;
+    modified();
     return this;
   }
 
@@ -198,6 +252,7 @@ public class Option
    */
   public Option setDefault(boolean value) {
     m_DefaultValue = value;
+    modified();
     return this;
   }
 
@@ -209,6 +264,7 @@ public class Option
    */
   public Option setDefault(byte value) {
     m_DefaultValue = value;
+    modified();
     return this;
   }
 
@@ -220,6 +276,7 @@ public class Option
    */
   public Option setDefault(short value) {
     m_DefaultValue = value;
+    modified();
     return this;
   }
 
@@ -231,6 +288,7 @@ public class Option
    */
   public Option setDefault(int value) {
     m_DefaultValue = value;
+    modified();
     return this;
   }
 
@@ -242,6 +300,7 @@ public class Option
    */
   public Option setDefault(long value) {
     m_DefaultValue = value;
+    modified();
     return this;
   }
 
@@ -253,6 +312,7 @@ public class Option
    */
   public Option setDefault(float value) {
     m_DefaultValue = value;
+    modified();
     return this;
   }
 
@@ -264,6 +324,7 @@ public class Option
    */
   public Option setDefault(double value) {
     m_DefaultValue = value;
+    modified();
     return this;
   }
 
@@ -275,6 +336,7 @@ public class Option
    */
   public Option help(String value) {
     m_Help = value;
+    modified();
     return this;
   }
 
@@ -289,6 +351,7 @@ public class Option
     m_Required = value;
     if (!value)
       noDefault();
+    modified();
     return this;
   }
 
@@ -300,6 +363,22 @@ public class Option
    */
   public Option multiple(boolean value) {
     m_Multiple = value;
+    modified();
+    return this;
+  }
+
+  /**
+   * Sets the separator that allows supplying multiple values in a single
+   * argument (e.g., "--id 1,2,3" with ','), in addition to repeating the
+   * option. Only applies to options that can be specified multiple times.
+   *
+   * @param value	the separator, 0 for none
+   * @return		the option
+   * @see		#multiple(boolean)
+   */
+  public Option separator(char value) {
+    m_Separator = value;
+    modified();
     return this;
   }
 
@@ -313,6 +392,7 @@ public class Option
     m_Type = value;
     if (m_Type == Type.BOOLEAN)
       m_HasArgument = false;
+    modified();
     return this;
   }
 
@@ -324,6 +404,7 @@ public class Option
    */
   public Option metaVar(String value) {
     m_MetaVar = value;
+    modified();
     return this;
   }
 
@@ -409,6 +490,25 @@ public class Option
     return m_Multiple;
   }
 
+  /**
+   * Returns whether multiple values can be supplied in a single argument.
+   *
+   * @return		true if multi-valued and with a separator
+   */
+  public boolean hasSeparator() {
+    return m_Multiple && (m_Separator != 0);
+  }
+
+  /**
+   * Returns the separator for supplying multiple values in a single
+   * argument.
+   *
+   * @return		the separator, 0 if none
+   */
+  public char getSeparator() {
+    return m_Separator;
+  }
+
   /**
    * Returns the type of the option.
    *
@@ -436,71 +536,195 @@ public class Option
     return m_MetaVar;
   }
 
+  /**
+   * Returns whether converting values of this option queries the file
+   * system.
+   *
+   * @return		true if the file system gets queried
+   */
+  public boolean checksFileSystem() {
+    switch (getType()) {
+      case FILE:
+      case DIRECTORY:
+      case EXISTING_FILE:
+      case EXISTING_DIR:
+      case EXISTING_FILE_OR_DIRECTORY:
+      case NONEXISTING_FILE:
+      case NONEXISTING_DIR:
+      case NONEXISTING_FILE_OR_DIRECTORY:
+	return true;
+      default:
+	return false;
+    }
+  }
+
   /**
    * Uses the type information to test the value.
    *
    * @param value	the string value to test
    * @return		true if valid according to type
    * @see		#getType()
+   * @see		#convert(String, Conversion)
    */
   public boolean isValid(String value) {
-    File	file;
+    return convert(value, new Conversion());
+  }
+
+  /**
+   * Validates and converts the value in a single step, using the type
+   * information. Numbers and booleans are stored in primitive form.
+   * Numbers are scanned without throwing exceptions for invalid values.
+   *
+   * @param value	the string value to convert
+   * @param result	for storing the converted value or the reason for failure
+   * @return		true if valid according to type
+   * @see		#getType()
+   */
+  public boolean convert(String value, Conversion result) {
+    FileStatus	status;
 
     try {
       switch (getType()) {
 	case BOOLEAN:
-	  Boolean.parseBoolean(value);
+	  result.setBoolean(Boolean.parseBoolean(value));
 	  break;
 	case BYTE:
-	  Byte.parseByte(value);
+	  NumberScanner.scanLong(value, Byte.MIN_VALUE, Byte.MAX_VALUE, result);
 	  break;
 	case SHORT:
-	  Short.parseShort(value);
+	  NumberScanner.scanLong(value, Short.MIN_VALUE, Short.MAX_VALUE, result);
 	  break;
 	case INTEGER:
-	  Integer.parseInt(value);
+	  NumberScanner.scanLong(value, Integer.MIN_VALUE, Integer.MAX_VALUE, result);
 	  break;
 	case LONG:
-	  Long.parseLong(value);
+	  NumberScanner.scanLong(value, Long.MIN_VALUE, Long.MAX_VALUE, result);
 	  break;
 	case FLOAT:
-	  Float.parseFloat(value);
+	  NumberScanner.scanDouble(value, true, result);
 	  break;
 	case DOUBLE:
-	  Double.parseDouble(value);
+	  NumberScanner.scanDouble(value, false, result);
 	  break;
 	case STRING:
-	  return true;
+	  result.setObject(value);
+	  break;
 	case FILE:
-	  file = new File(value);
-	  return !file.exists() || !file.isDirectory();
+	  if (result.fileStatus(value) == FileStatus.DIRECTORY)
+	    result.fail(Status.NOT_A_FILE);
+	  else
+	    result.setObject(new File(value));
+	  break;
 	case DIRECTORY:
-	  file = new File(value);
-	  return !file.exists() || file.isDirectory();
+	  if (result.fileStatus(value) == FileStatus.FILE)
+	    result.fail(Status.NOT_A_DIRECTORY);
+	  else
+	    result.setObject(new File(value));
+	  break;
 	case FILE_OR_DIRECTORY:
-	  return true;
+	  result.setObject(new File(value));
+	  break;
 	case EXISTING_FILE:
-	  file = new File(value);
-	  return file.exists() && !file.isDirectory();
+	  status = result.fileStatus(value);
+	  if (status == FileStatus.MISSING)
+	    result.fail(Status.NOT_FOUND);
+	  else if (status == FileStatus.DIRECTORY)
+	    result.fail(Status.NOT_A_FILE);
+	  else
+	    result.setObject(new File(value));
+	  break;
 	case EXISTING_DIR:
-	  file = new File(value);
-	  return file.exists() && file.isDirectory();
+	  status = result.fileStatus(value);
+	  if (status == FileStatus.MISSING)
+	    result.fail(Status.NOT_FOUND);
+	  else if (status == FileStatus.FILE)
+	    result.fail(Status.NOT_A_DIRECTORY);
+	  else
+	    result.setObject(new File(value));
+	  break;
 	case EXISTING_FILE_OR_DIRECTORY:
-	  file = new File(value);
-	  return file.exists();
+	  if (result.fileStatus(value) == FileStatus.MISSING)
+	    result.fail(Status.NOT_FOUND);
+	  else
+	    result.setObject(new File(value));
+	  break;
 	case NONEXISTING_DIR:
 	case NONEXISTING_FILE:
 	case NONEXISTING_FILE_OR_DIRECTORY:
-	  file = new File(value);
-	  return !file.exists();
+	  if (result.fileStatus(value) != FileStatus.MISSING)
+	    result.fail(Status.ALREADY_EXISTS);
+	  else
+	    result.setObject(new File(value));
+	  break;
+	case GLOB:
+	  result.setObject(new Glob(value));
+	  break;
 	default:
 	  throw new IllegalStateException("Unhandled type (for option '" + getDest() + "'): " + getType());
       }
-      return true;
+    }
+    catch (IllegalStateException e) {
+      throw e;
     }
     catch (Exception e) {
+      result.fail(Status.INVALID_FORMAT);
+    }
+
+    return result.isOK();
+  }
+
+  /**
+   * Validates and converts the range of characters, like
+   * {@link #convert(String, Conversion)}. Booleans and numbers get scanned
+   * in place, only other types turn the range into a string.
+   *
+   * @param value	the characters
+   * @param start	the start of the range (incl)
+   * @param end		the end of the range (excl)
+   * @param result	for storing the converted value or the reason for failure
+   * @return		true if valid according to type
+   */
+  public boolean convert(CharSequence value, int start, int end, Conversion result) {
+    switch (getType()) {
+      case BOOLEAN:
+	result.setBoolean(isTrue(value, start, end));
+	return true;
+      case BYTE:
+	return NumberScanner.scanLong(value, start, end, Byte.MIN_VALUE, Byte.MAX_VALUE, result);
+      case SHORT:
+	return NumberScanner.scanLong(value, start, end, Short.MIN_VALUE, Short.MAX_VALUE, result);
+      case INTEGER:
+	return NumberScanner.scanLong(value, start, end, Integer.MIN_VALUE, Integer.MAX_VALUE, result);
+      case LONG:
+	return NumberScanner.scanLong(value, start, end, Long.MIN_VALUE, Long.MAX_VALUE, result);
+      case FLOAT:
+	return NumberScanner.scanDouble(value, start, end, true, result);
+      case DOUBLE:
+	return NumberScanner.scanDouble(value, start, end, false, result);
+      default:
+	return convert(value.subSequence(start, end).toString(), result);
+    }
+  }
+
+  /**
+   * Checks whether the range is "true", ignoring case (like
+   * {@link Boolean#parseBoolean(String)}).
+   *
+   * @param value	the characters
+   * @param start	the start of the range (incl)
+   * @param end		the end of the range (excl)
+   * @return		true if "true"
+   */
+  protected static boolean isTrue(CharSequence value, int start, int end) {
+    int		i;
+
+    if (end - start != 4)
       return false;
+    for (i = 0; i < 4; i++) {
+      if (Character.toLowerCase(value.charAt(start + i)) != "true".charAt(i))
+        return false;
     }
+    return true;
   }
 
   /**
@@ -538,6 +762,8 @@ public class Option
       case NONEXISTING_DIR:
       case NONEXISTING_FILE_OR_DIRECTORY:
         return new File(value);
+      case GLOB:
+        return new Glob(value);
       default:
 	throw new IllegalStateException("Unhandled type (for option '" + getDest() + "'): " + getType());
     }
@@ -588,6 +814,7 @@ public class Option
       + "defValue=" + m_DefaultValue + ", "
       + "help=" + m_Help + ", "
       + "required=" + m_Required + ", "
-      + "multiple=" + m_Multiple;
+      + "multiple=" + m_Multiple
+      + (m_Separator != 0 ? ", separator=" + m_Separator : "");
   }
 }
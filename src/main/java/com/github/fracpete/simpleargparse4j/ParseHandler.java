@@ -0,0 +1,62 @@
+/*
+ * ParseHandler.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j;
+
+/**
+ * Receives the events of an event-driven parse, one per token, in the order
+ * in which they occur on the commandline. No values get converted or
+ * stored and required options are not checked, that is up to the handler.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ * @see CompiledParser#parse(String[], ParseHandler)
+ * @see NamespaceBuilder
+ */
+public interface ParseHandler {
+
+  /**
+   * Gets called for an option with an argument.
+   *
+   * @param option	the option
+   * @param rawValue	the unconverted value
+   * @throws ArgumentParserException	if the handler rejects the option or value
+   */
+  void onOption(Option option, String rawValue) throws ArgumentParserException;
+
+  /**
+   * Gets called for an option without argument.
+   *
+   * @param option	the option
+   * @throws ArgumentParserException	if the handler rejects the option
+   */
+  void onFlag(Option option) throws ArgumentParserException;
+
+  /**
+   * Gets called for a token that is not a defined option (nor the value of
+   * one). Does nothing by default.
+   *
+   * @param token	the token
+   * @throws ArgumentParserException	if the handler rejects the token
+   */
+  default void onUnknown(String token) throws ArgumentParserException {
+  }
+
+  /**
+   * Gets called when encountering "--help". Does nothing by default.
+   *
+   * @throws ArgumentParserException	if the handler stops parsing, eg with a {@link HelpRequestedException}
+   */
+  default void onHelp() throws ArgumentParserException {
+  }
+
+  /**
+   * Gets called once all tokens have been processed. Does nothing by
+   * default.
+   *
+   * @throws ArgumentParserException	if the handler rejects the parsed options
+   */
+  default void onEnd() throws ArgumentParserException {
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * ParseResult.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j;
+
+import java.io.Serializable;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The outcome of {@link CompiledParser#validate(String[])}: the parsed
+ * options along with all the problems encountered while parsing. Invalid
+ * values are not stored in the namespace, i.e., their options retain the
+ * default values.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+public class ParseResult
+  implements Serializable {
+
+  /** the parser that generated the result. */
+  protected CompiledParser m_Parser;
+
+  /** the parsed options. */
+  protected Namespace m_Namespace;
+
+  /** the slots of the supplied destinations. */
+  protected BitSet m_Supplied;
+
+  /** the problems. */
+  protected List<ArgumentParserException> m_Errors;
+
+  /**
+   * Initializes the result.
+   *
+   * @param parser	the parser that generated the result
+   * @param namespace	the parsed options
+   * @param supplied	the slots of the supplied destinations
+   * @param errors	the problems encountered
+   */
+  public ParseResult(CompiledParser parser, Namespace namespace, BitSet supplied, List<ArgumentParserException> errors) {
+    m_Parser    = parser;
+    m_Namespace = namespace;
+    m_Supplied  = supplied;
+    m_Errors    = Collections.unmodifiableList(errors);
+  }
+
+  /**
+   * Returns the parsed options.
+   *
+   * @return		the namespace
+   */
+  public Namespace getNamespace() {
+    return m_Namespace;
+  }
+
+  /**
+   * Returns whether the option, or another option with the same
+   * destination, was supplied (with a valid value).
+   *
+   * @param option	the option to check
+   * @return		true if supplied
+   */
+  public boolean isSupplied(Option option) {
+    int		pos;
+
+    pos = m_Parser.positionOf(option);
+    return (pos > -1) && m_Supplied.get(m_Parser.getLayout().getSlotForOption(pos));
+  }
+
+  /**
+   * Returns whether any problems were encountered.
+   *
+   * @return		true if at least one problem
+   */
+  public boolean hasErrors() {
+    return !m_Errors.isEmpty();
+  }
+
+  /**
+   * Returns the problems in the order they were encountered, with missing
+   * required options reported last.
+   *
+   * @return		the problems (read-only)
+   */
+  public List<ArgumentParserException> getErrors() {
+    return m_Errors;
+  }
+
+  /**
+   * Returns a short description of the result.
+   *
+   * @return		the description
+   */
+  @Override
+  public String toString() {
+    return "namespace=" + m_Namespace + ", errors=" + m_Errors;
+  }
+}
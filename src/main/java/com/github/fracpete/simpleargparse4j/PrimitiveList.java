@@ -0,0 +1,122 @@
+/*
+ * PrimitiveList.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Ancestor for growable lists that store primitive values in an array
+ * rather than boxed objects. The {@link java.util.List} methods box on
+ * access, the type-specific methods of the subclasses don't.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ * @param <E>	the boxed type
+ */
+public abstract class PrimitiveList<E>
+  extends AbstractList<E>
+  implements RandomAccess, Serializable {
+
+  /** the default capacity. */
+  public final static int DEFAULT_CAPACITY = 10;
+
+  /** the number of elements. */
+  protected int m_Size;
+
+  /**
+   * Returns the number of elements.
+   *
+   * @return		the number of elements
+   */
+  @Override
+  public int size() {
+    return m_Size;
+  }
+
+  /**
+   * Returns the capacity of the internal array.
+   *
+   * @return		the capacity
+   */
+  protected abstract int capacity();
+
+  /**
+   * Resizes the internal array.
+   *
+   * @param capacity	the new capacity
+   */
+  protected abstract void resize(int capacity);
+
+  /**
+   * Ensures that the list can hold at least the specified number of elements.
+   *
+   * @param min		the minimum capacity
+   */
+  public void ensureCapacity(int min) {
+    int		capacity;
+
+    if (min <= capacity())
+      return;
+    capacity = capacity() + (capacity() >> 1) + 1;
+    if (capacity < min)
+      capacity = min;
+    resize(capacity);
+  }
+
+  /**
+   * Trims the internal array to the number of elements.
+   */
+  public void trimToSize() {
+    if (capacity() > m_Size)
+      resize(m_Size);
+  }
+
+  /**
+   * Removes all elements from the specified position onwards.
+   *
+   * @param size	the number of elements to keep
+   * @throws IndexOutOfBoundsException	if invalid size
+   */
+  public void truncate(int size) {
+    checkPosition(size);
+    if (size < m_Size) {
+      m_Size = size;
+      modCount++;
+    }
+  }
+
+  /**
+   * Removes all elements.
+   */
+  @Override
+  public void clear() {
+    m_Size = 0;
+    modCount++;
+  }
+
+  /**
+   * Checks whether the index points to an element.
+   *
+   * @param index	the index to check
+   * @throws IndexOutOfBoundsException	if invalid index
+   */
+  protected void checkIndex(int index) {
+    if ((index < 0) || (index >= m_Size))
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + m_Size);
+  }
+
+  /**
+   * Checks whether the index is a valid insertion position.
+   *
+   * @param index	the index to check
+   * @throws IndexOutOfBoundsException	if invalid index
+   */
+  protected void checkPosition(int index) {
+    if ((index < 0) || (index > m_Size))
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + m_Size);
+  }
+}
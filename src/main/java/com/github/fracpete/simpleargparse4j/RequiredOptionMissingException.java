@@ -5,7 +5,9 @@
 
 package com.github.fracpete.simpleargparse4j;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Gets thrown if required options weren't supplied.
@@ -15,13 +17,36 @@ import java.util.Collection;
 public class RequiredOptionMissingException
   extends ArgumentParserException {
 
+  /** the required options that weren't supplied. */
+  protected List<Option> m_Options;
+
   /**
    * Initializes the exception.
    *
    * @param options	the required options that weren't supplied
    */
   public RequiredOptionMissingException(Collection<Option> options) {
-    super("Required options not supplied: " + flatten(options));
+    this(options, true);
+  }
+
+  /**
+   * Initializes the exception.
+   *
+   * @param options	the required options that weren't supplied
+   * @param stackTrace	whether to fill in the stack trace
+   */
+  public RequiredOptionMissingException(Collection<Option> options, boolean stackTrace) {
+    super("Required options not supplied: " + flatten(options), stackTrace);
+    m_Options = new ArrayList<>(options);
+  }
+
+  /**
+   * Returns the required options that weren't supplied.
+   *
+   * @return		the options
+   */
+  public List<Option> getOptions() {
+    return m_Options;
   }
 
   /**
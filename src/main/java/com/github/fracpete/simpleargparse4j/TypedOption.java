@@ -0,0 +1,68 @@
+/*
+ * TypedOption.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j;
+
+/**
+ * Ancestor for options with a fixed type, which act as handles for
+ * retrieving their value from a {@link Namespace} via its slot rather
+ * than the destination string, e.g., {@link Namespace#get(IntOption)}.
+ * Register them with {@link ArgumentParser#addOption(Option)}.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+public abstract class TypedOption
+  extends Option {
+
+  /**
+   * Initializes the option.
+   *
+   * @param flag	the flag (eg "-X" or "--XXX")
+   * @param secondFlag 	the second flag (eg a long version "--XXX"), can be null
+   * @param type	the initial type
+   * @param multiple	whether the option can occur multiple times
+   */
+  protected TypedOption(String flag, String secondFlag, Type type, boolean multiple) {
+    super(flag, secondFlag);
+    m_Multiple = multiple;
+    super.type(type);
+  }
+
+  /**
+   * Returns whether the type is supported by this option.
+   *
+   * @param type	the type to check
+   * @return		true if supported
+   */
+  protected abstract boolean isCompatible(Type type);
+
+  /**
+   * Sets how to interpret the argument.
+   *
+   * @param value	the type
+   * @return		the option
+   * @throws IllegalArgumentException	if the type is not supported by the option
+   */
+  @Override
+  public Option type(Type value) {
+    if (!isCompatible(value))
+      throw new IllegalArgumentException("Type " + value + " not supported by " + getClass().getSimpleName() + ": " + getFlag());
+    return super.type(value);
+  }
+
+  /**
+   * Sets whether the option can be specified multiple times.
+   *
+   * @param value	true if multiple occurrences
+   * @return		the option
+   * @throws IllegalArgumentException	if the value differs from the fixed setting
+   */
+  @Override
+  public Option multiple(boolean value) {
+    if (value != m_Multiple)
+      throw new IllegalArgumentException("Multiple occurrences cannot be changed for " + getClass().getSimpleName() + ": " + getFlag());
+    return this;
+  }
+}
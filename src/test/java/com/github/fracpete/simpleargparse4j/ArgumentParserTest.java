@@ -11,6 +11,32 @@ import junit.framework.TestCase;
 import junit.framework.TestSuite;
 import junit.textui.TestRunner;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
 /**
  * Testing the ArgumentParser class.
  *
@@ -41,6 +67,90 @@ public class ArgumentParserTest
     catch (Exception e) {
       assertTrue("help request", parser.getHelpRequested());
     }
+
+    // other ways of parsing
+    ParseHandler handler = new ParseHandler() {
+      @Override
+      public void onOption(Option option, String rawValue) {
+      }
+      @Override
+      public void onFlag(Option option) {
+      }
+    };
+    try {
+      parser.parse(new String[0], handler);
+      assertFalse("no help request", parser.getHelpRequested());
+      parser.parse(new String[]{"--help"}, handler);
+      assertTrue("help request", parser.getHelpRequested());
+      assertTrue("no help request", parser.parseArgsAsync(new String[0]).isDone());
+      assertFalse("no help request", parser.getHelpRequested());
+      assertTrue("help request", parser.parseArgsAsync(new String[]{"--help"}).isCompletedExceptionally());
+      assertTrue("help request", parser.getHelpRequested());
+    }
+    catch (Exception e) {
+      fail("Failed to parse!\n" + e);
+    }
+  }
+
+  /**
+   * Tests that cached help screens reflect changes to the options.
+   */
+  public void testHelpScreenCache() {
+    ArgumentParser parser = new ArgumentParser("test");
+    Option opt = parser.addOption("--first").help("the first option");
+    String help = parser.generateHelpScreen(false);
+    assertSame("cached section", parser.getHelpSection(ArgumentParser.SECTION_OPTIONS), parser.getHelpSection(ArgumentParser.SECTION_OPTIONS));
+    assertEquals("repeated", help, parser.generateHelpScreen(false));
+    opt.help("changed help");
+    help = parser.generateHelpScreen(false);
+    assertTrue("changed help", help.contains("changed help"));
+    assertFalse("old help", help.contains("the first option"));
+    opt.required(true);
+    assertTrue("required", parser.generateHelpScreen(false).contains(" --first FIRST\n"));
+    parser.addOption("--second").help("the second option");
+    help = parser.generateHelpScreen(false);
+    assertTrue("added option", help.contains("the second option"));
+    parser.screenWidth(20);
+    assertTrue("screen width", parser.generateHelpScreen(false).contains("\tthe second\n"));
+    parser.screenWidth(ArgumentParser.SCREEN_WIDTH);
+    assertEquals("back to default width", help, parser.generateHelpScreen(false));
+  }
+
+  /**
+   * Tests streaming the help screen.
+   *
+   * @throws Exception	if writing fails
+   */
+  public void testHelpScreenStreaming() throws Exception {
+    ArgumentParser parser = new ArgumentParser("Streaming the help screen, which has a description that needs wrapping.");
+    for (int i = 0; i < 30; i++)
+      parser.addOption("-o" + i, "--option" + i).required(i % 2 == 0).multiple(i % 3 == 0).help("Help for option " + i + ", which is long enough to require wrapping on an 80 column screen.");
+    StringWriter streamed = new StringWriter();
+    parser.generateHelpScreen(streamed, true);
+    String help = parser.generateHelpScreen(true);
+    assertEquals("uncached", help, streamed.toString());
+    streamed = new StringWriter();
+    parser.generateHelpScreen(streamed, false, false, true, true);
+    assertEquals("cached", parser.generateHelpScreen(false, false, true, true), streamed.toString());
+  }
+
+  /**
+   * Tests breaking up long lines for the help screen.
+   *
+   * @throws Exception	if appending fails
+   */
+  public void testBreakUp() throws Exception {
+    ArgumentParser parser = new ArgumentParser("test");
+    StringBuilder out = new StringBuilder();
+    parser.breakUp("one two, three;four\n\n  indent\nabcdefghijkl\n\n", 8, parser.breakTable(), ">", out);
+    assertEquals("wrapped", ">one two,\n>three;\n>four\n>\n>  indent\n>abcdefgh\n>ijkl\n", out.toString());
+    out.setLength(0);
+    parser.breakUp("", 8, parser.breakTable(), ">", out);
+    assertEquals("empty", ">\n", out.toString());
+    out.setLength(0);
+    parser.breakUp("\n\n", 8, parser.breakTable(), ">", out);
+    assertEquals("only new lines", "", out.toString());
+    assertEquals("lines", 3, parser.breakUp("one two, three;four", 8).size());
   }
 
   /**
@@ -143,6 +253,54 @@ public class ArgumentParserTest
     }
   }
 
+  /**
+   * Tests the single-step conversion.
+   */
+  public void testConvert() {
+    Conversion conv = new Conversion();
+    Option opt = new Option("--opt").type(Type.SHORT);
+    assertTrue("valid", opt.convert("-123", conv));
+    assertEquals("value", -123L, conv.getLong());
+    assertFalse("out of range", opt.convert("40000", conv));
+    assertEquals("status", Conversion.Status.OUT_OF_RANGE, conv.getStatus());
+    assertFalse("invalid", opt.convert("12a", conv));
+    assertEquals("status", Conversion.Status.INVALID_FORMAT, conv.getStatus());
+    opt.type(Type.EXISTING_DIR);
+    assertTrue("valid", opt.convert(".", conv));
+    assertEquals("value", new java.io.File("."), conv.getObject());
+    assertFalse("missing", opt.convert("/does/not/exist/hopefully", conv));
+    assertEquals("status", Conversion.Status.NOT_FOUND, conv.getStatus());
+  }
+
+  /**
+   * Tests exceptions without stack traces.
+   */
+  public void testStackless() {
+    ArgumentParser parser = new ArgumentParser("test").stackTraces(false);
+    parser.addOption("--int").dest("int").type(Type.INTEGER);
+    try {
+      parser.parseArgs(new String[]{"--int", "x"});
+      fail("Should have failed!");
+    }
+    catch (InvalidArgumentException e) {
+      assertEquals("stack trace", 0, e.getStackTrace().length);
+    }
+    catch (Throwable e2) {
+      fail("Failed to parse!\n" + e2);
+    }
+    try {
+      parser.parseArgs(new String[]{"--help"});
+      fail("Should have failed!");
+    }
+    catch (HelpRequestedException e) {
+      assertSame("shared instance", HelpRequestedException.INSTANCE, e);
+      assertTrue("help request", parser.getHelpRequested());
+    }
+    catch (Throwable e2) {
+      fail("Failed to parse!\n" + e2);
+    }
+  }
+
   /**
    * Tests string list.
    */
@@ -218,6 +376,95 @@ public class ArgumentParserTest
     }
   }
 
+  /**
+   * Tests the primitive lists for numeric multi-valued options.
+   */
+  public void testPrimitiveLists() {
+    ArgumentParser parser = new ArgumentParser("test");
+    parser.addOption("--id").dest("id").multiple(true).type(Type.INTEGER);
+    parser.addOption("--weight").dest("weight").multiple(true).type(Type.DOUBLE);
+    String[] args = new String[200];
+    for (int i = 0; i < 100; i++) {
+      args[i*2]   = (i % 2 == 0) ? "--id" : "--weight";
+      args[i*2+1] = "" + i;
+    }
+    try {
+      Namespace ns = parser.parseArgs(args);
+      assertTrue("id", ns.getValue("id") instanceof IntList);
+      int[] ids = ns.getIntArray("id");
+      assertEquals("ids", 50, ids.length);
+      assertEquals("ids[49]", 98, ids[49]);
+      assertSame("no copy", ids, ns.getIntArray("id"));
+      double[] weights = ns.getDoubleArray("weight");
+      assertEquals("weights", 50, weights.length);
+      assertEquals("weights[0]", 1.0, weights[0]);
+      assertEquals("weight[1]", 3.0, ns.getList("weight").get(1));
+    }
+    catch (Exception e) {
+      fail("Failed to parse!\n" + e);
+    }
+  }
+
+  /**
+   * Tests supplying multiple values in a single argument.
+   *
+   * @throws Exception	if parsing fails
+   */
+  public void testSeparator() throws Exception {
+    ArgumentParser parser = new ArgumentParser("test");
+    parser.addOption("--id").dest("id").multiple(true).separator(',').type(Type.INTEGER);
+    parser.addOption("--weight").dest("weight").multiple(true).separator(':').type(Type.DOUBLE);
+    parser.addOption("--name").dest("name").multiple(true).separator(',');
+    parser.addOption("--flag").dest("flag").multiple(true).separator(',').type(Type.BOOLEAN).argument(true);
+    StringBuilder ids = new StringBuilder();
+    for (int i = 0; i < 1000; i++)
+      ids.append(i == 0 ? "" : ",").append(i);
+    Namespace ns = parser.parseArgs(new String[]{"--id", ids.toString(), "--weight", "0.5:-1e3", "--id", "-7", "--name", "a,,b", "--flag", "TRUE,no"});
+    int[] values = ns.getIntArray("id");
+    assertEquals("ids", 1001, values.length);
+    assertEquals("ids[999]", 999, values[999]);
+    assertEquals("ids[1000]", -7, values[1000]);
+    assertTrue("weights", Arrays.equals(new double[]{0.5, -1000.0}, ns.getDoubleArray("weight")));
+    assertEquals("names", Arrays.asList("a", "", "b"), ns.getList("name"));
+    assertEquals("flags", Arrays.asList(true, false), ns.getList("flag"));
+    assertTrue("usage", parser.generateHelpScreen(false).contains("--id ID[,...]"));
+
+    try {
+      parser.parseArgs(new String[]{"--id", "1,x2,3"});
+      fail("invalid value");
+    }
+    catch (InvalidArgumentException e) {
+      assertEquals("value", "x2", e.getValue());
+    }
+
+    // invalid argument contributes nothing
+    ParseResult result = parser.validate(new String[]{"--id", "5", "--id", "1,y", "--name", "a,b"});
+    assertEquals("#errors", 1, result.getErrors().size());
+    assertEquals("value", "y", ((InvalidArgumentException) result.getErrors().get(0)).getValue());
+    assertTrue("ids", Arrays.equals(new int[]{5}, result.getNamespace().getIntArray("id")));
+    assertEquals("names", Arrays.asList("a", "b"), result.getNamespace().getList("name"));
+    result = parser.validate(new String[]{"--id", "1,y"});
+    assertTrue("no ids", result.getNamespace().getList("id").isEmpty());
+
+    parser.lazy(true);
+    ns = parser.parseArgs(new String[]{"--id", "1,2", "--id", "3,4,x", "--weight", "2"});
+    assertEquals("weights", 1, ns.getDoubleArray("weight").length);
+    try {
+      ns.getIntArray("id");
+      fail("invalid value");
+    }
+    catch (IllegalArgumentException e) {
+      assertEquals("value", "x", ((InvalidArgumentException) e.getCause()).getValue());
+    }
+    try {
+      ns.getIntArray("id");
+      fail("still invalid");
+    }
+    catch (IllegalArgumentException e) {
+      // expected, values got rolled back
+    }
+  }
+
   /**
    * Tests boolean list.
    */
@@ -263,6 +510,909 @@ public class ArgumentParserTest
     }
   }
 
+  /**
+   * Tests combined short flags, "-Xvalue" and "--name=value".
+   *
+   * @throws Exception	if parsing fails
+   */
+  public void testCompactSyntax() throws Exception {
+    ArgumentParser parser = new ArgumentParser("test");
+    parser.addOption("-a").dest("a").argument(false);
+    parser.addOption("-b").dest("b").argument(false);
+    parser.addOption("-n", "--num").dest("num").type(Type.INTEGER);
+    parser.addOption("-D").dest("prop").multiple(true);
+    parser.addOption("--name").dest("name");
+
+    // not accepted by default
+    Namespace ns = parser.parseArgs(new String[]{"-ab", "--name=x"});
+    assertFalse("a", ns.getBoolean("a"));
+    assertFalse("name", "x".equals(ns.getString("name")));
+
+    parser.compactSyntax(true);
+    String[] args = new String[]{"-ab", "--name=x=y", "-Dkey=value", "-D", "other", "extra", "-ac", "--num=3", "--a=1"};
+    ns = parser.parseArgs(args, true);
+    assertTrue("a", ns.getBoolean("a"));
+    assertTrue("b", ns.getBoolean("b"));
+    assertEquals("name", "x=y", ns.getString("name"));
+    assertEquals("props", Arrays.asList("key=value", "other"), ns.getList("prop"));
+    assertEquals("num", 3, ns.getInt("num"));
+    assertEquals("remaining", Arrays.asList("", "", "", "", "", "extra", "-ac", "", "--a=1"), Arrays.asList(args));
+
+    // last flag takes the next token, or the rest of the token
+    ns = parser.parseArgs(new String[]{"-abn", "42"});
+    assertEquals("num", 42, ns.getInt("num"));
+    ns = parser.parseArgs(new String[]{"-bn-7"});
+    assertTrue("b", ns.getBoolean("b"));
+    assertEquals("num", -7, ns.getInt("num"));
+
+    try {
+      parser.parseArgs(new String[]{"-an"});
+      fail("missing argument");
+    }
+    catch (MissingArgumentException e) {
+      assertEquals("flag", "-n", e.getFlag());
+    }
+  }
+
+  /**
+   * Tests parsing with a compiled parser.
+   */
+  public void testCompiled() {
+    ArgumentParser parser = new ArgumentParser("test");
+    parser.addOption("-o", "--opt").dest("opt");
+    parser.addOption("--int").dest("int").type(Type.INTEGER);
+    parser.addOption("--req").dest("req").required(true);
+    CompiledParser compiled = parser.compile();
+    try {
+      for (int i = 0; i < 3; i++) {
+        Namespace ns = compiled.parseArgs(new String[]{
+          "-o",
+          "yo",
+          "--int",
+          "" + i,
+          "--req",
+          "r",
+        });
+        assertEquals("opt", "yo", ns.getString("opt"));
+        assertEquals("int", i, ns.getInt("int"));
+        assertEquals("req", "r", ns.getString("req"));
+      }
+    }
+    catch (Exception e) {
+      fail("Failed to parse!\n" + e);
+    }
+    try {
+      compiled.parseArgs(new String[]{"-o", "yo"});
+      fail("Should have failed!");
+    }
+    catch (RequiredOptionMissingException e) {
+      // correct behavior
+    }
+    catch (Throwable e2) {
+      fail("Failed to parse!\n" + e2);
+    }
+
+    // cached until options or settings change
+    assertSame("cached", compiled, parser.compile());
+    parser.getOptions().get(1).setDefault(5);
+    assertNotSame("option changed", compiled, parser.compile());
+    try {
+      compiled.parseArgs(new String[]{"--req", "r"});
+      fail("outdated parser used");
+    }
+    catch (IllegalStateException e) {
+      // correct behavior
+    }
+    catch (Throwable e2) {
+      fail("Failed to parse!\n" + e2);
+    }
+    compiled = parser.compile();
+    parser.lazy(true);
+    assertNotSame("setting changed", compiled, parser.compile());
+    assertFalse("settings are copied", compiled.isOutdated());
+    compiled = parser.compile();
+    parser.addOption("--other");
+    assertNotSame("option added", compiled, parser.compile());
+    assertTrue("option added", compiled.isOutdated());
+  }
+
+  /**
+   * Tests required options sharing a destination, which count as one.
+   *
+   * @throws Exception	if parsing fails
+   */
+  public void testRequiredSharedDest() throws Exception {
+    ArgumentParser parser = new ArgumentParser("test");
+    Option a = parser.addOption("-a").dest("a").required(true);
+    Option b = parser.addOption("-b").dest("a").required(true);
+    parser.addOption("-c").dest("c").required(true);
+    Namespace ns = parser.parseArgs(new String[]{"-a", "x", "-c", "y"});
+    assertEquals("a", "x", ns.getString("a"));
+    ns = parser.parseArgs(new String[]{"-b", "z", "-c", "y"});
+    assertEquals("a", "z", ns.getString("a"));
+
+    ParseResult result = parser.validate(new String[]{"-a", "x"});
+    assertEquals("#errors", 1, result.getErrors().size());
+    assertEquals("missing", "-c", ((RequiredOptionMissingException) result.getErrors().get(0)).getOptions().get(0).getFlag());
+    assertTrue("supplied", result.isSupplied(a));
+    assertTrue("supplied", result.isSupplied(b));
+
+    try {
+      parser.parseArgs(new String[]{"-c", "y"});
+      fail("Should have failed!");
+    }
+    catch (RequiredOptionMissingException e) {
+      assertEquals("missing", 1, e.getOptions().size());
+      assertSame("missing", a, e.getOptions().get(0));
+    }
+  }
+
+  /**
+   * Tests the typed getters on options with primitive storage.
+   */
+  public void testTypedSlots() {
+    ArgumentParser parser = new ArgumentParser("test");
+    parser.addOption("--byte").dest("byte").type(Type.BYTE);
+    parser.addOption("--int").dest("int").type(Type.INTEGER).setDefault(42);
+    parser.addOption("--long").dest("long").type(Type.LONG);
+    parser.addOption("--float").dest("float").type(Type.FLOAT);
+    parser.addOption("--double").dest("double").type(Type.DOUBLE);
+    parser.addOption("--flag").dest("flag").argument(false);
+    try {
+      Namespace ns = parser.parseArgs(new String[]{
+        "--byte",
+        "-3",
+        "--long",
+        "12345678901",
+        "--float",
+        "1.5",
+        "--double",
+        "2.25",
+        "--flag",
+      });
+      assertEquals("byte", -3, ns.getByte("byte"));
+      assertEquals("byte", -3, ns.getInt("byte"));
+      assertEquals("int", 42, ns.getInt("int"));
+      assertEquals("int", 42L, ns.getLong("int"));
+      assertEquals("long", 12345678901L, ns.getLong("long"));
+      assertEquals("float", 1.5f, ns.getFloat("float"));
+      assertEquals("double", 2.25, ns.getDouble("double"));
+      assertEquals("double", "2.25", ns.getString("double"));
+      assertEquals("flag", true, ns.getBoolean("flag"));
+      ns.setDefault("other", 7);
+      assertEquals("other", 7, ns.getInt("other"));
+    }
+    catch (Exception e) {
+      fail("Failed to parse!\n" + e);
+    }
+  }
+
+  /**
+   * Tests the typed option handles.
+   */
+  public void testTypedOptions() {
+    ArgumentParser parser = new ArgumentParser("test");
+    IntOption num = parser.addOption(new IntOption("-n", "--num"));
+    num.dest("num").setDefault(1);
+    DoubleOption weight = parser.addOption(new DoubleOption("--weight"));
+    StringOption name = parser.addOption(new StringOption("--name"));
+    BooleanOption verbose = parser.addOption(new BooleanOption("--verbose"));
+    FileOption file = parser.addOption(new FileOption("--file"));
+    ListOption<Long> ids = parser.addOption(new ListOption<>("--id", Type.LONG, Long.class));
+    try {
+      Namespace ns = parser.compile().parseArgs(new String[]{
+        "--weight",
+        "0.5",
+        "--name",
+        "yo",
+        "--verbose",
+        "--file",
+        "out.txt",
+        "--id",
+        "1",
+        "--id",
+        "2",
+      });
+      assertEquals("num", 1, ns.get(num));
+      assertEquals("weight", 0.5, ns.get(weight));
+      assertEquals("name", "yo", ns.get(name));
+      assertEquals("verbose", true, ns.get(verbose));
+      assertEquals("file", "out.txt", ns.get(file).getName());
+      assertEquals("ids", 2, ns.get(ids).size());
+      assertEquals("ids[1]", Long.valueOf(2L), ns.get(ids).get(1));
+    }
+    catch (Exception e) {
+      fail("Failed to parse!\n" + e);
+    }
+    try {
+      num.type(Type.STRING);
+      fail("Should have failed!");
+    }
+    catch (IllegalArgumentException e) {
+      // correct behavior
+    }
+    try {
+      ids.type(Type.INTEGER);
+      fail("Should have failed!");
+    }
+    catch (IllegalArgumentException e) {
+      // correct behavior
+    }
+    ids.type(Type.LONG);
+    ListOption<File> files = new ListOption<>("--files", Type.EXISTING_FILE, File.class);
+    files.type(Type.FILE);
+    try {
+      new ListOption<>("--num", Type.INTEGER, Long.class);
+      fail("Should have failed!");
+    }
+    catch (IllegalArgumentException e) {
+      // correct behavior
+    }
+  }
+
+  /**
+   * Tests expanding argument files.
+   *
+   * @throws Exception	if writing the file or parsing fails
+   */
+  public void testArgFiles() throws Exception {
+    File file = File.createTempFile("argparse", ".args");
+    file.deleteOnExit();
+    try (Writer writer = new FileWriter(file)) {
+      writer.write("# input files\n");
+      writer.write("--input a.txt --input \"with blank.txt\"\n");
+      writer.write("  --input 'C:\\\\dir\\\\x.txt'  --input C:\\dir\\y.txt\n");
+      writer.write("--title \"line \\\n    continued\\tend\" --num 42\n");
+      writer.write("--input \"\" --input \"#quoted\" # trailing comment --input ignored\n");
+    }
+    ArgumentParser parser = new ArgumentParser("test").argFiles(true);
+    parser.addOption("--input").dest("input").multiple(true);
+    parser.addOption("--title").dest("title");
+    parser.addOption("--num").dest("num").type(Type.INTEGER).required(true);
+    parser.addOption("--verbose").dest("verbose").argument(false);
+    String[] args = new String[]{"--input", "first.txt", "@" + file.getAbsolutePath(), "--verbose", "--title", "@@literal"};
+    Namespace ns = parser.parseArgs(args, true);
+    assertEquals("inputs", Arrays.asList("first.txt", "a.txt", "with blank.txt", "C:\\dir\\x.txt", "C:\\dir\\y.txt", "", "#quoted"), ns.getList("input"));
+    assertEquals("title", "@literal", ns.getString("title"));
+    assertEquals("num", 42, ns.getInt("num"));
+    assertTrue("verbose", ns.getBoolean("verbose"));
+    assertEquals("argument file kept", "@" + file.getAbsolutePath(), args[2]);
+    assertEquals("removed", "", args[0] + args[1] + args[3] + args[4] + args[5]);
+
+    // title from file, values not interpreted as options
+    ns = parser.parseArgs(new String[]{"--title", "--verbose", "@" + file.getAbsolutePath()});
+    assertFalse("value not a flag", ns.getBoolean("verbose"));
+    assertEquals("title", "line continued\tend", ns.getString("title"));
+
+    try {
+      parser.parseArgs(new String[]{"@" + file.getAbsolutePath() + ".missing"});
+      fail("missing argument file");
+    }
+    catch (ArgumentFileException e) {
+      assertEquals("file", file.getAbsolutePath() + ".missing", e.getFile());
+    }
+    try {
+      parser.parseArgs(new String[]{"@nul\0char"});
+      fail("invalid path");
+    }
+    catch (ArgumentFileException e) {
+      assertEquals("file", "nul\0char", e.getFile());
+    }
+
+    // malformed content fails the first read
+    File malformed = File.createTempFile("argparse", ".args");
+    malformed.deleteOnExit();
+    Files.write(malformed.toPath(), new byte[]{(byte) 0xff, ' ', 'a'});
+    try {
+      new ArgumentFileTokenizer(malformed.toPath(), StandardCharsets.UTF_8);
+      fail("malformed input");
+    }
+    catch (CharacterCodingException e) {
+      // correct behavior
+    }
+
+    parser.argFiles(false);
+    ns = parser.parseArgs(new String[]{"--num", "1", "--title", "@" + file.getAbsolutePath()}, false);
+    assertEquals("not expanded", "@" + file.getAbsolutePath(), ns.getString("title"));
+  }
+
+  /**
+   * Tests parsing from iterators and streams.
+   *
+   * @throws Exception	if parsing fails
+   */
+  public void testIterator() throws Exception {
+    ArgumentParser parser = new ArgumentParser("test");
+    parser.addOption("--id").dest("id").type(Type.LONG).multiple(true);
+    parser.addOption("--name").dest("name").required(true);
+    parser.addOption("--verbose").dest("verbose").argument(false);
+    Namespace ns = parser.parseArgs(Arrays.asList("--name", "--verbose", "--id", "1", "extra", "--id", "2").iterator());
+    assertEquals("name", "--verbose", ns.getString("name"));
+    assertFalse("verbose", ns.getBoolean("verbose"));
+    assertEquals("ids", 2, ns.getLongArray("id").length);
+
+    final long count = 100000;
+    ns = parser.compile().parseArgs(Stream.concat(
+      Stream.of("--verbose", "--name", "streamed"),
+      LongStream.range(0, count).mapToObj(i -> (i % 2 == 0) ? "--id" : "" + i)));
+    assertEquals("name", "streamed", ns.getString("name"));
+    assertTrue("verbose", ns.getBoolean("verbose"));
+    assertEquals("ids", count / 2, ns.getLongArray("id").length);
+
+    try {
+      parser.parseArgs(Stream.of("--name", "x", "--id"));
+      fail("missing argument");
+    }
+    catch (MissingArgumentException e) {
+      // expected
+    }
+  }
+
+  /**
+   * Tests event-driven parsing.
+   *
+   * @throws Exception	if parsing fails
+   */
+  public void testEvents() throws Exception {
+    ArgumentParser parser = new ArgumentParser("test");
+    parser.addOption("--input").dest("input").multiple(true).required(true);
+    parser.addOption("--num").dest("num").type(Type.INTEGER);
+    final Option verbose = parser.addOption("-v", "--verbose").dest("verbose").argument(false);
+    final StringBuilder events = new StringBuilder();
+    ParseHandler handler = new ParseHandler() {
+      @Override
+      public void onOption(Option option, String rawValue) {
+	events.append(option.getDest()).append("=").append(rawValue).append(";");
+      }
+      @Override
+      public void onFlag(Option option) {
+	events.append(option == verbose ? "verbose" : "?").append(";");
+      }
+      @Override
+      public void onUnknown(String token) {
+	events.append("?").append(token).append(";");
+      }
+      @Override
+      public void onHelp() {
+	events.append("help;");
+      }
+      @Override
+      public void onEnd() {
+	events.append("end");
+      }
+    };
+    parser.parse(new String[]{"--num", "notanumber", "extra", "--verbose", "--input", "a", "--help", "-v"}, handler);
+    assertEquals("events", "num=notanumber;?extra;verbose;input=a;help;verbose;end", events.toString());
+
+    // required options are up to the handler
+    events.setLength(0);
+    parser.compile().parse(Arrays.asList("--num", "1").iterator(), handler);
+    assertEquals("events", "num=1;end", events.toString());
+
+    // builder
+    NamespaceBuilder builder = new NamespaceBuilder(parser.compile(), false);
+    parser.compile().parse(new String[]{"--input", "a", "--num", "3", "--input", "b"}, builder);
+    assertEquals("inputs", 2, builder.getNamespace().getList("input").size());
+    assertEquals("num", 3, builder.getNamespace().getInt("num"));
+  }
+
+  /**
+   * Tests parsing NUL-separated options from buffers and channels.
+   *
+   * @throws Exception	if parsing fails
+   */
+  public void testNulDelimited() throws Exception {
+    ArgumentParser parser = new ArgumentParser("test");
+    parser.addOption("--input").dest("input").multiple(true).required(true);
+    parser.addOption("--num").dest("num").type(Type.INTEGER);
+    parser.addOption("-v", "--verbose").dest("verbose").argument(false);
+    byte[] bytes = "--num\u000042\u0000extra\u0000--input\u0000a b\u0000\u0000-v\u0000--input\u0000\u00fcber".getBytes(StandardCharsets.UTF_8);
+
+    ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+    direct.put(bytes).flip();
+    for (ByteBuffer buffer: new ByteBuffer[]{ByteBuffer.wrap(bytes), direct}) {
+      Namespace ns = parser.parseArgs(buffer, StandardCharsets.UTF_8);
+      assertEquals("num", 42, ns.getInt("num"));
+      assertTrue("verbose", ns.getBoolean("verbose"));
+      assertEquals("input", Arrays.asList("a b", "\u00fcber"), ns.getList("input"));
+      assertEquals("position", 0, buffer.position());
+    }
+
+    // tokens spanning chunks, trailing NUL
+    bytes = Arrays.copyOf(bytes, bytes.length + 1);
+    NamespaceBuilder builder = new NamespaceBuilder(parser.compile(), false);
+    parser.compile().parse(new ByteArgumentCursor(Channels.newChannel(new ByteArrayInputStream(bytes)), StandardCharsets.UTF_8, 3), builder);
+    assertEquals("input", Arrays.asList("a b", "\u00fcber"), builder.getNamespace().getList("input"));
+    Namespace ns = parser.parseArgs(Channels.newChannel(new ByteArrayInputStream(bytes)), StandardCharsets.UTF_8);
+    assertEquals("num", 42, ns.getInt("num"));
+
+    final StringBuilder events = new StringBuilder();
+    ParseHandler handler = new ParseHandler() {
+      @Override
+      public void onOption(Option option, String rawValue) {
+	events.append(option.getDest()).append("=").append(rawValue).append(";");
+      }
+      @Override
+      public void onFlag(Option option) {
+	events.append(option.getDest()).append(";");
+      }
+      @Override
+      public void onUnknown(String token) {
+	events.append("?").append(token).append(";");
+      }
+    };
+    parser.compile().parse(new ByteArgumentCursor(Channels.newChannel(new ByteArrayInputStream(bytes)), StandardCharsets.UTF_8, 3), handler);
+    assertEquals("events", "num=42;?extra;input=a b;?;verbose;input=\u00fcber;", events.toString());
+
+    try {
+      parser.parseArgs(ByteBuffer.wrap("--input\u0000x\u0000--num".getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+      fail("missing argument");
+    }
+    catch (MissingArgumentException e) {
+      // expected
+    }
+    try {
+      parser.parseArgs(ByteBuffer.wrap("--num\u00001\u0000--help".getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+      fail("help");
+    }
+    catch (HelpRequestedException e) {
+      assertTrue("help requested", parser.getHelpRequested());
+    }
+  }
+
+  /**
+   * Tests the checks of file-typed options, sequential and in parallel.
+   *
+   * @throws Exception	if parsing fails
+   */
+  public void testFileChecks() throws Exception {
+    File file = File.createTempFile("argparse", ".txt");
+    file.deleteOnExit();
+    String dir = file.getParent();
+    String missing = new File(dir, file.getName() + ".missing").getPath();
+
+    Option option = new Option("--in").type(Type.EXISTING_FILE);
+    assertTrue("file", option.isValid(file.getPath()));
+    assertFalse("dir", option.isValid(dir));
+    assertFalse("missing", option.isValid(missing));
+    assertFalse("empty", option.isValid(""));
+    option.type(Type.EXISTING_DIR);
+    assertTrue("dir", option.isValid(dir));
+    assertFalse("file", option.isValid(file.getPath()));
+    option.type(Type.NONEXISTING_FILE);
+    assertTrue("missing", option.isValid(missing));
+    assertFalse("file", option.isValid(file.getPath()));
+    option.type(Type.FILE);
+    assertTrue("missing", option.isValid(missing));
+    assertFalse("dir", option.isValid(dir));
+    option.type(Type.DIRECTORY);
+    assertFalse("file", option.isValid(file.getPath()));
+
+    for (boolean parallel: new boolean[]{false, true}) {
+      ArgumentParser parser = new ArgumentParser("test").parallelFileChecks(parallel);
+      parser.addOption("--input").dest("input").type(Type.EXISTING_FILE).multiple(true).required(true);
+      parser.addOption("--output").dest("output").type(Type.DIRECTORY);
+      Namespace ns = parser.parseArgs(new String[]{"--input", file.getPath(), "--output", dir, "--input", file.getPath()});
+      assertEquals("inputs", Arrays.asList(file, file), ns.getList("input"));
+      assertEquals("output", new File(dir), ns.getFile("output"));
+      try {
+	parser.parseArgs(new String[]{"--input", file.getPath(), "--input", missing});
+	fail("missing file accepted");
+      }
+      catch (InvalidArgumentException e) {
+	assertEquals("value", missing, e.getValue());
+      }
+      // checked in parallel, the values get stored after the missing value got reported
+      ParseResult result = parser.validate(new String[]{"--input", dir, "--input", file.getPath(), "--input"});
+      assertEquals("#errors", 2, result.getErrors().size());
+      assertEquals("value", dir, ((InvalidArgumentException) result.getErrors().get(parallel ? 1 : 0)).getValue());
+      assertEquals("inputs", Arrays.asList(file), result.getNamespace().getList("input"));
+    }
+
+    // prefetching runs on the supplied executor, cached paths don't get queried again
+    final List<Runnable> tasks = new ArrayList<>();
+    Executor recording = new Executor() {
+      @Override
+      public void execute(Runnable command) {
+	tasks.add(command);
+	command.run();
+      }
+    };
+    Conversion conversion = new Conversion();
+    conversion.prefetchFileStatus(Arrays.asList(file.getPath(), dir, file.getPath(), missing), recording);
+    assertEquals("#tasks", 3, tasks.size());
+    assertEquals("file", FileStatus.FILE, conversion.fileStatus(file.getPath()));
+    assertEquals("dir", FileStatus.DIRECTORY, conversion.fileStatus(dir));
+    assertEquals("missing", FileStatus.MISSING, conversion.fileStatus(missing));
+    conversion.prefetchFileStatus(Arrays.asList(file.getPath(), dir), recording);
+    assertEquals("#tasks (cached)", 3, tasks.size());
+  }
+
+  /**
+   * Tests the glob type.
+   *
+   * @throws Exception	if parsing fails
+   */
+  public void testGlob() throws Exception {
+    File root = Files.createTempDirectory("argparse").toFile();
+    File a = new File(root, "a.txt");
+    File b = new File(root, "b.csv");
+    File c = new File(root, "sub/c.txt");
+    File d = new File(root, "sub/deep/d.txt");
+    d.getParentFile().mkdirs();
+    for (File file: new File[]{a, b, c, d})
+      file.createNewFile();
+
+    try {
+      assertEquals("*", Arrays.asList(a), new Glob(root + "/*.txt").expand());
+      assertEquals("**/", Arrays.asList(c, d), new Glob(root + "/**/*.txt").expand());
+      assertEquals("**", Arrays.asList(a, c, d), new Glob(root + "/**.txt").expand());
+      assertEquals("literal", Arrays.asList(b), new Glob(b.getPath()).expand());
+      assertTrue("missing", new Glob(root + "/missing/*.txt").expand().isEmpty());
+      try (Stream<Path> paths = new Glob(root + "/**.txt").stream()) {
+	assertEquals("stream", 3, paths.count());
+      }
+      for (String pattern: new String[]{"/*.txt", "/**/*.txt", "/**", "/sub/*/*.txt", "/b.csv"}) {
+	try (Stream<Path> paths = new Glob(root + pattern).stream()) {
+	  List<File> streamed = new ArrayList<>();
+	  paths.forEach(path -> streamed.add(path.toFile()));
+	  Collections.sort(streamed);
+	  assertEquals("stream " + pattern, new Glob(root + pattern).expand(), streamed);
+	}
+      }
+
+      // unreadable directories get skipped (unless running with elevated privileges)
+      File deep = d.getParentFile();
+      if (deep.setReadable(false) && !deep.canRead()) {
+	try {
+	  try (Stream<Path> paths = new Glob(root + "/**.txt").stream()) {
+	    assertEquals("stream unreadable", 2, paths.count());
+	  }
+	  assertEquals("expand unreadable", Arrays.asList(a, c), new Glob(root + "/**.txt").expand());
+	}
+	finally {
+	  deep.setReadable(true);
+	}
+      }
+
+      ArgumentParser parser = new ArgumentParser("test");
+      parser.addOption("--input").dest("input").type(Type.GLOB).multiple(true);
+      parser.addOption("--exclude").dest("exclude").type(Type.GLOB);
+      Namespace ns = parser.parseArgs(new String[]{"--input", root + "/*.csv", "--input", root + "/sub/*/*.txt", "--exclude", "*.bak"});
+      assertEquals("matches", Arrays.asList(b, d), ns.getMatches("input"));
+      try (Stream<Path> paths = ns.getPaths("input")) {
+	assertEquals("paths", 2, paths.count());
+      }
+      assertEquals("glob", new Glob("*.bak"), ns.getValue("exclude"));
+      try {
+	parser.parseArgs(new String[]{"--input", root + "/[a"});
+	fail("invalid pattern accepted");
+      }
+      catch (InvalidArgumentException e) {
+	// expected
+      }
+    }
+    finally {
+      for (File file: new File[]{a, b, c, d, d.getParentFile(), c.getParentFile(), root})
+	file.delete();
+    }
+  }
+
+  /**
+   * Tests parsing with asynchronous file checks.
+   *
+   * @throws Exception	if parsing fails
+   */
+  public void testAsync() throws Exception {
+    File file = File.createTempFile("argparse", ".txt");
+    file.deleteOnExit();
+    String dir = file.getParent();
+    String missing = new File(dir, file.getName() + ".missing").getPath();
+    ArgumentParser parser = new ArgumentParser("test");
+    parser.addOption("--input").dest("input").type(Type.EXISTING_FILE).multiple(true);
+    parser.addOption("--output").dest("output").type(Type.EXISTING_DIR).required(true);
+    parser.addOption("--num").dest("num").type(Type.INTEGER);
+
+    Namespace ns = parser.parseArgsAsync(new String[]{"--input", file.getPath(), "--num", "3", "--output", dir, "--input", file.getPath()}).get();
+    assertEquals("inputs", Arrays.asList(file, file), ns.getList("input"));
+    assertEquals("output", new File(dir), ns.getFile("output"));
+    assertEquals("num", 3, ns.getInt("num"));
+
+    try {
+      parser.parseArgsAsync(new String[]{"--input", missing, "--output", dir}).get();
+      fail("missing file accepted");
+    }
+    catch (ExecutionException e) {
+      assertTrue("invalid", e.getCause() instanceof InvalidArgumentException);
+    }
+    try {
+      parser.parseArgsAsync(new String[]{"--input", file.getPath(), "--num"}).get();
+      fail("missing value accepted");
+    }
+    catch (ExecutionException e) {
+      assertTrue("missing value", e.getCause() instanceof MissingArgumentException);
+    }
+
+    // checks that don't finish in time
+    FileStatus status = FileChecks.timed(new Supplier<FileStatus>() {
+      @Override
+      public FileStatus get() {
+        try {
+          Thread.sleep(2000);
+        }
+        catch (InterruptedException e) {
+          // ignored
+        }
+        return FileStatus.of(dir);
+      }
+    }, FileChecks.getDefaultExecutor(), 50).get(10, TimeUnit.SECONDS);
+    assertNull("timed out", status);
+
+    // checks waiting for a thread don't time out
+    final ExecutorService single = Executors.newSingleThreadExecutor();
+    Executor queued = new Executor() {
+      @Override
+      public void execute(final Runnable command) {
+        single.execute(new Runnable() {
+          @Override
+          public void run() {
+            try {
+              Thread.sleep(30);
+            }
+            catch (InterruptedException e) {
+              // ignored
+            }
+            command.run();
+          }
+        });
+      }
+    };
+    parser.fileCheckTimeout(100);
+    List<String> args = new ArrayList<>();
+    List<File> inputs = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      File input = File.createTempFile("argparse", ".txt");
+      input.deleteOnExit();
+      inputs.add(input);
+      args.add("--input");
+      args.add(input.getPath());
+    }
+    args.add("--output");
+    args.add(dir);
+    try {
+      ns = parser.parseArgsAsync(args.toArray(new String[0]), queued).get(10, TimeUnit.SECONDS);
+      assertEquals("inputs", inputs, ns.getList("input"));
+    }
+    finally {
+      single.shutdown();
+    }
+
+    // checks that never finish
+    Executor hung = new Executor() {
+      @Override
+      public void execute(Runnable command) {
+      }
+    };
+    parser.fileCheckTimeout(50);
+    try {
+      parser.parseArgsAsync(new String[]{"--output", dir}, hung).get(10, TimeUnit.SECONDS);
+      fail("timeout not detected");
+    }
+    catch (ExecutionException e) {
+      assertTrue("timeout", e.getCause() instanceof FileCheckTimeoutException);
+      assertEquals("path", dir, ((FileCheckTimeoutException) e.getCause()).getPath());
+    }
+
+    // default executor
+    assertEquals("num", 4, parser.compile().parseArgsAsync(new String[]{"--num", "4", "--output", dir}).get().getInt("num"));
+  }
+
+  /**
+   * Tests parsing many commandlines in parallel.
+   *
+   * @throws Exception	if the executor fails
+   */
+  public void testParseAll() throws Exception {
+    ArgumentParser parser = new ArgumentParser("test");
+    parser.addOption("--id").dest("id").type(Type.INTEGER).required(true);
+    List<String[]> args = new ArrayList<>();
+    for (int i = 0; i < 1000; i++)
+      args.add((i % 100 == 0) ? new String[]{"--id", "x" + i} : new String[]{"--id", "" + i});
+
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      for (List<ParseResult> results: Arrays.asList(parser.parseAll(args), parser.compile().parseAll(args, executor))) {
+	assertEquals("#results", args.size(), results.size());
+	for (int i = 0; i < results.size(); i++) {
+	  if (i % 100 == 0) {
+	    assertEquals("errors " + i, 2, results.get(i).getErrors().size());
+	    assertEquals("value " + i, "x" + i, ((InvalidArgumentException) results.get(i).getErrors().get(0)).getValue());
+	  }
+	  else {
+	    assertFalse("errors " + i, results.get(i).hasErrors());
+	    assertEquals("id " + i, i, results.get(i).getNamespace().getInt("id"));
+	  }
+	}
+      }
+    }
+    finally {
+      executor.shutdown();
+    }
+    assertTrue("empty", parser.parseAll(new ArrayList<String[]>()).isEmpty());
+  }
+
+  /**
+   * Tests collecting all problems in a single pass.
+   */
+  public void testValidate() {
+    ArgumentParser parser = new ArgumentParser("test");
+    Option input = parser.addOption("--input").dest("input").required(true);
+    Option num = parser.addOption("--num").dest("num").type(Type.INTEGER).setDefault(7);
+    parser.addOption("--ratio").dest("ratio").type(Type.DOUBLE);
+    parser.addOption("--output").dest("output").required(true);
+    parser.addOption("--name").dest("name").required(true);
+
+    ParseResult result = parser.validate(new String[]{"--num", "x", "--name", "a", "--ratio", "y", "--help"});
+    assertTrue("errors", result.hasErrors());
+    assertEquals("#errors", 3, result.getErrors().size());
+    InvalidArgumentException invalid = (InvalidArgumentException) result.getErrors().get(0);
+    assertEquals("flag", "--num", invalid.getFlag());
+    assertEquals("type", Type.INTEGER, invalid.getType());
+    assertEquals("value", "x", invalid.getValue());
+    assertEquals("flag", "--ratio", ((InvalidArgumentException) result.getErrors().get(1)).getFlag());
+    RequiredOptionMissingException missing = (RequiredOptionMissingException) result.getErrors().get(2);
+    assertEquals("missing", 2, missing.getOptions().size());
+    assertSame("missing", input, missing.getOptions().get(0));
+    assertEquals("missing", "--output", missing.getOptions().get(1).getFlag());
+    assertFalse("invalid not supplied", result.isSupplied(num));
+    assertEquals("default retained", 7, result.getNamespace().getInt("num"));
+    assertEquals("name", "a", result.getNamespace().getString("name"));
+    assertTrue("help", result.getNamespace().getHelpRequested());
+    assertTrue("help", parser.getHelpRequested());
+
+    // missing value ends the parse
+    result = parser.compile().validate(new String[]{"--input", "a", "--output"});
+    assertEquals("#errors", 2, result.getErrors().size());
+    assertEquals("flag", "--output", ((MissingArgumentException) result.getErrors().get(0)).getFlag());
+    assertEquals("missing", 2, ((RequiredOptionMissingException) result.getErrors().get(1)).getOptions().size());
+    assertTrue("supplied", result.isSupplied(input));
+
+    result = parser.validate(new String[]{"--input", "a", "--output", "b", "--name", "c", "--num", "3"});
+    assertFalse("errors", result.hasErrors());
+    assertEquals("num", 3, result.getNamespace().getInt("num"));
+  }
+
+  /**
+   * Tests that namespaces reading through to the shared defaults table
+   * don't affect each other.
+   *
+   * @throws Exception	if parsing fails
+   */
+  public void testDefaultsTable() throws Exception {
+    ArgumentParser parser = new ArgumentParser("test");
+    parser.addOption("--num").dest("num").type(Type.INTEGER).setDefault(3);
+    parser.addOption("--val").dest("val").type(Type.INTEGER).multiple(true);
+    parser.addOption("--name").dest("name").multiple(true);
+    CompiledParser compiled = parser.compile();
+    Namespace ns1 = compiled.parseArgs(new String[]{"--num", "1", "--val", "2"});
+    Namespace ns2 = compiled.parseArgs(new String[0]);
+    assertSame("shared", ns1.getList("name"), ns2.getList("name"));
+    try {
+      ns1.getList("name").add("a");
+      fail("defaults modified");
+    }
+    catch (UnsupportedOperationException e) {
+      // expected
+    }
+    ns1.addValue("name", "a");
+    ns1.addValue("val", 5);
+    assertEquals("num", 1, ns1.getInt("num"));
+    assertEquals("val", Arrays.asList(2, 5), ns1.getList("val"));
+    assertTrue("val type", ns1.<Integer>getList("val") instanceof IntList);
+    assertEquals("name", Arrays.asList("a"), ns1.getList("name"));
+    assertTrue("name type", ns1.getList("name") instanceof ArrayList);
+    assertEquals("default num", 3, ns2.getInt("num"));
+    assertTrue("default val", ns2.getList("val").isEmpty());
+    assertTrue("default name", ns2.getList("name").isEmpty());
+    assertNull("nothing written", ns2.m_State);
+    Namespace defaults = compiled.getLayout().getDefaults();
+    assertTrue("defaults table", ((List<?>) defaults.m_Objects[defaults.slot("name")]).isEmpty());
+    assertTrue("defaults table", ((List<?>) defaults.m_Objects[defaults.slot("val")]).isEmpty());
+  }
+
+  /**
+   * Tests lazy conversion of values.
+   *
+   * @throws Exception	if parsing fails
+   */
+  public void testLazy() throws Exception {
+    ArgumentParser parser = new ArgumentParser("test").lazy(true);
+    parser.addOption("--num").dest("num").type(Type.INTEGER);
+    parser.addOption("--bad").dest("bad").type(Type.INTEGER);
+    parser.addOption("--file").dest("file").type(Type.EXISTING_FILE);
+    parser.addOption("--val").dest("val").type(Type.DOUBLE).multiple(true);
+    Namespace ns = parser.parseArgs(new String[]{"--num", "42", "--bad", "x", "--file", "/does/not/exist", "--val", "1.5", "--val", "2"});
+    // values that never get accessed don't get validated
+    assertEquals("num", 42, ns.getInt("num"));
+    assertEquals("num (memoized)", 42, ns.getInt("num"));
+    List<Double> vals = ns.getList("val");
+    assertEquals("val", Arrays.asList(1.5, 2.0), vals);
+    assertSame("val (memoized)", vals, ns.getList("val"));
+    assertTrue("unconverted", ns.toString().contains("bad=x"));
+    try {
+      ns.getInt("bad");
+      fail("invalid value accepted");
+    }
+    catch (IllegalArgumentException e) {
+      assertTrue("cause", e.getCause() instanceof InvalidArgumentException);
+    }
+    try {
+      ns.getFile("file");
+      fail("missing file accepted");
+    }
+    catch (IllegalArgumentException e) {
+      // expected
+    }
+
+    // invalid multi-valued values leave the slot unconverted
+    ns = parser.parseArgs(new String[]{"--val", "1", "--val", "x"});
+    for (int i = 0; i < 2; i++) {
+      try {
+	ns.getList("val");
+	fail("invalid value accepted");
+      }
+      catch (IllegalArgumentException e) {
+	// expected
+      }
+    }
+
+    // eager conversion fails when parsing
+    parser.lazy(false);
+    try {
+      parser.parseArgs(new String[]{"--bad", "x"});
+      fail("invalid value accepted");
+    }
+    catch (InvalidArgumentException e) {
+      // expected
+    }
+  }
+
+  /**
+   * Tests using a single parser from multiple threads at once.
+   *
+   * @throws Exception	if the threads fail
+   */
+  public void testConcurrent() throws Exception {
+    final ArgumentParser parser = new ArgumentParser("test");
+    parser.addOption("--id").dest("id").type(Type.INTEGER).required(true);
+    parser.addOption("--tag").dest("tag").multiple(true);
+    final CompiledParser compiled = parser.compile();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    List<Future<Boolean>> results = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      final int id = i;
+      results.add(executor.submit(new Callable<Boolean>() {
+	@Override
+	public Boolean call() throws Exception {
+	  boolean help = (id % 3 == 0);
+	  String[] args = help
+	    ? new String[]{"--id", "" + id, "--tag", "t" + id, "--help"}
+	    : new String[]{"--id", "" + id, "--tag", "t" + id, "--tag", "u" + id};
+	  Namespace ns = (id % 2 == 0) ? parser.parseArgs(args, false, true) : compiled.parseArgs(args, false, true);
+	  if (id % 2 == 0 && parser.getHelpRequested() != help)
+	    return false;
+	  return (ns.getHelpRequested() == help)
+	    && (ns.getInt("id") == id)
+	    && ns.getList("tag").get(0).equals("t" + id)
+	    && (ns.getList("tag").size() == (help ? 1 : 2));
+	}
+      }));
+    }
+    for (Future<Boolean> result: results)
+      assertTrue("thread result", result.get());
+    executor.shutdown();
+  }
+
   /**
    * Returns a test suite.
    *
@@ -0,0 +1,149 @@
+/*
+ * NumberScannerTest.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package com.github.fracpete.simpleargparse4j;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import junit.textui.TestRunner;
+
+/**
+ * Testing the NumberScanner class against the JDK parsing methods.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+public class NumberScannerTest
+  extends TestCase {
+
+  /** integral values to test. */
+  public final static String[] INTEGRAL = {
+    "0", "-0", "+0", "1", "-1", "+", "-", "", "127", "128", "-128", "-129",
+    "2147483647", "2147483648", "-2147483648", "-2147483649",
+    "9223372036854775807", "9223372036854775808", "-9223372036854775808",
+    "-9223372036854775809", "99999999999999999999999", "1.0", "1e3", " 1",
+    "1 ", "0x10", "12a", "--1", "+-1", "١٢",
+  };
+
+  /** floating point values to test. */
+  public final static String[] FLOATING = {
+    "0", "-0", "0.0", "-0.0", "1", "1.", ".5", ".", "-.5", "+1.5", "1e3",
+    "1E-3", "1e", "1e+", "1.5f", "1.5D", "1.5x", "NaN", "-NaN", "Infinity",
+    "-Infinity", "+Infinity", "Inf", " 3.1415 ", "\t2.5\n", "0x1p3",
+    "0x1.8P-1", "0x1", "0x.8p1", "0xp1", "1e400", "-1e400", "1e-400",
+    "3.4028235e38", "3.4028236e38", "1.4e-45", "0.1", "0.3", "123456789012345",
+    "1234567890123456", "1.7976931348623157E308", "4.9e-324", "2.2250738585072014E-308",
+    "9007199254740993", "0.000001", "1e22", "1e23", "1e-22", "16777217",
+    "3.1415926535", "", "e5", "1ee5", "1.5ff", "12,5",
+  };
+
+  /**
+   * Constructor.
+   *
+   * @param name	the name of the test
+   */
+  public NumberScannerTest(String name) {
+    super(name);
+  }
+
+  /**
+   * Compares scanning integral values with Long/Integer/Byte parsing.
+   */
+  public void testIntegral() {
+    Conversion conv = new Conversion();
+    for (String s: INTEGRAL) {
+      boolean valid;
+      long expected = 0;
+      try {
+        expected = Long.parseLong(s);
+        valid = true;
+      }
+      catch (NumberFormatException e) {
+        valid = false;
+      }
+      assertEquals("long valid: '" + s + "'", valid, NumberScanner.scanLong(s, Long.MIN_VALUE, Long.MAX_VALUE, conv));
+      if (valid)
+        assertEquals("long: '" + s + "'", expected, conv.getLong());
+
+      try {
+        Integer.parseInt(s);
+        valid = true;
+      }
+      catch (NumberFormatException e) {
+        valid = false;
+      }
+      assertEquals("int valid: '" + s + "'", valid, NumberScanner.scanLong(s, Integer.MIN_VALUE, Integer.MAX_VALUE, conv));
+
+      try {
+        Byte.parseByte(s);
+        valid = true;
+      }
+      catch (NumberFormatException e) {
+        valid = false;
+      }
+      assertEquals("byte valid: '" + s + "'", valid, NumberScanner.scanLong(s, Byte.MIN_VALUE, Byte.MAX_VALUE, conv));
+    }
+  }
+
+  /**
+   * Compares scanning floating point values with Double/Float parsing.
+   */
+  public void testFloating() {
+    Conversion conv = new Conversion();
+    for (String s: FLOATING) {
+      boolean valid;
+      double expected = 0;
+      try {
+        expected = Double.parseDouble(s);
+        valid = true;
+      }
+      catch (NumberFormatException e) {
+        valid = false;
+      }
+      assertEquals("double valid: '" + s + "'", valid, NumberScanner.scanDouble(s, false, conv));
+      if (valid)
+        assertEquals("double: '" + s + "'", Double.doubleToLongBits(expected), Double.doubleToLongBits(conv.getDouble()));
+
+      if (valid) {
+        float expectedF = Float.parseFloat(s);
+        assertTrue("float valid: '" + s + "'", NumberScanner.scanDouble(s, true, conv));
+        assertEquals("float: '" + s + "'", Float.floatToIntBits(expectedF), Float.floatToIntBits((float) conv.getDouble()));
+      }
+    }
+  }
+
+  /**
+   * Tests scanning a range within a longer string.
+   */
+  public void testRange() {
+    Conversion conv = new Conversion();
+    String s = "ids=12,-7,3.25";
+    assertTrue(NumberScanner.scanLong(s, 4, 6, Integer.MIN_VALUE, Integer.MAX_VALUE, conv));
+    assertEquals(12L, conv.getLong());
+    assertTrue(NumberScanner.scanLong(s, 7, 9, Integer.MIN_VALUE, Integer.MAX_VALUE, conv));
+    assertEquals(-7L, conv.getLong());
+    assertTrue(NumberScanner.scanDouble(s, 10, 14, false, conv));
+    assertEquals(3.25, conv.getDouble());
+    assertFalse(NumberScanner.scanLong(s, 0, 6, Integer.MIN_VALUE, Integer.MAX_VALUE, conv));
+  }
+
+  /**
+   * Returns a test suite.
+   *
+   * @return		the test suite
+   */
+  public static Test suite() {
+    return new TestSuite(NumberScannerTest.class);
+  }
+
+  /**
+   * Runs the test from commandline.
+   *
+   * @param args	ignored
+   */
+  public static void main(String[] args) {
+    TestRunner.run(suite());
+  }
+}